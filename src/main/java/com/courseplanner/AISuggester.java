@@ -6,27 +6,98 @@ import java.util.*;
 public class AISuggester {
     private CourseBST courseTree;
     private PrerequisiteGraph graph;
-    private List<String> completedCourses;
-    private HashMap<String, Double> grades;
     private List<String> interests;
 
-    
+    // Default student for the methods without a progress parameter
+    private CourseCodeInterner interner;
+    private StudentProgress progress;
+    private EligibilityEngine eligibility;// Built on demand for progress, null when stale
+    private double[] eligibilityGrades;// Grade array the engine reads
+    private long eligibilityVersion;
+    private long eligibilityProgressVersion;
+
+    /**
+     * courseTree and graph must share one CourseCodeInterner.
+     * Suggestions read a student's StudentProgress; Course objects hold no student state.
+     */
     public AISuggester(CourseBST courseTree, PrerequisiteGraph graph) {
+        if (courseTree.getInterner() != graph.getInterner()) {
+            throw new IllegalArgumentException("Catalog and prerequisite graph must share one CourseCodeInterner");
+        }
         this.courseTree = courseTree;
         this.graph = graph;
-        this.completedCourses = new ArrayList<>();
-        this.grades = new HashMap<>();
+        this.interner = graph.getInterner();
         this.interests = new ArrayList<>();
+        this.progress = new StudentProgress(interner);
     }
 
     
     public void setCompletedCourses(List<String> completedCourses) {
-        this.completedCourses = new ArrayList<>(completedCourses);
+        setProgress(new StudentProgress(interner, completedCourses, progress.getGrades()));
     }
 
 
     public void setGrades(HashMap<String, Double> grades) {
-        this.grades = new HashMap<>(grades);
+        setProgress(new StudentProgress(interner, progress.getCompletedCourses(), grades));
+    }
+
+    /**
+     * Use a student's progress as the default for the methods without a progress parameter.
+     * The progress is shared, not copied: later changes to it are picked up.
+     * @param progress Progress over this suggester's interner
+     */
+    public void setProgress(StudentProgress progress) {
+        this.progress = progress;
+        this.eligibility = null;
+    }
+
+    public StudentProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Record one more completed course and its grade in the default progress,
+     * updating eligibility incrementally instead of rebuilding it
+     * @param courseCode Completed course code
+     * @param grade Grade obtained (0-100)
+     */
+    public void markCompleted(String courseCode, double grade) {
+        int id = interner.intern(courseCode);
+        boolean incremental = isEligibilityCurrent() && !progress.isCompleted(id)
+                && id < eligibilityGrades.length;
+        progress.markCompleted(courseCode, grade);
+
+        // A new completion only affects its dependents; a changed grade rebuilds the engine
+        if (incremental) {
+            eligibilityGrades[id] = progress.getGrade(id);
+            eligibility.markCompleted(id);
+            eligibilityProgressVersion = progress.getVersion();
+        }
+    }
+
+    private boolean isEligibilityCurrent() {
+        return eligibility != null && eligibilityVersion == graph.getVersion()
+                && eligibilityProgressVersion == progress.getVersion();
+    }
+
+    /**
+     * Eligibility engine for the default progress, rebuilt if the graph or the progress changed
+     */
+    private EligibilityEngine eligibility() {
+        if (!isEligibilityCurrent()) {
+            eligibilityGrades = progress.getGradesById();
+            eligibility = new EligibilityEngine(graph, progress.completedView(), eligibilityGrades);
+            eligibilityVersion = graph.getVersion();
+            eligibilityProgressVersion = progress.getVersion();
+        }
+        return eligibility;
+    }
+
+    private EligibilityEngine eligibility(StudentProgress progress) {
+        if (progress == this.progress) {
+            return eligibility();
+        }
+        return new EligibilityEngine(graph, progress.completedView(), progress.getGradesById());
     }
 
     /**
@@ -38,8 +109,22 @@ public class AISuggester {
 
    
     public List<Course> suggestElectives(int count) {
+        return suggestElectives(progress, interests, count);
+    }
+
+    /**
+     * Suggest the best-scoring courses a student can take now.
+     * Reads only the catalog, graph and the arguments, so one suggester can serve
+     * many students.
+     * Time Complexity: O(V + E + V log V).
+     * @param progress The student's progress
+     * @param interests The student's interests
+     * @param count Number of suggestions
+     * @return Suggested courses, best first
+     */
+    public List<Course> suggestElectives(StudentProgress progress, List<String> interests, int count) {
         // Get all courses that can be taken now
-        List<Course> availableCourses = getAvailableCourses();
+        List<Course> availableCourses = getAvailableCourses(progress);
 
         if (availableCourses.isEmpty()) {
             return new ArrayList<>();
@@ -52,7 +137,7 @@ public class AISuggester {
 
         // Calculate score for each available course
         for (Course course : availableCourses) {
-            double score = calculateScore(course);
+            double score = calculateScore(progress, interests, course);
             priorityQueue.offer(new ScoredCourse(course, score));
         }
 
@@ -66,47 +151,38 @@ public class AISuggester {
     }
 
     /**
-     * Get all courses that can be taken now
+     * Get all courses the student can take now.
+     * Int-ID fast path: word-wide mask test over the prerequisite IDs, or the compiled
+     * prerequisite expression (including minimum grades) if the course has one
      */
-    private List<Course> getAvailableCourses() {
+    private List<Course> getAvailableCourses(StudentProgress progress) {
+        EligibilityEngine engine = eligibility(progress);
         List<Course> available = new ArrayList<>();
         List<Course> allCourses = courseTree.inOrderTraversal();
 
         for (Course course : allCourses) {
-            if (!course.isCompleted() && canTakeCourse(course.getCode())) {
+            int courseId = interner.idOf(course.getCode());
+            if (!progress.isCompleted(courseId) && (courseId < 0 || engine.isRequirementMet(courseId))) {
                 available.add(course);
             }
         }
         return available;
     }
 
-    /**
-     * Check if course can be taken
-     */
-    private boolean canTakeCourse(String courseCode) {
-        List<String> prerequisites = graph.getPrerequisites(courseCode);
-        for (String prereq : prerequisites) {
-            if (!completedCourses.contains(prereq)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     /**
      * Calculate AI score for a course (0-100)
      * @param course Course to score
      * @return Score from 0 to 100
      */
-    private double calculateScore(Course course) {
+    private double calculateScore(StudentProgress progress, List<String> interests, Course course) {
         double score = 0.0;
 
         // 1. Performance in prerequisites (40% weight)
-        double prereqScore = calculatePrerequisiteScore(course);
+        double prereqScore = calculatePrerequisiteScore(progress, course);
         score += prereqScore * 0.4;
 
         // 2. Interest matching (30% weight)
-        double interestScore = calculateInterestScore(course);
+        double interestScore = calculateInterestScore(interests, course);
         score += interestScore * 0.3;
 
         // 3. Course difficulty adjustment (20% weight)
@@ -124,18 +200,21 @@ public class AISuggester {
     /**
      * Calculate score based on performance in prerequisites
      */
-    private double calculatePrerequisiteScore(Course course) {
-        List<String> prerequisites = graph.getPrerequisites(course.getCode());
-        if (prerequisites.isEmpty()) {
+    private double calculatePrerequisiteScore(StudentProgress progress, Course course) {
+        int courseId = interner.idOf(course.getCode());
+        int prereqCount = graph.prerequisiteCount(courseId);
+        if (prereqCount == 0) {
             return 75.0; // Default score for courses with no prerequisites
         }
 
         double totalGrade = 0;
         int count = 0;
 
-        for (String prereq : prerequisites) {
-            if (grades.containsKey(prereq)) {
-                totalGrade += grades.get(prereq);
+        for (int i = 0; i < prereqCount; i++) {
+            int prereqId = graph.prerequisiteAt(courseId, i);
+            double grade = progress.getGrade(prereqId);
+            if (!Double.isNaN(grade)) {
+                totalGrade += grade;
                 count++;
             }
         }
@@ -150,7 +229,7 @@ public class AISuggester {
     /**
      * Calculate score based on interest matching
      */
-    private double calculateInterestScore(Course course) {
+    private double calculateInterestScore(List<String> interests, Course course) {
         if (interests.isEmpty()) {
             return 50.0; // Default if no interests specified
         }
@@ -204,8 +283,7 @@ public class AISuggester {
      */
     private double calculatePopularityScore(Course course) {
         // Courses with more dependents are more important
-        List<String> dependents = graph.getDependentCourses(course.getCode());
-        int dependentCount = dependents.size();
+        int dependentCount = graph.getAnalytics().getDependentCount(interner.idOf(course.getCode()));
 
         // Scale: 0 dependents = 50, 5+ dependents = 100
         if (dependentCount >= 5) return 100.0;
@@ -220,11 +298,22 @@ public class AISuggester {
      * @return Explanation string
      */
     public String getSuggestionExplanation(Course course) {
+        return getSuggestionExplanation(progress, interests, course);
+    }
+
+    /**
+     * Explain a suggestion for one student
+     * @param progress The student's progress
+     * @param interests The student's interests
+     * @param course Suggested course
+     * @return Explanation string
+     */
+    public String getSuggestionExplanation(StudentProgress progress, List<String> interests, Course course) {
         List<String> reasons = new ArrayList<>();
 
         // Check prerequisite performance
         List<String> prerequisites = graph.getPrerequisites(course.getCode());
-        double avgGrade = calculatePrerequisiteScore(course);
+        double avgGrade = calculatePrerequisiteScore(progress, course);
 
         if (avgGrade >= 80) {
             reasons.add("Excellent performance in prerequisites (" + String.format("%.1f", avgGrade) + "%)");
@@ -233,7 +322,7 @@ public class AISuggester {
         }
 
         // Check interest match
-        double interestScore = calculateInterestScore(course);
+        double interestScore = calculateInterestScore(interests, course);
         if (interestScore >= 90) {
             reasons.add("Strongly matches your interests");
         } else if (interestScore >= 70) {
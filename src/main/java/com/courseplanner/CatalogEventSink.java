@@ -0,0 +1,29 @@
+package com.courseplanner;
+
+/**
+ * CatalogEventSink: Receives audit events from the course catalog (for example
+ * "Inserted course"). Decouples CourseBST from how, or whether, events are logged.
+ * The default NONE sink is checked by identity at the call site, so the hot path
+ * does no string building, timestamping or I/O when auditing is off.
+ */
+public interface CatalogEventSink {
+
+    /**
+     * Sink that discards every event (the default for CourseBST)
+     */
+    CatalogEventSink NONE = (event, courseCode) -> { };
+
+    /**
+     * Sink that reproduces the original synchronous console log format
+     */
+    CatalogEventSink CONSOLE = (event, courseCode) ->
+            System.out.println("[CourseBST-LOG] " + java.time.LocalDateTime.now() + ": " + event + ": " + courseCode);
+
+    /**
+     * Record a single catalog event.
+     * Implementations must be cheap and must not throw; callers are on the insert path.
+     * @param event Short event description, e.g. "Inserted course"
+     * @param courseCode Code of the course the event refers to
+     */
+    void record(String event, String courseCode);
+}
@@ -0,0 +1,201 @@
+package com.courseplanner;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * CohortPlanner: Plans a whole cohort of students in parallel.
+ * The catalog and prerequisite graph are captured once at construction as an
+ * immutable snapshot (course IDs in code order, credits and Course objects by ID,
+ * and a SemesterScheduler over the frozen graph). Each student only brings a
+ * StudentProgress (a bitset and a grade array), so students are planned independently
+ * on a work-stealing ForkJoinPool with no locking and no copies of the catalog.
+ * Progress is only read, never written.
+ * The catalog and graph must not change while a cohort is being planned;
+ * build a new CohortPlanner after changes.
+ */
+public class CohortPlanner {
+
+    private final ForkJoinPool pool;
+    private final CourseCodeInterner interner;
+    private final SemesterScheduler scheduler;
+    private final int[] courseIds;      // All catalog courses, in course-code order
+    private final int[] creditsById;
+    private final Course[] courseById;
+
+    /**
+     * Snapshot a catalog and graph, planning on the common fork/join pool
+     */
+    public CohortPlanner(CourseCatalog catalog, PrerequisiteGraph graph) {
+        this(catalog, graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Snapshot a catalog and graph, planning on a specific pool
+     * (e.g. new ForkJoinPool(8) to cap the threads used)
+     * Time Complexity: O(V + E).
+     * @param catalog Course catalog sharing the graph's interner
+     * @param graph Prerequisite graph
+     * @param pool Pool that runs the per-student jobs
+     */
+    public CohortPlanner(CourseCatalog catalog, PrerequisiteGraph graph, ForkJoinPool pool) {
+        this.pool = pool;
+        this.interner = graph.getInterner();
+        this.scheduler = new SemesterScheduler(graph);
+
+        List<Course> courses = catalog.inOrderTraversal();
+        this.courseIds = new int[courses.size()];
+        for (int i = 0; i < courses.size(); i++) {
+            courseIds[i] = interner.intern(courses.get(i).getCode());
+        }
+        this.creditsById = new int[interner.size()];
+        this.courseById = new Course[interner.size()];
+        for (int i = 0; i < courses.size(); i++) {
+            creditsById[courseIds[i]] = courses.get(i).getCredits();
+            courseById[courseIds[i]] = courses.get(i);
+        }
+    }
+
+    /**
+     * @return Empty progress over this planner's interner, for building StudentRecords
+     */
+    public StudentProgress newProgress() {
+        return new StudentProgress(interner);
+    }
+
+    /**
+     * Plan every student in the stream.
+     * Students are planned in parallel; results come back in stream order.
+     * @param students Per-student progress records
+     * @param policy Limits shared by the whole cohort
+     * @return One plan per student
+     */
+    public List<StudentPlan> planAll(Stream<StudentRecord> students, PlanPolicy policy) {
+        return pool.submit(() -> students.parallel()
+                .map(student -> plan(student, policy))
+                .collect(Collectors.toList())).join();
+    }
+
+    /**
+     * Plan one student on the calling thread.
+     * Nothing is printed; a plan that leaves courses out says so (see StudentPlan.isComplete()).
+     * Time Complexity: O(V + E + semesters * ready courses).
+     * @param student Progress record
+     * @param policy Limits for the plan
+     * @return The student's plan
+     */
+    public StudentPlan plan(StudentRecord student, PlanPolicy policy) {
+        BitSet done = student.getProgress().completedView();
+
+        int[] remaining = new int[courseIds.length];
+        int count = 0;
+        for (int id : courseIds) {
+            if (!done.get(id)) {
+                remaining[count++] = id;
+            }
+        }
+
+        List<List<Course>> plan = new ArrayList<>();
+        int planned = 0;
+        for (int[] semester : scheduler.schedule(Arrays.copyOf(remaining, count), creditsById, done,
+                student.getProgress().gradesView(), policy)) {
+            List<Course> courses = new ArrayList<>(semester.length);
+            for (int id : semester) {
+                courses.add(courseById[id]);
+            }
+            plan.add(courses);
+            planned += semester.length;
+        }
+        int unplanned = count - planned;
+        boolean truncated = unplanned > 0 && plan.size() >= policy.getMaxSemesters();
+        return new StudentPlan(student.getStudentId(), plan, unplanned, truncated);
+    }
+
+    /**
+     * StudentRecord: One student's identity and progress.
+     * The progress must use the planner's interner and must not change while it is planned.
+     */
+    public static class StudentRecord {
+        private final String studentId;
+        private final StudentProgress progress;
+
+        public StudentRecord(String studentId, StudentProgress progress) {
+            this.studentId = studentId;
+            this.progress = progress;
+        }
+
+        public String getStudentId() {
+            return studentId;
+        }
+
+        public StudentProgress getProgress() {
+            return progress;
+        }
+    }
+
+    /**
+     * StudentPlan: The semester plan generated for one student, and whether it
+     * covers every course the student still has to take
+     */
+    public static class StudentPlan {
+        private final String studentId;
+        private final List<List<Course>> semesters;
+        private final int unplannedCount;
+        private final boolean truncated;
+
+        public StudentPlan(String studentId, List<List<Course>> semesters) {
+            this(studentId, semesters, 0, false);
+        }
+
+        /**
+         * @param unplannedCount Remaining courses left out of the plan
+         * @param truncated true if the plan stopped at the policy's semester limit with courses left
+         */
+        public StudentPlan(String studentId, List<List<Course>> semesters, int unplannedCount, boolean truncated) {
+            this.studentId = studentId;
+            this.semesters = semesters;
+            this.unplannedCount = unplannedCount;
+            this.truncated = truncated;
+        }
+
+        public String getStudentId() {
+            return studentId;
+        }
+
+        public List<List<Course>> getSemesters() {
+            return semesters;
+        }
+
+        /**
+         * @return true if every course the student still has to take is in the plan
+         */
+        public boolean isComplete() {
+            return unplannedCount == 0;
+        }
+
+        /**
+         * @return Remaining courses left out: blocked by prerequisites, grades or term
+         *         offerings, or beyond the semester limit
+         */
+        public int getUnplannedCount() {
+            return unplannedCount;
+        }
+
+        /**
+         * @return true if courses were left out because the semester limit was reached
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        @Override
+        public String toString() {
+            String status = isComplete() ? "" : (truncated ? ", truncated at the semester limit, " : ", ")
+                    + unplannedCount + " courses left out";
+            return studentId + ": " + semesters.size() + " semesters" + status;
+        }
+    }
+}
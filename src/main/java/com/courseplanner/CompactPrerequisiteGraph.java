@@ -0,0 +1,393 @@
+package com.courseplanner;
+
+import java.util.*;
+
+
+/**
+ * CompactPrerequisiteGraph: Frozen, read-only snapshot of a PrerequisiteGraph
+ * in CSR (compressed sparse row) form.
+ * Both edge directions are stored as two int arrays each: for course ID c, its
+ * prerequisites are prereqTargets[prereqOffsets[c] .. prereqOffsets[c + 1]),
+ * and its dependents are laid out the same way. There are no Strings, boxed
+ * Integers, list headers or hash buckets, and traversals scan contiguous memory.
+ * Course IDs come from the source graph's CourseCodeInterner.
+ * Obtain one with PrerequisiteGraph.freeze(); it never changes after creation,
+ * so it can be shared freely between threads.
+ */
+public class CompactPrerequisiteGraph {
+
+    private final CourseCodeInterner interner;
+    private final int nodeCount;        // IDs 0 .. nodeCount - 1 are valid
+    private final boolean[] member;     // true for IDs that are nodes of the graph
+    private final int memberCount;
+
+    private final int[] prereqOffsets;
+    private final int[] prereqTargets;
+    private final int[] dependentOffsets;
+    private final int[] dependentTargets;
+
+    /**
+     * Build the CSR arrays from the graph's ID-keyed edges.
+     * Time Complexity: O(V + E).
+     * Package-private: use PrerequisiteGraph.freeze().
+     */
+    CompactPrerequisiteGraph(PrerequisiteGraph graph, BitSet members) {
+        this.interner = graph.getInterner();
+        this.nodeCount = interner.size();
+        this.member = new boolean[nodeCount];
+
+        int count = 0;
+        for (int id = members.nextSetBit(0); id >= 0 && id < nodeCount; id = members.nextSetBit(id + 1)) {
+            member[id] = true;
+            count++;
+        }
+        this.memberCount = count;
+
+        // Forward direction: course -> prerequisites
+        this.prereqOffsets = new int[nodeCount + 1];
+        for (int id = 0; id < nodeCount; id++) {
+            prereqOffsets[id + 1] = prereqOffsets[id] + graph.prerequisiteCount(id);
+        }
+        this.prereqTargets = new int[prereqOffsets[nodeCount]];
+        for (int id = 0; id < nodeCount; id++) {
+            int base = prereqOffsets[id];
+            int degree = graph.prerequisiteCount(id);
+            for (int i = 0; i < degree; i++) {
+                prereqTargets[base + i] = graph.prerequisiteAt(id, i);
+            }
+        }
+
+        // Reverse direction: prerequisite -> dependent courses
+        this.dependentOffsets = new int[nodeCount + 1];
+        for (int id = 0; id < nodeCount; id++) {
+            dependentOffsets[id + 1] = dependentOffsets[id] + graph.dependentCount(id);
+        }
+        this.dependentTargets = new int[dependentOffsets[nodeCount]];
+        for (int id = 0; id < nodeCount; id++) {
+            int base = dependentOffsets[id];
+            int degree = graph.dependentCount(id);
+            for (int i = 0; i < degree; i++) {
+                dependentTargets[base + i] = graph.dependentAt(id, i);
+            }
+        }
+    }
+
+    /**
+     * @return Size of the ID space (valid IDs are 0 .. getNodeCount() - 1)
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return Number of IDs that are actually nodes of the graph
+     */
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    /**
+     * @return Number of prerequisite edges
+     */
+    public int getEdgeCount() {
+        return prereqTargets.length;
+    }
+
+    /**
+     * @param id Course ID
+     * @return true if the course takes part in the graph
+     */
+    public boolean isMember(int id) {
+        return id >= 0 && id < nodeCount && member[id];
+    }
+
+    /**
+     * @return Interner used to translate between IDs and course codes
+     */
+    public CourseCodeInterner getInterner() {
+        return interner;
+    }
+
+    public int prerequisiteCount(int id) {
+        return (id >= 0 && id < nodeCount) ? prereqOffsets[id + 1] - prereqOffsets[id] : 0;
+    }
+
+    public int prerequisiteAt(int id, int index) {
+        return prereqTargets[prereqOffsets[id] + index];
+    }
+
+    public int dependentCount(int id) {
+        return (id >= 0 && id < nodeCount) ? dependentOffsets[id + 1] - dependentOffsets[id] : 0;
+    }
+
+    public int dependentAt(int id, int index) {
+        return dependentTargets[dependentOffsets[id] + index];
+    }
+
+    /**
+     * @param id Course ID
+     * @return Copy of the prerequisite IDs of the course
+     */
+    public int[] getPrerequisites(int id) {
+        if (id < 0 || id >= nodeCount) return new int[0];
+        return Arrays.copyOfRange(prereqTargets, prereqOffsets[id], prereqOffsets[id + 1]);
+    }
+
+    /**
+     * @param id Course ID
+     * @return Copy of the IDs of courses that directly require this one
+     */
+    public int[] getDependentCourses(int id) {
+        if (id < 0 || id >= nodeCount) return new int[0];
+        return Arrays.copyOfRange(dependentTargets, dependentOffsets[id], dependentOffsets[id + 1]);
+    }
+
+    /**
+     * Topological sort (Kahn's algorithm) over the CSR arrays.
+     * A course's in-degree is its number of prerequisites, and finishing a course
+     * releases its dependents, so prerequisites always come before the courses
+     * that need them. The queue is a plain int array.
+     * Time Complexity: O(V + E).
+     * @return Member IDs in prerequisite-first order, or an empty array if there is a cycle
+     */
+    public int[] topologicalSort() {
+        int[] remaining = new int[nodeCount];
+        int[] queue = new int[memberCount];
+        int tail = 0;
+
+        for (int id = 0; id < nodeCount; id++) {
+            if (member[id]) {
+                remaining[id] = prerequisiteCount(id);
+                if (remaining[id] == 0) {
+                    queue[tail++] = id;
+                }
+            }
+        }
+
+        int head = 0;
+        while (head < tail) {
+            int id = queue[head++];
+            for (int i = dependentOffsets[id]; i < dependentOffsets[id + 1]; i++) {
+                int dependent = dependentTargets[i];
+                if (--remaining[dependent] == 0) {
+                    queue[tail++] = dependent;
+                }
+            }
+        }
+
+        return (tail == memberCount) ? queue : new int[0];
+    }
+
+    /**
+     * Layered topological sort: layer 0 holds courses with no prerequisites, and every
+     * other course sits one layer after its latest prerequisite. All prerequisites of a
+     * course are therefore in strictly earlier layers.
+     * Time Complexity: O(V + E).
+     * @return Layers of member IDs, or an empty list if there is a cycle
+     */
+    public List<int[]> topologicalLayers() {
+        return topologicalLayers(null);
+    }
+
+    /**
+     * Layered topological sort treating some courses as already satisfied.
+     * Courses in done are left out, and prerequisites in done do not hold anything back,
+     * so layer 0 is "everything that can be taken now".
+     * @param done Satisfied course IDs (may be null)
+     * @return Layers of the remaining member IDs, or an empty list if there is a cycle
+     */
+    public List<int[]> topologicalLayers(BitSet done) {
+        int[] remaining = new int[nodeCount];
+        int[] queue = new int[memberCount];
+        int tail = 0;
+        int expected = 0;
+
+        for (int id = 0; id < nodeCount; id++) {
+            if (!member[id] || (done != null && done.get(id))) continue;
+            expected++;
+            for (int i = prereqOffsets[id]; i < prereqOffsets[id + 1]; i++) {
+                if (done == null || !done.get(prereqTargets[i])) {
+                    remaining[id]++;
+                }
+            }
+            if (remaining[id] == 0) {
+                queue[tail++] = id;
+            }
+        }
+
+        // Process one whole layer at a time: queue[layerStart .. layerEnd) is the current layer
+        List<int[]> layers = new ArrayList<>();
+        int layerStart = 0;
+        while (layerStart < tail) {
+            int layerEnd = tail;
+            for (int q = layerStart; q < layerEnd; q++) {
+                int id = queue[q];
+                for (int i = dependentOffsets[id]; i < dependentOffsets[id + 1]; i++) {
+                    int dependent = dependentTargets[i];
+                    if (--remaining[dependent] == 0) {
+                        queue[tail++] = dependent;
+                    }
+                }
+            }
+            layers.add(Arrays.copyOfRange(queue, layerStart, layerEnd));
+            layerStart = layerEnd;
+        }
+
+        return (tail == expected) ? layers : new ArrayList<>();
+    }
+
+    /**
+     * Cycle check: a graph has a cycle exactly when Kahn's algorithm cannot order every node.
+     * Time Complexity: O(V + E).
+     */
+    public boolean hasCycle() {
+        return topologicalSort().length != memberCount;
+    }
+
+    /**
+     * Find one cycle with an iterative three-color DFS along prerequisite edges.
+     * Colors live in an int array (0 = white, 1 = gray/on the current path, 2 = black)
+     * and the call stack is explicit, so chains of any depth are safe.
+     * Time Complexity: O(V + E).
+     * @return Cycle as IDs, first ID repeated at the end (e.g. A, B, C, A), or empty if acyclic
+     */
+    public int[] findCycle() {
+        int[] color = new int[nodeCount];
+        int[] stack = new int[memberCount];     // Course IDs on the current DFS path
+        int[] nextEdge = new int[memberCount];  // Next prerequisite edge to explore per frame
+        int[] stackPos = new int[nodeCount];    // Position of a gray node on the stack
+
+        for (int start = 0; start < nodeCount; start++) {
+            if (!member[start] || color[start] != 0) continue;
+
+            int top = 0;
+            stack[0] = start;
+            nextEdge[0] = prereqOffsets[start];
+            stackPos[start] = 0;
+            color[start] = 1;
+
+            while (top >= 0) {
+                int id = stack[top];
+                if (nextEdge[top] < prereqOffsets[id + 1]) {
+                    int prereq = prereqTargets[nextEdge[top]++];
+                    if (color[prereq] == 0) {
+                        top++;
+                        stack[top] = prereq;
+                        nextEdge[top] = prereqOffsets[prereq];
+                        stackPos[prereq] = top;
+                        color[prereq] = 1;
+                    } else if (color[prereq] == 1) {
+                        // Back edge: the path from prereq to the top of the stack is a cycle
+                        int from = stackPos[prereq];
+                        int[] cycle = new int[top - from + 2];
+                        System.arraycopy(stack, from, cycle, 0, top - from + 1);
+                        cycle[cycle.length - 1] = prereq;
+                        return cycle;
+                    }
+                } else {
+                    color[id] = 2;
+                    top--;
+                }
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * All strongly connected components, using an iterative version of Tarjan's algorithm.
+     * Every member ID belongs to exactly one component; in an acyclic graph every
+     * component is a single course.
+     * Time Complexity: O(V + E).
+     * @return Components as arrays of IDs
+     */
+    public List<int[]> stronglyConnectedComponents() {
+        List<int[]> components = new ArrayList<>();
+
+        int[] index = new int[nodeCount];       // DFS discovery order + 1 (0 = unvisited)
+        int[] lowLink = new int[nodeCount];
+        boolean[] onStack = new boolean[nodeCount];
+        int[] sccStack = new int[memberCount];
+        int sccTop = -1;
+        int[] callStack = new int[memberCount];
+        int[] nextEdge = new int[memberCount];
+        int counter = 0;
+
+        for (int start = 0; start < nodeCount; start++) {
+            if (!member[start] || index[start] != 0) continue;
+
+            int top = 0;
+            callStack[0] = start;
+            nextEdge[0] = prereqOffsets[start];
+            index[start] = lowLink[start] = ++counter;
+            sccStack[++sccTop] = start;
+            onStack[start] = true;
+
+            while (top >= 0) {
+                int id = callStack[top];
+                if (nextEdge[top] < prereqOffsets[id + 1]) {
+                    int prereq = prereqTargets[nextEdge[top]++];
+                    if (index[prereq] == 0) {
+                        // Recurse into prereq
+                        top++;
+                        callStack[top] = prereq;
+                        nextEdge[top] = prereqOffsets[prereq];
+                        index[prereq] = lowLink[prereq] = ++counter;
+                        sccStack[++sccTop] = prereq;
+                        onStack[prereq] = true;
+                    } else if (onStack[prereq]) {
+                        lowLink[id] = Math.min(lowLink[id], index[prereq]);
+                    }
+                } else {
+                    // All edges done: id is a component root if its low-link is its own index
+                    if (lowLink[id] == index[id]) {
+                        int end = sccTop;
+                        while (sccStack[sccTop] != id) {
+                            onStack[sccStack[sccTop--]] = false;
+                        }
+                        onStack[sccStack[sccTop--]] = false;
+                        components.add(Arrays.copyOfRange(sccStack, sccTop + 1, end + 1));
+                    }
+                    top--;
+                    if (top >= 0) {
+                        int parent = callStack[top];
+                        lowLink[parent] = Math.min(lowLink[parent], lowLink[id]);
+                    }
+                }
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Strongly connected components that actually contain a cycle: more than one course,
+     * or a single course listed as its own prerequisite.
+     * @return Cyclic components as arrays of IDs
+     */
+    public List<int[]> cyclicComponents() {
+        List<int[]> cyclic = new ArrayList<>();
+        for (int[] component : stronglyConnectedComponents()) {
+            if (component.length > 1 || hasSelfLoop(component[0])) {
+                cyclic.add(component);
+            }
+        }
+        return cyclic;
+    }
+
+    private boolean hasSelfLoop(int id) {
+        for (int i = prereqOffsets[id]; i < prereqOffsets[id + 1]; i++) {
+            if (prereqTargets[i] == id) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Translate IDs back to course codes
+     */
+    public List<String> toCodes(int[] ids) {
+        List<String> codes = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            codes.add(interner.codeOf(id));
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,236 @@
+package com.courseplanner;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * ConcurrentCourseCatalog: Thread-safe alternative to CourseBST for catalogs
+ * that are read from many request threads at once.
+ * The AVL tree is persistent (copy-on-write): an insert copies only the nodes
+ * on the path it touches and publishes the new root with a single atomic swap.
+ * Readers therefore never block and always see a complete, balanced snapshot.
+ * Every read (search, traversal, count) goes through one snapshot, so a course is
+ * either visible to all of them or to none; there is no separate index to lag behind.
+ * The tree is ordered by normalized code (upper case, trimmed), the same key search uses.
+ */
+public class ConcurrentCourseCatalog implements CourseCatalog {
+
+    private final AtomicReference<Node> root;// Current published snapshot of the tree
+
+    /**
+     * Constructor initializes empty catalog
+     */
+    public ConcurrentCourseCatalog() {
+        this.root = new AtomicReference<>(null);
+    }
+
+    /**
+     * Insert a course into the catalog.
+     * Writers build a new version of the tree and publish it with compareAndSet,
+     * retrying if another writer published first. No locks are taken.
+     * Time Complexity: O(log n) per attempt.
+     * @param course Course to insert
+     * @return true if the course was added, false if it was invalid or already present
+     */
+    public boolean insert(Course course) {
+        if (course == null || course.getCode() == null || course.getCode().trim().length() < 2) {
+            return false;
+        }
+
+        String key = normalize(course.getCode());
+        while (true) {
+            Node current = root.get();
+            Node updated = insertRec(current, key, course);
+
+            // Same root back means the code was already in this snapshot
+            if (updated == current) {
+                return false;
+            }
+
+            if (root.compareAndSet(current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Path-copying AVL insertion. Never mutates existing nodes.
+     * @return New subtree root, or the same node if the code already exists
+     */
+    private Node insertRec(Node node, String key, Course course) {
+        if (node == null) {
+            return new Node(key, course, null, null);
+        }
+
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            Node left = insertRec(node.left, key, course);
+            return (left == node.left) ? node : balance(node, left, node.right);
+        } else if (cmp > 0) {
+            Node right = insertRec(node.right, key, course);
+            return (right == node.right) ? node : balance(node, node.left, right);
+        }
+        return node;
+    }
+
+    /**
+     * Build a balanced node from a node's entry and two (already balanced) subtrees.
+     * Handles the LL, LR, RR and RL cases by constructing new nodes.
+     */
+    private static Node balance(Node entry, Node left, Node right) {
+        int balance = height(left) - height(right);
+
+        if (balance > 1) {
+            if (height(left.left) >= height(left.right)) {
+                // Left Left Case
+                return copy(left, left.left, copy(entry, left.right, right));
+            }
+            // Left Right Case
+            Node lr = left.right;
+            return copy(lr, copy(left, left.left, lr.left), copy(entry, lr.right, right));
+        }
+
+        if (balance < -1) {
+            if (height(right.right) >= height(right.left)) {
+                // Right Right Case
+                return copy(right, copy(entry, left, right.left), right.right);
+            }
+            // Right Left Case
+            Node rl = right.left;
+            return copy(rl, copy(entry, left, rl.left), copy(right, rl.right, right.right));
+        }
+
+        return copy(entry, left, right);
+    }
+
+    private static Node copy(Node entry, Node left, Node right) {
+        return new Node(entry.key, entry.course, left, right);
+    }
+
+    /**
+     * Retrieves a course by its unique code from the current snapshot. Never blocks.
+     * Time Complexity: O(log n).
+     */
+    public Course search(String code) {
+        if (code == null) return null;
+        String key = normalize(code);
+        Node node = root.get();
+        while (node != null) {
+            int cmp = key.compareTo(node.key);
+            if (cmp == 0) {
+                return node.course;
+            }
+            node = (cmp < 0) ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * In-order traversal of the current snapshot. Never blocks, and concurrent
+     * inserts do not affect a traversal that is already running.
+     * @return Courses sorted by code
+     */
+    public List<Course> inOrderTraversal() {
+        List<Course> courses = new ArrayList<>();
+        inOrderRec(root.get(), courses);
+        return courses;
+    }
+
+    private void inOrderRec(Node node, List<Course> courses) {
+        if (node != null) {
+            inOrderRec(node.left, courses);
+            courses.add(node.course);
+            inOrderRec(node.right, courses);
+        }
+    }
+
+    /**
+     * Returns the total number of courses in the current snapshot.
+     * Time Complexity: O(1) (each node stores its subtree size).
+     */
+    public int getCourseCount() {
+        return size(root.get());
+    }
+
+    /**
+     * Checks if the catalog is currently empty.
+     */
+    public boolean isEmpty() {
+        return root.get() == null;
+    }
+
+    /**
+     * Height of the current snapshot (0 for an empty catalog).
+     */
+    public int getHeight() {
+        return height(root.get());
+    }
+
+    /**
+     * Verifies the AVL invariants and subtree sizes of the current snapshot.
+     * Intended for diagnostics and stress runs; safe to call while writers run.
+     * @return true if the snapshot is ordered, balanced and sized
+     */
+    public boolean validate() {
+        return validateRec(root.get(), null, null) >= 0;
+    }
+
+    /**
+     * @return Subtree height, or -1 if any invariant is violated
+     */
+    private int validateRec(Node node, String low, String high) {
+        if (node == null) return 0;
+
+        String key = node.key;
+        if ((low != null && key.compareTo(low) <= 0) || (high != null && key.compareTo(high) >= 0)) {
+            return -1;
+        }
+        if (!key.equals(normalize(node.course.getCode()))) {
+            return -1;
+        }
+
+        int lh = validateRec(node.left, low, key);
+        int rh = validateRec(node.right, key, high);
+        if (lh < 0 || rh < 0 || Math.abs(lh - rh) > 1 || node.height != 1 + Math.max(lh, rh)
+                || node.size != 1 + size(node.left) + size(node.right)) {
+            return -1;
+        }
+        return node.height;
+    }
+
+    private static String normalize(String code) {
+        return code.toUpperCase().trim();
+    }
+
+    private static int height(Node node) {
+        return (node == null) ? 0 : node.height;
+    }
+
+    private static int size(Node node) {
+        return (node == null) ? 0 : node.size;
+    }
+
+    /**
+     * Immutable tree node. All fields are final so a published snapshot
+     * is safely visible to every reader thread.
+     */
+    private static final class Node {
+        private final String key;     // Normalized course code
+        private final Course course;
+        private final Node left;
+        private final Node right;
+        private final int height;
+        private final int size;       // Courses in this subtree
+
+        Node(String key, Course course, Node left, Node right) {
+            this.key = key;
+            this.course = course;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(height(left), height(right));
+            this.size = 1 + size(left) + size(right);
+        }
+    }
+
+}
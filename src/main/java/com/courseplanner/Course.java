@@ -3,15 +3,15 @@ package com.courseplanner;
 /**
  * Course class represents a single academic course with all its properties.
  * This is a POJO (Plain Old Java Object) that stores course information.
- * Each course has a unique code, name, credit value, and completion status.
+ * Each course has a unique code, name and credit value.
+ * Completions and grades belong to a student and live in StudentProgress, so
+ * catalog Course objects can be shared by many students.
  */
 public class Course {
     // Private fields - encapsulation
     private String code;        // Course code like "CS101"
     private String name;        // Course name like "Programming Fundamentals"
     private int credits;        // Credit hours (3, 4, etc.)
-    private boolean completed;  // Whether student has completed this course
-    private double grade;       // Grade obtained (0-100)//
 
     /**
      * Constructor to create a new Course object
@@ -23,8 +23,6 @@ public class Course {
         this.code = code;
         this.name = name;
         this.credits = credits;
-        this.completed = false;  // Default: not completed
-        this.grade = 0.0;        // Default: no grade
     }
 
     // Getter and Setter methods (Encapsulation principle)
@@ -50,45 +48,12 @@ public class Course {
         return credits;
     }
 
-    /**
-     * @return Completion status
-     */
-    public boolean isCompleted() {
-        return completed;
-    }
-
-    /**
-     * Set completion status
-     * @param completed New completion status
-     */
-    public void setCompleted(boolean completed) {
-        this.completed = completed;
-    }
-
-    /**
-     * @return Grade obtained
-     */
-    public double getGrade() {
-        return grade;
-    }
-
-    /**
-     * Set grade for completed course
-     * @param grade Grade value (0-100)
-     */
-    public void setGrade(double grade) {
-        this.grade = grade;
-    }
-
     /**
      * String representation for display
      * @return Formatted course information
      */
     @Override
     public String toString() {
-        String status = completed ? "✓" : "○";
-        return String.format("%s %s: %s (%d credits) %s",
-                status, code, name, credits,
-                completed ? String.format("[Grade: %.1f%%]", grade) : "");
+        return String.format("%s: %s (%d credits)", code, name, credits);
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.courseplanner;
 
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -13,18 +15,99 @@ import java.util.*;
  */
 
 
-public class CourseBST {
+public class CourseBST implements CourseCatalog {
     
     private CourseNode root;// The starting point (root) of the Binary Search Tree
 
     private HashMap<String, CourseNode> courseMap;// Used for fast O(1) lookups by course code
 
+    private CatalogEventSink eventSink = CatalogEventSink.NONE;// Audit trail destination (off by default)
+
+    private final CourseCodeInterner interner;// Shared code -> int ID mapping
+
+    private CourseNode[] nodesById;// Used for allocation-free lookups by course ID
+
+    private long version;// Incremented on every change to the stored courses
+
     /**
-     * Constructor initializes empty tree
+     * Constructor initializes empty tree with its own interner
+     * (pass the interner to the PrerequisiteGraph used with this catalog)
      */
     public CourseBST() {
+        this(new CourseCodeInterner());
+    }
+
+    /**
+     * Constructor initializes empty tree
+     * @param interner Interner shared with the PrerequisiteGraph this catalog is used with
+     */
+    public CourseBST(CourseCodeInterner interner) {
         this.root = null;
         this.courseMap = new HashMap<>();
+        this.interner = interner;
+        this.nodesById = new CourseNode[Math.max(16, interner.size())];
+    }
+
+    /**
+     * Bulk-load constructor: builds a perfectly balanced tree from a collection of courses.
+     * The input is sorted once, then the tree is built bottom-up from the middle
+     * element of each range, so no rotations or per-course descents are needed.
+     * Invalid courses are skipped and duplicate codes keep the first occurrence,
+     * matching the behaviour of repeated insert() calls.
+     * Time Complexity: O(n log n) for unsorted input, O(n) when already sorted.
+     * @param courses Courses to load (sorted or unsorted)
+     */
+    public CourseBST(Collection<Course> courses) {
+        this(courses, new CourseCodeInterner());
+    }
+
+    /**
+     * Bulk-load constructor with an explicit interner
+     * @param courses Courses to load (sorted or unsorted)
+     * @param interner Interner shared with the PrerequisiteGraph this catalog is used with
+     */
+    public CourseBST(Collection<Course> courses, CourseCodeInterner interner) {
+        this(interner);
+
+        // Step 1: Filter invalid entries and sort by code (stable, so first duplicate wins)
+        List<Course> sorted = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            if (isValidCourse(course)) {
+                sorted.add(course);
+            }
+        }
+        sorted.sort(Comparator.comparing(Course::getCode));
+
+        // Step 2: Drop duplicate codes in a single pass
+        List<Course> unique = new ArrayList<>(sorted.size());
+        for (Course course : sorted) {
+            if (unique.isEmpty() || !unique.get(unique.size() - 1).getCode().equals(course.getCode())) {
+                unique.add(course);
+            }
+        }
+
+        // Step 3: Build the balanced tree and fill the HashMap together
+        this.courseMap = new HashMap<>(Math.max(16, (int) (unique.size() / 0.75f) + 1));
+        this.root = buildBalanced(unique, 0, unique.size() - 1);
+    }
+
+    /**
+     * Recursive helper for bulk loading: the middle course of [lo, hi] becomes the root.
+     * @return Root of the balanced subtree, or null for an empty range
+     */
+    private CourseNode buildBalanced(List<Course> sorted, int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        CourseNode node = new CourseNode(sorted.get(mid));
+        node.setLeft(buildBalanced(sorted, lo, mid - 1));
+        node.setRight(buildBalanced(sorted, mid + 1, hi));
+        updateHeight(node);
+
+        indexNode(node);
+        return node;
     }
 
     /**
@@ -40,17 +123,21 @@ public class CourseBST {
             return;
         }
 
-        // Step 2: Perform the recursive AVL insertion
+        // Step 2: Perform the recursive AVL insertion (a no-op if the code is already present)
+        int countBefore = getCourseCount();
         root = insertRec(root, course);
-        
-        // Step 3: Log the event for system traceability
-        logEvent("Inserted course: " + course.getCode());
 
-        // Step 4: Synchronize the HashMap for O(1) searching
+        // Step 3: Synchronize the HashMap for O(1) searching
         // We use toUpperCase().trim() to ensure search consistency
         CourseNode node = searchNode(course.getCode());
         if (node != null) {
-            courseMap.put(course.getCode().toUpperCase().trim(), node);
+            indexNode(node);
+        }
+
+        // Step 4: Only a new node is a change: bump the version and log the event
+        if (getCourseCount() > countBefore) {
+            version++;
+            logEvent("Inserted course", course.getCode());
         }
     }
 
@@ -89,6 +176,164 @@ public class CourseBST {
     }
 
     
+    /**
+     * Remove a course from the BST and the HashMap.
+     * Time Complexity: O(log n) with AVL rebalancing on the way back up.
+     * @param code Course code (case-insensitive, like search)
+     * @return The removed course, or null if it was not found
+     */
+    public Course delete(String code) {
+        if (code == null) return null;
+
+        CourseNode node = courseMap.get(code.toUpperCase().trim());
+        if (node == null) return null;
+
+        Course removed = node.getCourse();
+        root = deleteRec(root, removed.getCode());
+        courseMap.remove(removed.getCode().toUpperCase().trim());
+        version++;
+        int id = interner.idOf(removed.getCode());
+        if (id >= 0 && id < nodesById.length) {
+            nodesById[id] = null;
+        }
+
+        logEvent("Deleted course", removed.getCode());
+        return removed;
+    }
+
+    /**
+     * Recursive helper for deletion with AVL balancing
+     * @param node Current node in recursion
+     * @param code Exact code stored in the tree
+     * @return Updated node after deletion and balancing
+     */
+    private CourseNode deleteRec(CourseNode node, String code) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = code.compareTo(node.getCourse().getCode());
+        if (cmp < 0) {
+            node.setLeft(deleteRec(node.getLeft(), code));
+        } else if (cmp > 0) {
+            node.setRight(deleteRec(node.getRight(), code));
+        } else {
+            // Zero or one child: splice the node out
+            if (node.getLeft() == null) return node.getRight();
+            if (node.getRight() == null) return node.getLeft();
+
+            // Two children: take over the in-order successor, then remove it from the right
+            CourseNode successor = node.getRight();
+            while (successor.getLeft() != null) {
+                successor = successor.getLeft();
+            }
+            Course successorCourse = successor.getCourse();
+            node.setRight(deleteRec(node.getRight(), successorCourse.getCode()));
+            node.setCourse(successorCourse);
+
+            // The successor now lives in this node, so re-point its index entry
+            indexNode(node);
+        }
+
+        updateHeight(node);
+        return rebalance(node);
+    }
+
+    /**
+     * Replace the stored data for an existing course code in place.
+     * The tree shape and the HashMap entry stay the same, so this is O(1).
+     * @param course Course with updated name/credits/etc. (matched by code)
+     * @return true if the course existed and was updated
+     */
+    public boolean update(Course course) {
+        if (!isValidCourse(course)) return false;
+
+        CourseNode node = courseMap.get(course.getCode().toUpperCase().trim());
+        if (node == null) return false;
+
+        // Keep the exact tree key if the caller used different casing or spacing
+        if (!node.getCourse().getCode().equals(course.getCode())) {
+            return false;
+        }
+
+        node.setCourse(course);
+        version++;
+        logEvent("Updated course", course.getCode());
+        return true;
+    }
+
+    /**
+     * Rename a course: removes the old code and inserts the replacement.
+     * Only the catalog changes; CoursePlannerApp.renameCourse also moves the
+     * course's prerequisite edges (see PrerequisiteGraph.renameCourse).
+     * Time Complexity: O(log n).
+     * @param oldCode Existing course code
+     * @param renamed Course carrying the new code
+     * @return true if oldCode existed and the new code was not already taken
+     */
+    public boolean rename(String oldCode, Course renamed) {
+        if (!isValidCourse(renamed) || search(oldCode) == null) return false;
+        if (search(renamed.getCode()) != null) return false;
+
+        delete(oldCode);
+        insert(renamed);
+        return true;
+    }
+
+    /**
+     * Apply many inserts, updates and deletions at once.
+     * Instead of rebalancing after every change, the current in-order sequence is
+     * merged with the sorted changes and the tree is rebuilt balanced in one pass.
+     * Upserts replace existing courses with the same code; deletions win over upserts.
+     * Time Complexity: O(n + m log m) for m changes.
+     * @param upserts Courses to add or replace
+     * @param deletions Codes to remove (case-insensitive)
+     */
+    public void applyBatch(Collection<Course> upserts, Collection<String> deletions) {
+        // Step 1: Normalize deletions and sort upserts by code (last upsert for a code wins)
+        Set<String> deleted = new HashSet<>();
+        for (String code : deletions) {
+            if (code != null) deleted.add(code.toUpperCase().trim());
+        }
+        TreeMap<String, Course> changes = new TreeMap<>();
+        for (Course course : upserts) {
+            if (isValidCourse(course) && !deleted.contains(course.getCode().toUpperCase().trim())) {
+                changes.put(course.getCode(), course);
+            }
+        }
+
+        // Step 2: Merge the existing sorted courses with the sorted changes
+        List<Course> current = inOrderTraversal();
+        List<Course> merged = new ArrayList<>(current.size() + changes.size());
+        Iterator<Course> changeIt = changes.values().iterator();
+        Course pending = changeIt.hasNext() ? changeIt.next() : null;
+
+        for (Course course : current) {
+            while (pending != null && pending.getCode().compareTo(course.getCode()) < 0) {
+                merged.add(pending);
+                pending = changeIt.hasNext() ? changeIt.next() : null;
+            }
+            if (pending != null && pending.getCode().equals(course.getCode())) {
+                merged.add(pending);
+                pending = changeIt.hasNext() ? changeIt.next() : null;
+            } else if (!deleted.contains(course.getCode().toUpperCase().trim())) {
+                merged.add(course);
+            }
+        }
+        while (pending != null) {
+            merged.add(pending);
+            pending = changeIt.hasNext() ? changeIt.next() : null;
+        }
+
+        // Step 3: Single balanced rebuild of both the tree and the HashMap
+        courseMap = new HashMap<>(Math.max(16, (int) (merged.size() / 0.75f) + 1));
+        Arrays.fill(nodesById, null);
+        root = buildBalanced(merged, 0, merged.size() - 1);
+        version++;
+
+        logEvent("Applied batch", changes.size() + " upserts, " + deleted.size() + " deletions");
+    }
+
   /**
      * Retrieves a course by its unique code.
      * Time Complexity: O(1) average case via HashMap lookup.
@@ -97,11 +342,56 @@ public class CourseBST {
 public Course search(String code) {
     if (code == null) return null;
     
-    // Convert input to uppercase to match the standard format stored in the map
-    CourseNode node = courseMap.get(code.toUpperCase().trim());
+    // Codes are usually stored normalized already, so try without allocating first
+    CourseNode node = courseMap.get(code);
+    if (node == null) {
+        // Convert input to uppercase to match the standard format stored in the map
+        node = courseMap.get(code.toUpperCase().trim());
+    }
     return (node != null) ? node.getCourse() : null;
 }
 
+    /**
+     * Retrieves a course by its interned ID.
+     * Time Complexity: O(1) array access; no hashing or allocation.
+     * @param courseId ID from getInterner()
+     * @return Course if present, null otherwise
+     */
+    public Course search(int courseId) {
+        if (courseId < 0 || courseId >= nodesById.length) return null;
+        CourseNode node = nodesById[courseId];
+        return (node != null) ? node.getCourse() : null;
+    }
+
+    /**
+     * @param code Course code
+     * @return Interned ID of the code, or -1 if it was never seen
+     */
+    public int idOf(String code) {
+        return interner.idOf(code);
+    }
+
+    /**
+     * @return Interner that maps this catalog's codes to int IDs
+     */
+    public CourseCodeInterner getInterner() {
+        return interner;
+    }
+
+    /**
+     * Register a node in both indexes (HashMap by code, array by ID)
+     */
+    private void indexNode(CourseNode node) {
+        String code = node.getCourse().getCode();
+        courseMap.put(code.toUpperCase().trim(), node);
+
+        int id = interner.intern(code);
+        if (id >= nodesById.length) {
+            nodesById = Arrays.copyOf(nodesById, Math.max(id + 1, nodesById.length * 2));
+        }
+        nodesById[id] = node;
+    }
+
     
     public List<Course> inOrderTraversal() {
         List<Course> courses = new ArrayList<>();
@@ -127,6 +417,254 @@ public Course search(String code) {
         }
     }
 
+    /**
+     * All courses with codes between fromCode and toCode (both inclusive), in sorted order.
+     * Only the matching part of the tree is visited.
+     * Time Complexity: O(log n + k) where k is the number of matches.
+     * @param fromCode Lower bound, null for no lower bound
+     * @param toCode Upper bound, null for no upper bound
+     * @return Matching courses, e.g. rangeQuery("MATH100", "MATH299")
+     */
+    public List<Course> rangeQuery(String fromCode, String toCode) {
+        List<Course> courses = new ArrayList<>();
+        rangeIterator(fromCode, toCode).forEachRemaining(courses::add);
+        return courses;
+    }
+
+    /**
+     * All courses whose code starts with the given prefix, in sorted order.
+     * Time Complexity: O(log n + k).
+     * @param prefix Code prefix such as "CS3" (all CS3xx) or "MATH" (department)
+     * @return Matching courses
+     */
+    public List<Course> prefixQuery(String prefix) {
+        List<Course> courses = new ArrayList<>();
+        prefixIterator(prefix).forEachRemaining(courses::add);
+        return courses;
+    }
+
+    /**
+     * Lazy in-order iterator over [fromCode, toCode]. Nothing is copied up front;
+     * each next() call does amortised O(1) work. The iterator reads the live tree,
+     * so the catalog must not be modified while it is in use.
+     * @param fromCode Lower bound (inclusive), null for no lower bound
+     * @param toCode Upper bound (inclusive), null for no upper bound
+     */
+    public Iterator<Course> rangeIterator(String fromCode, String toCode) {
+        return new RangeIterator(root, normalizeBound(fromCode), normalizeBound(toCode), true);
+    }
+
+    /**
+     * Lazy in-order iterator over the courses whose code starts with prefix
+     */
+    public Iterator<Course> prefixIterator(String prefix) {
+        String from = normalizeBound(prefix);
+        if (from == null || from.isEmpty()) {
+            return rangeIterator(null, null);
+        }
+        return new RangeIterator(root, from, prefixSuccessor(from), false);
+    }
+
+    /**
+     * Sequential stream over [fromCode, toCode], backed by rangeIterator.
+     * Encounter order is code order; the stream is ORDERED but not SORTED, since
+     * Course has no natural ordering for SORTED to refer to.
+     */
+    public Stream<Course> rangeStream(String fromCode, String toCode) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                rangeIterator(fromCode, toCode), Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    /**
+     * Sequential stream over the courses whose code starts with prefix, in code order
+     */
+    public Stream<Course> prefixStream(String prefix) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                prefixIterator(prefix), Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    /**
+     * Rank of a course code: the number of courses whose code sorts before it.
+     * Works for codes that are not in the catalog (gives the insertion position).
+     * Time Complexity: O(log n) using subtree sizes.
+     * @param code Course code
+     * @return Zero-based position of code in sorted order
+     */
+    public int rank(String code) {
+        String key = normalizeBound(code);
+        if (key == null) return 0;
+
+        int rank = 0;
+        CourseNode node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.getCourse().getCode());
+            if (cmp <= 0) {
+                node = node.getLeft();
+            } else {
+                rank += size(node.getLeft()) + 1;
+                node = node.getRight();
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Select the course at a given position in sorted order.
+     * Time Complexity: O(log n) using subtree sizes.
+     * @param k Zero-based position
+     * @return Course at position k, or null if k is out of range
+     */
+    public Course select(int k) {
+        if (k < 0 || k >= size(root)) return null;
+
+        CourseNode node = root;
+        while (node != null) {
+            int leftSize = size(node.getLeft());
+            if (k < leftSize) {
+                node = node.getLeft();
+            } else if (k == leftSize) {
+                return node.getCourse();
+            } else {
+                k -= leftSize + 1;
+                node = node.getRight();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One page of the catalog in sorted order, for lazily populated tables.
+     * Jumps straight to the offset via subtree sizes instead of traversing
+     * everything before it.
+     * Time Complexity: O(log n + limit).
+     * @param offset Zero-based position of the first course
+     * @param limit Maximum number of courses to return
+     * @return Courses [offset, offset + limit)
+     */
+    public List<Course> page(int offset, int limit) {
+        if (offset < 0 || limit <= 0 || offset >= size(root)) return new ArrayList<>();
+
+        List<Course> courses = new ArrayList<>(Math.min(limit, size(root) - offset));
+
+        Iterator<Course> it = new RangeIterator(root, offset);
+        while (courses.size() < limit && it.hasNext()) {
+            courses.add(it.next());
+        }
+        return courses;
+    }
+
+    /**
+     * Normalize a query bound the same way search() normalizes codes
+     */
+    private String normalizeBound(String code) {
+        return (code == null) ? null : code.toUpperCase().trim();
+    }
+
+    /**
+     * Smallest string greater than every string starting with prefix,
+     * or null if no such string exists (prefix made only of \uffff).
+     */
+    private String prefixSuccessor(String prefix) {
+        for (int i = prefix.length() - 1; i >= 0; i--) {
+            char c = prefix.charAt(i);
+            if (c != Character.MAX_VALUE) {
+                return prefix.substring(0, i) + (char) (c + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Bounded in-order iterator using an explicit stack of at most O(log n) nodes.
+     * Subtrees entirely below the lower bound are never pushed, and iteration
+     * stops at the first code past the upper bound.
+     */
+    private static class RangeIterator implements Iterator<Course> {
+        private final ArrayDeque<CourseNode> stack = new ArrayDeque<>();
+        private final String toCode;
+        private final boolean toInclusive;
+        private CourseNode nextNode;
+
+        RangeIterator(CourseNode root, String fromCode, String toCode, boolean toInclusive) {
+            this.toCode = toCode;
+            this.toInclusive = toInclusive;
+            pushLeft(root, fromCode);
+            advance();
+        }
+
+        /**
+         * Start at the course with the given zero-based position.
+         * Pushes the successor path to that position using subtree sizes.
+         */
+        RangeIterator(CourseNode root, int startIndex) {
+            this.toCode = null;
+            this.toInclusive = true;
+            CourseNode node = root;
+            int k = startIndex;
+            while (node != null) {
+                int leftSize = (node.getLeft() == null) ? 0 : node.getLeft().getSize();
+                if (k < leftSize) {
+                    stack.push(node);
+                    node = node.getLeft();
+                } else if (k == leftSize) {
+                    stack.push(node);
+                    break;
+                } else {
+                    k -= leftSize + 1;
+                    node = node.getRight();
+                }
+            }
+            advance();
+        }
+
+        /**
+         * Push the path to the smallest code >= fromCode in this subtree
+         */
+        private void pushLeft(CourseNode node, String fromCode) {
+            while (node != null) {
+                if (fromCode != null && node.getCourse().getCode().compareTo(fromCode) < 0) {
+                    node = node.getRight();
+                } else {
+                    stack.push(node);
+                    node = node.getLeft();
+                }
+            }
+        }
+
+        private void advance() {
+            if (stack.isEmpty()) {
+                nextNode = null;
+                return;
+            }
+            CourseNode node = stack.pop();
+            pushLeft(node.getRight(), null);
+
+            if (toCode != null) {
+                int cmp = node.getCourse().getCode().compareTo(toCode);
+                if (cmp > 0 || (cmp == 0 && !toInclusive)) {
+                    stack.clear();
+                    node = null;
+                }
+            }
+            nextNode = node;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNode != null;
+        }
+
+        @Override
+        public Course next() {
+            if (nextNode == null) {
+                throw new NoSuchElementException();
+            }
+            Course course = nextNode.getCourse();
+            advance();
+            return course;
+        }
+    }
+
     /**
      * Get height of a node
      * @param node Node to get height of
@@ -137,7 +675,18 @@ public Course search(String code) {
     }
 
     /**
-     * Update height of a node based on children
+     * Get subtree size of a node
+     * @param node Node to get size of
+     * @return Number of nodes in the subtree, 0 if node is null
+     */
+    private int size(CourseNode node) {
+        return (node == null) ? 0 : node.getSize();
+    }
+
+    /**
+     * Update height and subtree size of a node based on children.
+     * Called after every structural change (including rotations),
+     * so the order-statistic sizes stay correct alongside the heights.
      * @param node Node to update
      */
     private void updateHeight(CourseNode node) {
@@ -145,6 +694,7 @@ public Course search(String code) {
             int leftHeight = height(node.getLeft());
             int rightHeight = height(node.getRight());
             node.setHeight(1 + Math.max(leftHeight, rightHeight));
+            node.setSize(1 + size(node.getLeft()) + size(node.getRight()));
         }
     }
 
@@ -235,6 +785,35 @@ public Course search(String code) {
         return node;
     }
 
+    /**
+     * Restore the AVL property using only balance factors.
+     * Unlike balanceNode(), this does not need to know which key changed,
+     * so it works after deletions as well as insertions.
+     * @param node Node whose height is already up to date
+     * @return Balanced node
+     */
+    private CourseNode rebalance(CourseNode node) {
+        int balance = getBalance(node);
+
+        if (balance > 1) {
+            // Left Right Case first turns into Left Left
+            if (getBalance(node.getLeft()) < 0) {
+                node.setLeft(leftRotate(node.getLeft()));
+            }
+            return rightRotate(node);
+        }
+
+        if (balance < -1) {
+            // Right Left Case first turns into Right Right
+            if (getBalance(node.getRight()) > 0) {
+                node.setRight(rightRotate(node.getRight()));
+            }
+            return leftRotate(node);
+        }
+
+        return node;
+    }
+
     /**
      * Search for a node by course code (used internally)
      * @param code Course code to search
@@ -299,6 +878,15 @@ public Course search(String code) {
         return courseMap.size();
     }
 
+    /**
+     * Version stamp for caches built from this catalog: changes on every insert,
+     * delete, update, rename and batch.
+     * @return Current version
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Checks if the BST is currently empty.
      * Professional utility for UI state management.
@@ -308,11 +896,23 @@ public Course search(String code) {
     }
 
     /**
-     * Internal logger for system events. 
-     * Centralizing this allows for easy integration with logging frameworks later.
+     * Set where catalog events are sent.
+     * Use CatalogEventSink.CONSOLE for the old console log, or a
+     * RingBufferFileEventSink to keep an audit file without blocking inserts.
+     * @param eventSink Destination for events, null to turn auditing off
+     */
+    public void setEventSink(CatalogEventSink eventSink) {
+        this.eventSink = (eventSink != null) ? eventSink : CatalogEventSink.NONE;
+    }
+
+    /**
+     * Internal logger for system events.
+     * The identity check keeps the default no-op sink free of any call or allocation.
      */
-    private void logEvent(String message) {
-        System.out.println("[CourseBST-LOG] " + java.time.LocalDateTime.now() + ": " + message);
+    private void logEvent(String event, String courseCode) {
+        if (eventSink != CatalogEventSink.NONE) {
+            eventSink.record(event, courseCode);
+        }
     }
 
     /**
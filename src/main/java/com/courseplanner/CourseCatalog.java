@@ -0,0 +1,34 @@
+package com.courseplanner;
+
+import java.util.List;
+
+/**
+ * CourseCatalog: Common read interface over the different course storage backends.
+ * CourseBST is the mutable default, ConcurrentCourseCatalog serves concurrent
+ * readers and writers, and FrozenCourseCatalog is a compact read-only layout for
+ * catalogs that do not change during a term.
+ */
+public interface CourseCatalog {
+
+    /**
+     * Retrieves a course by its unique code (case-insensitive, surrounding spaces ignored)
+     * @param code Course code
+     * @return Course if found, null otherwise
+     */
+    Course search(String code);
+
+    /**
+     * @return All courses sorted by code
+     */
+    List<Course> inOrderTraversal();
+
+    /**
+     * @return Number of courses in the catalog
+     */
+    int getCourseCount();
+
+    /**
+     * @return true if the catalog holds no courses
+     */
+    boolean isEmpty();
+}
@@ -0,0 +1,99 @@
+package com.courseplanner;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CourseCodeInterner: Maps course codes to dense int IDs (0, 1, 2, ...).
+ * Each code is normalized (upper case, trimmed) exactly once, when it is first seen.
+ * After that, components can key arrays and bitsets by ID instead of hashing
+ * String codes in their inner loops.
+ * CourseBST and PrerequisiteGraph must share one interner for their IDs to agree.
+ * Each catalog gets its own interner, so ID-indexed arrays (CSR offsets, analytics,
+ * credits, grades) are sized to that catalog's courses only.
+ * Lookups are lock-free; assigning a new ID is synchronized.
+ */
+public class CourseCodeInterner {
+
+    private final ConcurrentHashMap<String, Integer> ids;// Normalized code -> ID
+    private volatile String[] codes;// ID -> normalized code
+    private volatile int size;
+
+    /**
+     * Constructor initializes an empty interner
+     */
+    public CourseCodeInterner() {
+        this.ids = new ConcurrentHashMap<>();
+        this.codes = new String[64];
+        this.size = 0;
+    }
+
+    /**
+     * Get the ID for a code, assigning the next free ID if the code is new.
+     * Time Complexity: O(1) average.
+     * @param code Course code (any case, surrounding spaces ignored)
+     * @return Dense ID of the normalized code
+     */
+    public int intern(String code) {
+        int id = idOf(code);
+        if (id >= 0) {
+            return id;
+        }
+
+        synchronized (this) {
+            String key = normalize(code);
+            Integer existing = ids.get(key);
+            if (existing != null) {
+                return existing;
+            }
+
+            id = size;
+            if (id == codes.length) {
+                codes = Arrays.copyOf(codes, id * 2);
+            }
+            codes[id] = key;
+            size = id + 1;
+            ids.put(key, id);
+            return id;
+        }
+    }
+
+    /**
+     * Look up the ID of a code without assigning one.
+     * Already-normalized codes are found without allocating.
+     * @param code Course code
+     * @return ID, or -1 if the code has never been interned
+     */
+    public int idOf(String code) {
+        if (code == null) return -1;
+
+        Integer id = ids.get(code);
+        if (id == null) {
+            id = ids.get(normalize(code));
+        }
+        return (id != null) ? id : -1;
+    }
+
+    /**
+     * @param id Course ID
+     * @return Normalized code for the ID, or null if the ID is unassigned
+     */
+    public String codeOf(int id) {
+        String[] current = codes;
+        return (id >= 0 && id < size && id < current.length) ? current[id] : null;
+    }
+
+    /**
+     * @return Number of IDs assigned so far (valid IDs are 0 .. size() - 1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The form a code is stored and looked up in
+     */
+    static String normalize(String code) {
+        return code.toUpperCase().trim();
+    }
+}
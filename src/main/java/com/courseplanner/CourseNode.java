@@ -12,12 +12,16 @@ public class CourseNode {
    
     int height;
 
+    // Number of nodes in this subtree (order-statistic augmentation)
+    int size;
+
     
     public CourseNode(Course course) {
         this.course = course;
         this.left = null;
         this.right = null;
         this.height = 1;  
+        this.size = 1;
     }
 
     
@@ -25,6 +29,10 @@ public class CourseNode {
         return course;
     }
 
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+
     public CourseNode getLeft() {
         return left;
     }
@@ -49,4 +57,12 @@ public class CourseNode {
         this.height = height;
     }
 
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
 }
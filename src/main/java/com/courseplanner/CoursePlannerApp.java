@@ -2,7 +2,6 @@ package com.courseplanner;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 public class CoursePlannerApp {
@@ -11,25 +10,23 @@ public class CoursePlannerApp {
     public PlanGenerator planGenerator;
     public AISuggester aiSuggester;
 
-    public List<String> completedCourses;
-    public HashMap<String, Double> grades;
+    public StudentProgress progress;// The signed-in student's completed courses and grades
     public List<String> interests;
 
     private static final String PROGRESS_FILE = "student_progress.txt";
 
     public CoursePlannerApp() {
         this.courseTree = new CourseBST();
-        this.prerequisiteGraph = new PrerequisiteGraph();
+        this.prerequisiteGraph = new PrerequisiteGraph(courseTree.getInterner());
         this.planGenerator = new PlanGenerator(courseTree, prerequisiteGraph);
         this.aiSuggester = new AISuggester(courseTree, prerequisiteGraph);
 
-        this.completedCourses = new ArrayList<>();
-        this.grades = new HashMap<>();
+        this.progress = new StudentProgress(prerequisiteGraph.getInterner());
         this.interests = new ArrayList<>();
 
      
         try {
-            PlanExporter.loadProgress(PROGRESS_FILE, completedCourses, grades, interests);
+            PlanExporter.loadProgress(PROGRESS_FILE, progress, interests);
         } catch (IOException e) {
         
         }
@@ -70,21 +67,54 @@ public class CoursePlannerApp {
     }
 
     private void addCourse(String code, String name, int credits, String prerequisites) {
+        // Plain "A,B" lists and expressions such as "CS201 AND (MATH201 OR MATH210)".
+        // Requirements first: a malformed expression throws before the course is added anywhere
+        if (!prerequisites.isEmpty()) {
+            prerequisiteGraph.addPrerequisiteExpression(code, prerequisites);
+        }
+
         Course course = new Course(code, name, credits);
         courseTree.insert(course);
+    }
 
-        if (!prerequisites.isEmpty()) {
-            String[] prereqArray = prerequisites.split(",");
-            for (String prereq : prereqArray) {
-                prerequisiteGraph.addPrerequisite(code, prereq.trim());
+    /**
+     * Rename a course everywhere: catalog, prerequisite graph and the student's record.
+     * Time Complexity: O(log n + degree of the course).
+     * @param oldCode Existing course code
+     * @param renamed Course carrying the new code
+     * @return true if oldCode existed and the new code was not already taken
+     */
+    public boolean renameCourse(String oldCode, Course renamed) {
+        // Step 1: Check both structures before changing either
+        if (courseTree.search(oldCode) == null || courseTree.search(renamed.getCode()) != null) {
+            return false;
+        }
+        if (prerequisiteGraph.containsCourse(renamed.getCode())) {
+            return false;
+        }
+
+        // Step 2: Move the edges, then the catalog entry
+        if (!prerequisiteGraph.renameCourse(oldCode, renamed.getCode()) || !courseTree.rename(oldCode, renamed)) {
+            return false;
+        }
+
+        // Step 3: Carry a completed course over to its new code
+        if (progress.isCompleted(oldCode)) {
+            boolean graded = progress.hasGrade(oldCode);
+            double grade = progress.getGrade(oldCode);
+            progress.removeCompleted(oldCode);
+            if (graded) {
+                progress.markCompleted(renamed.getCode(), grade);
+            } else {
+                progress.markCompleted(renamed.getCode());
             }
         }
+        return true;
     }
 
     private void updateComponents() {
-        planGenerator.setCompletedCourses(completedCourses);
-        aiSuggester.setCompletedCourses(completedCourses);
-        aiSuggester.setGrades(grades);
+        planGenerator.setProgress(progress);
+        aiSuggester.setProgress(progress);
         aiSuggester.setInterests(interests);
     }
 
@@ -61,6 +61,7 @@ public class CoursePlannerGUI {
     private DefaultTableModel tableModel;
     private JComboBox<String> courseComboBox;
     private JLabel statusLabel;
+    private int planMaxCredits = PlanPolicy.DEFAULT_MAX_CREDITS;// Cap chosen for the last generated plan, reused by export
     
     public CoursePlannerGUI() {
         plannerApp = new CoursePlannerApp();
@@ -251,11 +252,7 @@ public class CoursePlannerGUI {
                         try {
                             double grade = Double.parseDouble(gradeText);
                             if (grade >= 0 && grade <= 100) {
-                                Course course = allCourses.get(i);
-                                course.setCompleted(true);
-                                course.setGrade(grade);
-                                plannerApp.completedCourses.add(course.getCode());
-                                plannerApp.grades.put(course.getCode(), grade);
+                                plannerApp.progress.markCompleted(allCourses.get(i).getCode(), grade);
                             }
                         } catch (NumberFormatException ex) {
                             // Skip invalid grades
@@ -273,10 +270,7 @@ public class CoursePlannerGUI {
                 }
             }
             
-            // Update components
-            plannerApp.planGenerator.setCompletedCourses(plannerApp.completedCourses);
-            plannerApp.aiSuggester.setCompletedCourses(plannerApp.completedCourses);
-            plannerApp.aiSuggester.setGrades(plannerApp.grades);
+            // Update components (both already share plannerApp.progress)
             plannerApp.aiSuggester.setInterests(plannerApp.interests);
             
             refreshAll();
@@ -284,7 +278,7 @@ public class CoursePlannerGUI {
             
             JOptionPane.showMessageDialog(mainFrame, 
                 "✓ Setup complete!\n\n" +
-                "• " + plannerApp.completedCourses.size() + " courses marked completed\n" +
+                "• " + plannerApp.progress.getCompletedCount() + " courses marked completed\n" +
                 "• " + plannerApp.interests.size() + " interests saved", 
                 "Success", JOptionPane.INFORMATION_MESSAGE);
         });
@@ -611,8 +605,9 @@ public class CoursePlannerGUI {
                 course.getCode(),
                 course.getName(),
                 course.getCredits(),
-                course.isCompleted() ? "✓" : "○",
-                course.isCompleted() ? String.format("%.1f%%", course.getGrade()) : "-",
+                plannerApp.progress.isCompleted(course.getCode()) ? "✓" : "○",
+                plannerApp.progress.hasGrade(course.getCode())
+                        ? String.format("%.1f%%", plannerApp.progress.getGrade(course.getCode())) : "-",
                 prereqStr
             };
             tableModel.addRow(row);
@@ -626,7 +621,12 @@ public class CoursePlannerGUI {
         
         List<Course> courses = plannerApp.courseTree.inOrderTraversal();
         for (Course course : courses) {
-            sb.append(course.toString()).append("\n");
+            boolean completed = plannerApp.progress.isCompleted(course.getCode());
+            sb.append(completed ? "✓ " : "○ ").append(course);
+            if (plannerApp.progress.hasGrade(course.getCode())) {
+                sb.append(String.format(" [Grade: %.1f%%]", plannerApp.progress.getGrade(course.getCode())));
+            }
+            sb.append("\n");
             
             List<String> prereqs = plannerApp.prerequisiteGraph.getPrerequisites(course.getCode());
             if (!prereqs.isEmpty()) {
@@ -683,16 +683,22 @@ public class CoursePlannerGUI {
         String creditsStr = JOptionPane.showInputDialog(mainFrame,
             "Maximum credits per semester (default 18):", "Generate Plan", JOptionPane.QUESTION_MESSAGE);
         
-        int maxCredits = 18;
+        int maxCredits = PlanPolicy.DEFAULT_MAX_CREDITS;
         if (creditsStr != null && !creditsStr.trim().isEmpty()) {
             try {
-                maxCredits = Integer.parseInt(creditsStr);
+                maxCredits = Integer.parseInt(creditsStr.trim());
+                if (maxCredits < 1) {
+                    JOptionPane.showMessageDialog(mainFrame, "Credits must be positive. Using default 18.");
+                    maxCredits = PlanPolicy.DEFAULT_MAX_CREDITS;
+                }
             } catch (NumberFormatException e) {
                 JOptionPane.showMessageDialog(mainFrame, "Invalid number. Using default 18.");
             }
         }
         
-        List<List<Course>> plan = plannerApp.planGenerator.generatePlan();
+        planMaxCredits = maxCredits;
+        PlanPolicy policy = PlanPolicy.defaults().withMaxCredits(maxCredits);
+        List<List<Course>> plan = plannerApp.planGenerator.generatePlan(policy);
         
         StringBuilder sb = new StringBuilder();
         sb.append("STUDY PLAN (Max ").append(maxCredits).append(" credits/semester)\n");
@@ -780,20 +786,22 @@ public class CoursePlannerGUI {
             File fileToSave = fileChooser.getSelectedFile();
             
             try {
-                List<List<Course>> plan = plannerApp.planGenerator.generatePlan();
+                // Export the plan the user last saw, under the same credit cap
+                PlanPolicy policy = PlanPolicy.defaults().withMaxCredits(planMaxCredits);
+                List<List<Course>> plan = plannerApp.planGenerator.generatePlan(policy);
                 
                 if (fileChooser.getFileFilter() == txtFilter) {
                     String path = fileToSave.getAbsolutePath();
                     if (!path.toLowerCase().endsWith(".txt")) {
                         path += ".txt";
                     }
-                    PlanExporter.exportToTextFile(plan, path);
+                    PlanExporter.exportToTextFile(plan, plannerApp.progress, path);
                 } else if (fileChooser.getFileFilter() == csvFilter) {
                     String path = fileToSave.getAbsolutePath();
                     if (!path.toLowerCase().endsWith(".csv")) {
                         path += ".csv";
                     }
-                    PlanExporter.exportToCSV(plan, path);
+                    PlanExporter.exportToCSV(plan, plannerApp.progress, path);
                 }
                 
                 JOptionPane.showMessageDialog(mainFrame,
@@ -859,17 +867,9 @@ public class CoursePlannerGUI {
                     if (grade >= 0 && grade <= 100) {
                         Course course = plannerApp.courseTree.search(courseCode);
                         if (course != null) {
-                            course.setCompleted(true);
-                            course.setGrade(grade);
-                            
-                            if (!plannerApp.completedCourses.contains(courseCode)) {
-                                plannerApp.completedCourses.add(courseCode);
-                            }
-                            plannerApp.grades.put(courseCode, grade);
-                            
-                            plannerApp.planGenerator.setCompletedCourses(plannerApp.completedCourses);
-                            plannerApp.aiSuggester.setCompletedCourses(plannerApp.completedCourses);
-                            plannerApp.aiSuggester.setGrades(plannerApp.grades);
+                            // One course changed: the suggester updates its eligibility
+                            // incrementally; the plan generator rebuilds on next use
+                            plannerApp.aiSuggester.markCompleted(courseCode, grade);
                             
                             outputArea.setText("✓ Marked " + courseCode + " as completed with grade " + grade + "%\n");
                             refreshAll();
@@ -951,13 +951,12 @@ public class CoursePlannerGUI {
                 String prereq = prereqField.getText().toUpperCase().trim();
                 
                 if (!course.isEmpty() && !prereq.isEmpty()) {
-                    plannerApp.prerequisiteGraph.addPrerequisite(course, prereq);
-                    
-                    if (!plannerApp.prerequisiteGraph.hasCycle()) {
+                    // Checked insert: an edge that would create a cycle is rejected, not left in the graph
+                    if (plannerApp.prerequisiteGraph.addPrerequisiteChecked(course, prereq)) {
                         outputArea.setText("✓ Added prerequisite: " + prereq + " → " + course + "\n");
                     } else {
                         JOptionPane.showMessageDialog(mainFrame, 
-                            "⚠ Warning: This creates a cycle!", "Cycle Detected", JOptionPane.WARNING_MESSAGE);
+                            "⚠ Not added: this prerequisite would create a cycle!", "Cycle Detected", JOptionPane.WARNING_MESSAGE);
                     }
                     refreshAll();
                 }
@@ -971,12 +970,9 @@ public class CoursePlannerGUI {
         sb.append("=".repeat(50)).append("\n\n");
         
         List<Course> allCourses = plannerApp.courseTree.inOrderTraversal();
-        long completed = allCourses.stream().filter(Course::isCompleted).count();
+        long completed = allCourses.stream().filter(c -> plannerApp.progress.isCompleted(c.getCode())).count();
         
-        double avgGrade = plannerApp.grades.values().stream()
-            .mapToDouble(Double::doubleValue)
-            .average()
-            .orElse(0.0);
+        double avgGrade = plannerApp.progress.getAverageGrade();
         
         sb.append("PROGRESS SUMMARY:\n");
         sb.append("-".repeat(30)).append("\n");
@@ -1014,16 +1010,15 @@ public class CoursePlannerGUI {
     private void saveProgress() {
         try {
             PlanExporter.saveProgress(
-                plannerApp.completedCourses,
-                plannerApp.grades,
+                plannerApp.progress,
                 plannerApp.interests,
                 "student_progress.txt"
             );
             
             JOptionPane.showMessageDialog(mainFrame,
                 "✓ Progress saved successfully!\n\n" +
-                "• " + plannerApp.completedCourses.size() + " completed courses\n" +
-                "• " + plannerApp.grades.size() + " grades recorded\n" +
+                "• " + plannerApp.progress.getCompletedCount() + " completed courses\n" +
+                "• " + plannerApp.progress.getGrades().size() + " grades recorded\n" +
                 "• " + plannerApp.interests.size() + " interests",
                 "Save Complete",
                 JOptionPane.INFORMATION_MESSAGE);
@@ -1041,15 +1036,12 @@ public class CoursePlannerGUI {
         sb.append("=".repeat(50)).append("\n\n");
         
         List<Course> courses = plannerApp.courseTree.inOrderTraversal();
-        long completed = courses.stream().filter(Course::isCompleted).count();
+        long completed = courses.stream().filter(c -> plannerApp.progress.isCompleted(c.getCode())).count();
         long withPrereqs = courses.stream()
             .filter(c -> !plannerApp.prerequisiteGraph.getPrerequisites(c.getCode()).isEmpty())
             .count();
         
-        double avgGrade = plannerApp.grades.values().stream()
-            .mapToDouble(Double::doubleValue)
-            .average()
-            .orElse(0.0);
+        double avgGrade = plannerApp.progress.getAverageGrade();
         
         sb.append("Course Statistics:\n");
         sb.append("-".repeat(30)).append("\n");
@@ -1061,7 +1053,11 @@ public class CoursePlannerGUI {
         
         sb.append("Graph Statistics:\n");
         sb.append("-".repeat(30)).append("\n");
-        sb.append("Has Cycles: ").append(plannerApp.prerequisiteGraph.hasCycle() ? "Yes" : "No").append("\n");
+        sb.append("Has Cycles: ").append(plannerApp.prerequisiteGraph.hasCycle() ? "Yes" : "No").append("\n\n");
+        
+        sb.append("Plan Cache:\n");
+        sb.append("-".repeat(30)).append("\n");
+        sb.append(plannerApp.planGenerator.getPlanCache()).append("\n");
         
         outputArea.setText(sb.toString());
     }
@@ -1083,7 +1079,7 @@ public class CoursePlannerGUI {
             
             sb.append("Course: ").append(course.getName()).append("\n");
             sb.append("Credits: ").append(course.getCredits()).append("\n");
-            sb.append("Status: ").append(course.isCompleted() ? "Completed ✓" : "Not completed ○").append("\n\n");
+            sb.append("Status: ").append(plannerApp.progress.isCompleted(courseCode) ? "Completed ✓" : "Not completed ○").append("\n\n");
             
             sb.append("PREREQUISITES:\n");
             List<String> prereqs = plannerApp.prerequisiteGraph.getPrerequisites(courseCode);
@@ -1093,7 +1089,7 @@ public class CoursePlannerGUI {
             } else {
                 for (String prereq : prereqs) {
                     Course prereqCourse = plannerApp.courseTree.search(prereq);
-                    String status = plannerApp.completedCourses.contains(prereq) ? "✓" : "✗";
+                    String status = plannerApp.progress.isCompleted(prereq) ? "✓" : "✗";
                     sb.append("  ").append(status).append(" ").append(prereq);
                     if (prereqCourse != null) {
                         sb.append(": ").append(prereqCourse.getName());
@@ -1120,17 +1116,7 @@ public class CoursePlannerGUI {
                     if (grade >= 0 && grade <= 100) {
                         Course course = plannerApp.courseTree.search(courseCode);
                         if (course != null) {
-                            course.setCompleted(true);
-                            course.setGrade(grade);
-                            
-                            if (!plannerApp.completedCourses.contains(courseCode)) {
-                                plannerApp.completedCourses.add(courseCode);
-                            }
-                            plannerApp.grades.put(courseCode, grade);
-                            
-                            plannerApp.planGenerator.setCompletedCourses(plannerApp.completedCourses);
-                            plannerApp.aiSuggester.setCompletedCourses(plannerApp.completedCourses);
-                            plannerApp.aiSuggester.setGrades(plannerApp.grades);
+                            plannerApp.aiSuggester.markCompleted(courseCode, grade);
                             
                             outputArea.setText("✓ Marked " + courseCode + " as completed with grade " + grade + "%\n");
                             refreshAll();
@@ -1164,8 +1150,8 @@ public class CoursePlannerGUI {
             sb.append("Code: ").append(course.getCode()).append("\n");
             sb.append("Name: ").append(course.getName()).append("\n");
             sb.append("Credits: ").append(course.getCredits()).append("\n");
-            sb.append("Status: ").append(course.isCompleted() ? 
-                "Completed ✓ (Grade: " + String.format("%.1f%%", course.getGrade()) + ")" : 
+            sb.append("Status: ").append(plannerApp.progress.isCompleted(courseCode) ?
+                "Completed ✓ (Grade: " + String.format("%.1f%%", plannerApp.progress.getGrade(courseCode)) + ")" :
                 "Not completed ○").append("\n\n");
             
             List<String> prereqs = plannerApp.prerequisiteGraph.getPrerequisites(courseCode);
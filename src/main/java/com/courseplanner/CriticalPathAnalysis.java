@@ -0,0 +1,126 @@
+package com.courseplanner;
+
+import java.util.*;
+
+
+/**
+ * CriticalPathAnalysis: Longest-chain analysis of the prerequisite DAG.
+ * For every course ID it records:
+ *   depth  - length of the longest prerequisite chain below it (0 = no prerequisites),
+ *            i.e. the earliest semester index it can be taken in;
+ *   height - length of the longest chain of courses that need it (0 = nothing needs it),
+ *            i.e. how many semesters must still follow it;
+ *   slack  - how many semesters it can slip without lengthening the whole program.
+ * The longest chain is a lower bound on the number of semesters to finish everything.
+ * Depth and height each take one linear pass in topological order.
+ * Obtain a cached instance with PrerequisiteGraph.getCriticalPathAnalysis().
+ */
+public class CriticalPathAnalysis {
+
+    private final CompactPrerequisiteGraph graph;
+    private final boolean acyclic;
+    private final int[] depth;
+    private final int[] height;
+    private final int longestChain;   // Number of courses on the longest chain (0 if empty or cyclic)
+
+    /**
+     * Compute depth, height and the longest chain.
+     * If the graph has a cycle, no chain is well defined: isAcyclic() is false and
+     * every value is 0.
+     * Time Complexity: O(V + E).
+     * @param graph Frozen prerequisite graph
+     */
+    public CriticalPathAnalysis(CompactPrerequisiteGraph graph) {
+        this.graph = graph;
+        int n = graph.getNodeCount();
+        this.depth = new int[n];
+        this.height = new int[n];
+
+        int[] order = graph.topologicalSort();
+        this.acyclic = order.length == graph.getMemberCount();
+        if (!acyclic) {
+            this.longestChain = 0;
+            return;
+        }
+
+        // Depth: prerequisites come first in the order, so they are final when read
+        for (int id : order) {
+            for (int i = 0; i < graph.prerequisiteCount(id); i++) {
+                depth[id] = Math.max(depth[id], depth[graph.prerequisiteAt(id, i)] + 1);
+            }
+        }
+
+        // Height: walk the order backwards over dependents
+        int longest = 0;
+        for (int k = order.length - 1; k >= 0; k--) {
+            int id = order[k];
+            for (int i = 0; i < graph.dependentCount(id); i++) {
+                height[id] = Math.max(height[id], height[graph.dependentAt(id, i)] + 1);
+            }
+            longest = Math.max(longest, depth[id] + height[id] + 1);
+        }
+        this.longestChain = longest;
+    }
+
+    /**
+     * @return false if the graph has a cycle (all other results are then 0/empty)
+     */
+    public boolean isAcyclic() {
+        return acyclic;
+    }
+
+    /**
+     * @return Number of courses on the longest prerequisite chain, the minimum number
+     *         of semesters needed to take every course in the graph
+     */
+    public int getLongestChain() {
+        return longestChain;
+    }
+
+    public int getDepth(int id) {
+        return (id >= 0 && id < depth.length) ? depth[id] : 0;
+    }
+
+    public int getHeight(int id) {
+        return (id >= 0 && id < height.length) ? height[id] : 0;
+    }
+
+    /**
+     * @return Semesters this course can be delayed past its earliest slot without
+     *         lengthening the program; 0 for courses on a critical path
+     */
+    public int getSlack(int id) {
+        if (!acyclic || !graph.isMember(id)) return 0;
+        return longestChain - 1 - depth[id] - height[id];
+    }
+
+    /**
+     * One longest chain, from a course with no prerequisites to a course nothing needs.
+     * @return Course IDs on the critical path, prerequisite-first (empty if cyclic or empty)
+     */
+    public int[] getCriticalPath() {
+        if (longestChain == 0) return new int[0];
+
+        int[] path = new int[longestChain];
+        int current = -1;
+        for (int id = 0; id < depth.length; id++) {
+            if (graph.isMember(id) && depth[id] == 0 && height[id] == longestChain - 1) {
+                current = id;
+                break;
+            }
+        }
+
+        for (int step = 0; step < longestChain; step++) {
+            path[step] = current;
+            int next = -1;
+            for (int i = 0; i < graph.dependentCount(current) && next < 0; i++) {
+                int dependent = graph.dependentAt(current, i);
+                if (depth[dependent] == step + 1 && height[dependent] == longestChain - step - 2) {
+                    next = dependent;
+                }
+            }
+            current = next;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,163 @@
+package com.courseplanner;
+
+import java.util.*;
+
+
+/**
+ * EligibilityEngine: Tracks which courses a student can take next.
+ * Completed courses are a bitset over course IDs, and each course's direct
+ * prerequisites are precomputed as a sparse bitmask: only the 64-bit words that
+ * contain a prerequisite are stored, with their word index. "Are all prerequisites
+ * done" is then one AND per stored word instead of one lookup per prerequisite.
+ * markCompleted() updates the eligible set incrementally by re-testing only the
+ * courses that depend on the newly completed one.
+ * Courses with a PrerequisiteExpression are checked with its compiled clauses instead.
+ * An engine is a snapshot of the graph at construction; build a new one after the
+ * graph changes (see PrerequisiteGraph.getVersion()).
+ */
+public class EligibilityEngine {
+
+    private final PrerequisiteGraph graph;
+    private final CompactPrerequisiteGraph compact;
+    private final int nodeCount;
+    private final double[] gradeById;   // null ignores minimum grades
+
+    // Sparse prerequisite masks: course c owns entries maskStart[c] .. maskStart[c + 1] - 1
+    private final int[] maskStart;
+    private final int[] maskWord;       // Index of the 64-bit word
+    private final long[] maskBits;      // Prerequisite bits within that word
+
+    private final long[] completedWords;
+    private final BitSet completed;     // All completed IDs; completedWords covers graph IDs only
+    private final BitSet eligible;      // Not completed and requirement met
+
+    /**
+     * Build the masks and the initial eligible set.
+     * Time Complexity: O(V + E).
+     * @param graph Prerequisite graph
+     * @param completedIds IDs of completed courses
+     * @param gradeById Grade per course ID (NaN if unknown); null ignores minimum grades
+     */
+    public EligibilityEngine(PrerequisiteGraph graph, BitSet completedIds, double[] gradeById) {
+        this.graph = graph;
+        this.compact = graph.freeze();
+        this.nodeCount = compact.getNodeCount();
+        this.gradeById = gradeById;
+
+        // Masks: group each course's prerequisites by word (IDs sorted, so words come out in order)
+        this.maskStart = new int[nodeCount + 1];
+        int[] words = new int[compact.getEdgeCount()];
+        long[] bits = new long[compact.getEdgeCount()];
+        int n = 0;
+        for (int id = 0; id < nodeCount; id++) {
+            maskStart[id] = n;
+            int[] prereqs = compact.getPrerequisites(id);
+            Arrays.sort(prereqs);
+            for (int prereq : prereqs) {
+                int word = prereq >>> 6;
+                if (n == maskStart[id] || words[n - 1] != word) {
+                    words[n] = word;
+                    bits[n] = 0;
+                    n++;
+                }
+                bits[n - 1] |= 1L << prereq;
+            }
+        }
+        maskStart[nodeCount] = n;
+        this.maskWord = Arrays.copyOf(words, n);
+        this.maskBits = Arrays.copyOf(bits, n);
+
+        this.completedWords = new long[(nodeCount >>> 6) + 1];
+        this.completed = new BitSet(nodeCount);
+        for (int id = completedIds.nextSetBit(0); id >= 0; id = completedIds.nextSetBit(id + 1)) {
+            if (id < nodeCount) {
+                completedWords[id >>> 6] |= 1L << id;
+            }
+            completed.set(id);
+        }
+
+        this.eligible = new BitSet(nodeCount);
+        for (int id = 0; id < nodeCount; id++) {
+            if (!completed.get(id) && isRequirementMet(id)) {
+                eligible.set(id);
+            }
+        }
+    }
+
+    /**
+     * Record a completed course and re-test only the courses that depend on it.
+     * Time Complexity: O(dependents * their mask words).
+     * @param courseId Interned course ID
+     */
+    public void markCompleted(int courseId) {
+        if (courseId < 0 || completed.get(courseId)) return;
+
+        completed.set(courseId);
+        if (courseId >= nodeCount) return;   // Not in the graph: nothing depends on it
+        completedWords[courseId >>> 6] |= 1L << courseId;
+        eligible.clear(courseId);
+
+        for (int i = 0; i < compact.dependentCount(courseId); i++) {
+            int dependent = compact.dependentAt(courseId, i);
+            if (!completed.get(dependent) && isRequirementMet(dependent)) {
+                eligible.set(dependent);
+            }
+        }
+        // Co-requisite links are not edges; courses naming this one need a re-test too
+        for (int i = 0; i < graph.corequisiteOfCount(courseId); i++) {
+            int dependent = graph.corequisiteOfAt(courseId, i);
+            if (!completed.get(dependent) && isRequirementMet(dependent)) {
+                eligible.set(dependent);
+            }
+        }
+    }
+
+    /**
+     * Does the course's requirement hold for the current completed set?
+     * (Does not look at whether the course itself is completed.)
+     * Time Complexity: O(mask words), or O(literals) for expression courses.
+     * @param courseId Interned course ID
+     */
+    public boolean isRequirementMet(int courseId) {
+        if (courseId < 0 || courseId >= nodeCount) {
+            return true;   // Unknown to the graph: no prerequisites
+        }
+        PrerequisiteExpression expression = graph.getPrerequisiteExpression(courseId);
+        if (expression != null) {
+            return expression.isSatisfied(completed, gradeById, null);
+        }
+        for (int k = maskStart[courseId]; k < maskStart[courseId + 1]; k++) {
+            if ((maskBits[k] & ~completedWords[maskWord[k]]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param courseId Interned course ID
+     * @return true if the course is not completed and its requirement is met
+     */
+    public boolean isEligible(int courseId) {
+        if (courseId >= nodeCount) return !completed.get(courseId);
+        return courseId >= 0 && eligible.get(courseId);
+    }
+
+    public boolean isCompleted(int courseId) {
+        return courseId >= 0 && completed.get(courseId);
+    }
+
+    /**
+     * @return IDs of all eligible courses in the graph, ascending
+     */
+    public int[] eligibleCourses() {
+        return eligible.stream().toArray();
+    }
+
+    /**
+     * @return Number of eligible courses
+     */
+    public int getEligibleCount() {
+        return eligible.cardinality();
+    }
+}
@@ -0,0 +1,164 @@
+package com.courseplanner;
+
+import java.util.*;
+
+
+/**
+ * FrozenCourseCatalog: Read-only, cache-friendly catalog backend for per-term catalogs.
+ * Instead of a tree of node objects, the courses are laid out in Eytzinger (BFS) order
+ * in plain arrays: the children of slot k are slots 2k and 2k+1. All course codes are
+ * copied into one contiguous char arena, so a lookup compares against packed chars
+ * walking down the array rather than chasing node -> Course -> String pointers.
+ * Lookups also normalize case and spaces on the fly, without allocating.
+ */
+public class FrozenCourseCatalog implements CourseCatalog {
+
+    private final int count;            // Number of courses
+    private final Course[] courses;     // courses[k] for Eytzinger slot k (1-based, slot 0 unused)
+    private final char[] arena;         // Normalized codes of all slots, back to back
+    private final int[] offsets;        // Code of slot k is arena[offsets[k] .. offsets[k + 1])
+
+    /**
+     * Build a frozen copy of another catalog
+     * @param source Catalog to copy (for example a fully loaded CourseBST)
+     */
+    public FrozenCourseCatalog(CourseCatalog source) {
+        this(source.inOrderTraversal());
+    }
+
+    /**
+     * Build a frozen catalog from a collection of courses (sorted or unsorted).
+     * Invalid courses are skipped and duplicate codes keep the first occurrence.
+     * Time Complexity: O(n log n).
+     * @param source Courses to store
+     */
+    public FrozenCourseCatalog(Collection<Course> source) {
+        // Step 1: Normalize codes once and sort
+        List<Course> valid = new ArrayList<>(source.size());
+        for (Course course : source) {
+            if (course != null && course.getCode() != null && course.getCode().trim().length() >= 2) {
+                valid.add(course);
+            }
+        }
+        valid.sort(Comparator.comparing(c -> normalize(c.getCode())));
+
+        List<Course> sorted = new ArrayList<>(valid.size());
+        String previous = null;
+        for (Course course : valid) {
+            String key = normalize(course.getCode());
+            if (!key.equals(previous)) {
+                sorted.add(course);
+                previous = key;
+            }
+        }
+
+        // Step 2: Place the sorted courses in Eytzinger order
+        this.count = sorted.size();
+        this.courses = new Course[count + 1];
+        fillEytzinger(sorted, 0, 1);
+
+        // Step 3: Pack the normalized codes into the arena in slot order
+        int totalChars = 0;
+        for (int k = 1; k <= count; k++) {
+            totalChars += normalize(courses[k].getCode()).length();
+        }
+        this.arena = new char[totalChars];
+        this.offsets = new int[count + 2];
+        int pos = 0;
+        for (int k = 1; k <= count; k++) {
+            String key = normalize(courses[k].getCode());
+            offsets[k] = pos;
+            key.getChars(0, key.length(), arena, pos);
+            pos += key.length();
+        }
+        offsets[count + 1] = pos;
+    }
+
+    /**
+     * In-order walk of the implicit tree, assigning sorted courses to slots.
+     * @return Next index into sorted after filling the subtree at slot k
+     */
+    private int fillEytzinger(List<Course> sorted, int i, int k) {
+        if (k <= count) {
+            i = fillEytzinger(sorted, i, 2 * k);
+            courses[k] = sorted.get(i++);
+            i = fillEytzinger(sorted, i, 2 * k + 1);
+        }
+        return i;
+    }
+
+    /**
+     * Retrieves a course by its unique code.
+     * Time Complexity: O(log n) comparisons over the packed arena; no allocation.
+     */
+    public Course search(String code) {
+        if (code == null) return null;
+
+        // Trim without creating a new String
+        int start = 0;
+        int end = code.length();
+        while (start < end && code.charAt(start) <= ' ') start++;
+        while (end > start && code.charAt(end - 1) <= ' ') end--;
+
+        int k = 1;
+        while (k <= count) {
+            int cmp = compareAt(code, start, end, k);
+            if (cmp == 0) {
+                return courses[k];
+            }
+            k = 2 * k + (cmp > 0 ? 1 : 0);
+        }
+        return null;
+    }
+
+    /**
+     * Compare the (upper-cased) query range with the code stored for slot k
+     */
+    private int compareAt(String query, int start, int end, int k) {
+        int pos = offsets[k];
+        int limit = offsets[k + 1];
+        while (start < end && pos < limit) {
+            char q = Character.toUpperCase(query.charAt(start));
+            char c = arena[pos];
+            if (q != c) {
+                return q - c;
+            }
+            start++;
+            pos++;
+        }
+        return (end - start) - (limit - pos);
+    }
+
+    /**
+     * @return All courses sorted by code
+     */
+    public List<Course> inOrderTraversal() {
+        List<Course> result = new ArrayList<>(count);
+        inOrderRec(1, result);
+        return result;
+    }
+
+    private void inOrderRec(int k, List<Course> result) {
+        if (k <= count) {
+            inOrderRec(2 * k, result);
+            result.add(courses[k]);
+            inOrderRec(2 * k + 1, result);
+        }
+    }
+
+    public int getCourseCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Same normalization as CourseBST.search()
+     */
+    private static String normalize(String code) {
+        return code.toUpperCase().trim();
+    }
+
+}
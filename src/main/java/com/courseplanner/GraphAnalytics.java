@@ -0,0 +1,195 @@
+package com.courseplanner;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * GraphAnalytics: Whole-graph statistics computed as fork/join jobs over a frozen
+ * CompactPrerequisiteGraph snapshot.
+ * The ID range is split into chunks that run in parallel on the given pool; every
+ * result is an int array indexed by course ID, written by exactly one task, so no
+ * locking is needed. The snapshot is immutable, so the jobs share it freely.
+ * Direct degree counts and histograms are computed up front; transitive dependent
+ * counts, one search per course, are computed on first request.
+ * Only graph members are counted: IDs the interner assigned to catalog courses with
+ * no edges are left out of every result.
+ */
+public class GraphAnalytics {
+
+    private static final int MIN_CHUNK = 1024;  // Below this many IDs a task runs serially
+
+    private final CompactPrerequisiteGraph graph;
+    private final ForkJoinPool pool;
+    private final int nodeCount;
+
+    private final int[] prerequisiteCounts;     // Direct prerequisites per course ID
+    private final int[] dependentCounts;        // Direct dependents per course ID
+    private final int[] prerequisiteHistogram;  // [d] = number of courses with d prerequisites
+    private final int[] dependentHistogram;     // [d] = number of courses with d dependents
+    private int[] transitiveDependentCounts;    // Computed on first use
+
+    /**
+     * Analyze a snapshot on the common fork/join pool
+     * @param graph Frozen prerequisite graph
+     */
+    public GraphAnalytics(CompactPrerequisiteGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Analyze a snapshot on a specific pool (e.g. new ForkJoinPool(4) to cap the threads used)
+     * Time Complexity: O(V) work, split across the pool's threads.
+     * @param graph Frozen prerequisite graph
+     * @param pool Pool that runs the jobs
+     */
+    public GraphAnalytics(CompactPrerequisiteGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+        this.nodeCount = graph.getNodeCount();
+        this.prerequisiteCounts = new int[nodeCount];
+        this.dependentCounts = new int[nodeCount];
+
+        pool.invoke(new RangeTask(0, nodeCount, MIN_CHUNK, (from, to) -> {
+            for (int id = from; id < to; id++) {
+                if (graph.isMember(id)) {
+                    prerequisiteCounts[id] = graph.prerequisiteCount(id);
+                    dependentCounts[id] = graph.dependentCount(id);
+                }
+            }
+        }));
+
+        this.prerequisiteHistogram = histogram(prerequisiteCounts);
+        this.dependentHistogram = histogram(dependentCounts);
+    }
+
+    public int getPrerequisiteCount(int id) {
+        return (id >= 0 && id < nodeCount) ? prerequisiteCounts[id] : 0;
+    }
+
+    public int getDependentCount(int id) {
+        return (id >= 0 && id < nodeCount) ? dependentCounts[id] : 0;
+    }
+
+    /**
+     * @return Copy of the prerequisite-count histogram: [d] = courses with exactly d prerequisites
+     */
+    public int[] getPrerequisiteHistogram() {
+        return prerequisiteHistogram.clone();
+    }
+
+    /**
+     * @return Copy of the dependent-count histogram: [d] = courses with exactly d dependents
+     */
+    public int[] getDependentHistogram() {
+        return dependentHistogram.clone();
+    }
+
+    /**
+     * @param id Course ID
+     * @return Number of courses that need this one, directly or indirectly
+     */
+    public int getTransitiveDependentCount(int id) {
+        int[] counts = getTransitiveDependentCounts();
+        return (id >= 0 && id < nodeCount) ? counts[id] : 0;
+    }
+
+    /**
+     * Count every course's direct and indirect dependents.
+     * Each task walks the dependent edges from its courses with its own
+     * stamp array, so searches never share mutable state.
+     * Time Complexity: O(V * (V + E)) worst case, split across the pool's threads.
+     * @return Counts indexed by course ID (shared; do not modify)
+     */
+    public synchronized int[] getTransitiveDependentCounts() {
+        if (transitiveDependentCounts == null) {
+            int[] counts = new int[nodeCount];
+            // Few, large chunks: each chunk pays for its own O(V) scratch arrays
+            int chunk = Math.max(MIN_CHUNK, nodeCount / (pool.getParallelism() * 4));
+            pool.invoke(new RangeTask(0, nodeCount, chunk, (from, to) -> {
+                int[] stamp = new int[nodeCount];
+                int[] stack = new int[nodeCount];
+                for (int start = from; start < to; start++) {
+                    if (graph.isMember(start)) {
+                        counts[start] = countReachable(start, start + 1, stamp, stack);
+                    }
+                }
+            }));
+            transitiveDependentCounts = counts;
+        }
+        return transitiveDependentCounts;
+    }
+
+    /**
+     * Iterative search over dependent edges; stamp[v] == mark means v was visited
+     */
+    private int countReachable(int start, int mark, int[] stamp, int[] stack) {
+        int count = 0;
+        int top = 0;
+        stack[top++] = start;
+        stamp[start] = mark;
+        while (top > 0) {
+            int id = stack[--top];
+            for (int i = 0; i < graph.dependentCount(id); i++) {
+                int dependent = graph.dependentAt(id, i);
+                if (stamp[dependent] != mark) {
+                    stamp[dependent] = mark;
+                    stack[top++] = dependent;
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private int[] histogram(int[] degrees) {
+        int max = 0;
+        for (int d : degrees) {
+            max = Math.max(max, d);
+        }
+        int[] histogram = new int[max + 1];
+        for (int id = 0; id < degrees.length; id++) {
+            if (graph.isMember(id)) {
+                histogram[degrees[id]]++;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Work done on one chunk of course IDs, [from, to)
+     */
+    private interface RangeBody {
+        void run(int from, int to);
+    }
+
+    /**
+     * Splits [from, to) in halves until a chunk is small enough, then runs it
+     */
+    private static class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final transient RangeBody body;
+
+        RangeTask(int from, int to, int chunk, RangeBody body) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                body.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, chunk, body), new RangeTask(mid, to, chunk, body));
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package com.courseplanner;
+
+import java.util.*;
+
+
+/**
+ * OptimalPlanner: Finds a plan with the fewest semesters, then evens out the credit load.
+ * The search is a branch-and-bound over semesters, run as iterative deepening on the
+ * semester count:
+ *   - lower bounds: the longest remaining prerequisite chain (critical-path height),
+ *     remaining credits / credit cap, and remaining courses / course cap;
+ *   - a course whose chain of dependents needs every remaining semester must be
+ *     taken now, and one that is not yet available by then fails the branch;
+ *   - only maximal semesters are tried (taking more courses earlier never hurts),
+ *     and interchangeable courses (no dependents, same credits, same terms) are
+ *     taken in a fixed order;
+ *   - states that failed are memoized on the remaining-course bitset and term.
+ * The greedy SemesterScheduler plan seeds the search and is returned if the time
+ * budget runs out before a shorter plan is found.
+ * Requirements written as OR expressions are treated as needing every course they
+ * mention when computing bounds, so for them the result is the best plan found
+ * rather than a proven optimum. The search only counts co-requisites completed in an
+ * earlier semester; courses with co-requisite links keep their semester when balancing.
+ * Like SemesterScheduler, an instance is immutable and can be shared between threads.
+ */
+public class OptimalPlanner {
+
+    public static final long DEFAULT_BUDGET_MILLIS = 100;
+
+    private final PrerequisiteGraph graph;
+    private final CompactPrerequisiteGraph compact;
+    private final SemesterScheduler greedy;
+
+    /**
+     * @param graph Prerequisite graph to plan against
+     */
+    public OptimalPlanner(PrerequisiteGraph graph) {
+        this.graph = graph;
+        this.compact = graph.freeze();
+        this.greedy = new SemesterScheduler(graph);
+    }
+
+    /**
+     * Build a minimum-semester plan within a policy's limits.
+     * A plan that needs more than policy.getMaxSemesters() semesters is returned whole,
+     * for checkPlanWarnings to report, rather than cut short.
+     * Time Complexity: exponential in the worst case; bounded by budgetMillis.
+     * @param courseIds Courses to schedule
+     * @param creditsById Credits per course ID
+     * @param done IDs of courses already completed
+     * @param gradeById Grade per course ID (NaN if unknown); null ignores minimum grades
+     * @param policy Credit, semester, course-count and term limits
+     * @param budgetMillis Time budget for the search
+     * @return Course IDs per semester
+     */
+    public List<int[]> plan(int[] courseIds, int[] creditsById, BitSet done, double[] gradeById,
+                            PlanPolicy policy, long budgetMillis) {
+        // The greedy plan is the first incumbent and also tells which courses can be scheduled at all
+        List<int[]> seed = greedy.schedule(courseIds, creditsById, done, gradeById,
+                policy.withMaxSemesters(PlanPolicy.UNLIMITED));
+        if (seed.isEmpty()) {
+            return seed;
+        }
+
+        double[] grades = SemesterScheduler.planningGrades(gradeById, done, compact.getNodeCount());
+        Search search = new Search(seed, creditsById, done, grades, policy,
+                System.nanoTime() + budgetMillis * 1_000_000L);
+        return search.run();
+    }
+
+    /**
+     * State of one planning run. Courses are renumbered 0 .. m-1 in seed order,
+     * which is a topological order, and handled as bitsets over those local indexes.
+     */
+    private class Search {
+        private final int m;
+        private final int[] ids;            // local -> course ID
+        private final int[] credits;
+        private final int[] termMask;
+        private final int[] height;         // Longest chain of remaining dependents
+        private final int[][] localPrereqs;
+        private final int[][] localDependents;
+        private final int[] symmetryClass;  // -1, or class of interchangeable leaf courses
+        private final double[] grades;      // Planning grades (see SemesterScheduler.planningGrades)
+        private final PlanPolicy policy;
+        private final long deadline;
+        private final List<int[]> seed;
+
+        private final BitSet satisfied;     // done + scheduled so far, by course ID
+        private final long[] remaining;     // local bitset of unscheduled courses
+        private int remainingCount;
+        private int remainingCredits;
+        private final Deque<int[]> semesters = new ArrayDeque<>();
+        private final Map<StateKey, Integer> failed = new HashMap<>();  // state -> most semesters known to fail
+        private final int classCount;
+        private List<int[]> found;
+        private boolean timedOut;
+
+        Search(List<int[]> seed, int[] creditsById, BitSet done, double[] grades, PlanPolicy policy, long deadline) {
+            this.seed = seed;
+            this.grades = grades;
+            this.policy = policy;
+            this.deadline = deadline;
+
+            int count = 0;
+            for (int[] semester : seed) count += semester.length;
+            this.m = count;
+            this.ids = new int[m];
+            int k = 0;
+            for (int[] semester : seed) {
+                for (int id : semester) ids[k++] = id;
+            }
+
+            int[] localOf = new int[Math.max(compact.getNodeCount(), maxId(ids) + 1)];
+            Arrays.fill(localOf, -1);
+            for (int i = 0; i < m; i++) localOf[ids[i]] = i;
+
+            this.credits = new int[m];
+            this.termMask = new int[m];
+            this.localPrereqs = new int[m][];
+            this.localDependents = new int[m][];
+            for (int i = 0; i < m; i++) {
+                credits[i] = creditsById[ids[i]];
+                termMask[i] = policy.getTermMask(compact.getInterner().codeOf(ids[i]));
+                localPrereqs[i] = toLocal(compact.getPrerequisites(ids[i]), localOf);
+                localDependents[i] = toLocal(compact.getDependentCourses(ids[i]), localOf);
+            }
+
+            // Heights over the remaining courses, in reverse topological order
+            this.height = new int[m];
+            for (int i = m - 1; i >= 0; i--) {
+                for (int d : localDependents[i]) {
+                    height[i] = Math.max(height[i], height[d] + 1);
+                }
+            }
+
+            // Leaf courses with equal credits and terms are interchangeable
+            this.symmetryClass = new int[m];
+            Map<Long, Integer> classes = new HashMap<>();
+            for (int i = 0; i < m; i++) {
+                if (localDependents[i].length == 0) {
+                    long key = ((long) credits[i] << 32) | (termMask[i] & 0xffffffffL);
+                    symmetryClass[i] = classes.computeIfAbsent(key, x -> classes.size());
+                } else {
+                    symmetryClass[i] = -1;
+                }
+            }
+            this.classCount = classes.size();
+
+            this.satisfied = (BitSet) done.clone();
+            this.remaining = new long[(m >>> 6) + 1];
+            for (int i = 0; i < m; i++) remaining[i >>> 6] |= 1L << i;
+            this.remainingCount = m;
+            for (int c : credits) remainingCredits += c;
+        }
+
+        List<int[]> run() {
+            // Iterative deepening: the first semester count that works is the minimum
+            for (int target = lowerBound(); target < seed.size() && !timedOut; target++) {
+                if (search(0, target)) {
+                    return balance(found);
+                }
+            }
+            return balance(seed);
+        }
+
+        private int lowerBound() {
+            int maxHeight = -1;
+            for (int i = 0; i < m; i++) {
+                if (isRemaining(i)) maxHeight = Math.max(maxHeight, height[i]);
+            }
+            int byCredits = (remainingCredits + policy.getMaxCredits() - 1) / policy.getMaxCredits();
+            int byCount = (policy.getMaxCoursesPerTerm() == PlanPolicy.UNLIMITED) ? 0
+                    : (remainingCount + policy.getMaxCoursesPerTerm() - 1) / policy.getMaxCoursesPerTerm();
+            return Math.max(maxHeight + 1, Math.max(byCredits, byCount));
+        }
+
+        /**
+         * Can the remaining courses be finished in at most semestersLeft semesters,
+         * starting at semester index semester?
+         */
+        private boolean search(int semester, int semestersLeft) {
+            if (remainingCount == 0) {
+                found = new ArrayList<>(semesters);
+                Collections.reverse(found);   // The deque holds the latest semester first
+                return true;
+            }
+            if (System.nanoTime() > deadline) {
+                timedOut = true;
+                return false;
+            }
+            if (lowerBound() > semestersLeft) {
+                return false;
+            }
+            StateKey key = new StateKey(remaining, policy.termOf(semester));
+            Integer failedLeft = failed.get(key);
+            if (failedLeft != null && failedLeft >= semestersLeft) {
+                return false;
+            }
+
+            // Candidates: available and offered this term, highest chains first
+            int termBit = 1 << policy.termOf(semester);
+            List<Integer> candidates = new ArrayList<>();
+            for (int i = 0; i < m; i++) {
+                if (!isRemaining(i)) continue;
+                boolean available = graph.isRequirementMet(ids[i], satisfied, grades, null) && (termMask[i] & termBit) != 0;
+                if (available) {
+                    candidates.add(i);
+                } else if (height[i] + 1 >= semestersLeft) {
+                    failed.merge(key, semestersLeft, Math::max);
+                    return false;   // It would have to be taken now
+                }
+            }
+            candidates.sort((a, b) -> Integer.compare(height[b], height[a]));
+            int[] cand = new int[candidates.size()];
+            for (int i = 0; i < cand.length; i++) cand[i] = candidates.get(i);
+
+            boolean ok = chooseSemester(cand, 0, new boolean[cand.length], new boolean[classCount],
+                    0, 0, semester, semestersLeft);
+            if (!ok && !timedOut) {
+                failed.merge(key, semestersLeft, Math::max);
+            }
+            return ok;
+        }
+
+        /**
+         * Enumerate maximal semesters from the candidates, then recurse on each
+         */
+        private boolean chooseSemester(int[] cand, int pos, boolean[] taken, boolean[] closedClass,
+                                       int usedCredits, int usedCount, int semester, int semestersLeft) {
+            if (timedOut) return false;
+            if (pos == cand.length) {
+                return isMaximal(cand, taken, usedCredits, usedCount)
+                        && takeSemester(cand, taken, usedCount, semester, semestersLeft);
+            }
+
+            int c = cand[pos];
+            boolean forced = height[c] + 1 >= semestersLeft;
+            int cls = symmetryClass[c];
+
+            if (usedCredits + credits[c] <= policy.getMaxCredits() && usedCount < policy.getMaxCoursesPerTerm()
+                    && (cls < 0 || !closedClass[cls])) {
+                taken[pos] = true;
+                if (chooseSemester(cand, pos + 1, taken, closedClass, usedCredits + credits[c], usedCount + 1,
+                        semester, semestersLeft)) {
+                    return true;
+                }
+                taken[pos] = false;
+            }
+            if (forced) {
+                return false;
+            }
+
+            // Skipping one course of a symmetry class skips the rest of it too
+            boolean wasClosed = cls >= 0 && closedClass[cls];
+            if (cls >= 0) closedClass[cls] = true;
+            boolean ok = chooseSemester(cand, pos + 1, taken, closedClass, usedCredits, usedCount, semester, semestersLeft);
+            if (cls >= 0) closedClass[cls] = wasClosed;
+            return ok;
+        }
+
+        private boolean isMaximal(int[] cand, boolean[] taken, int usedCredits, int usedCount) {
+            if (usedCount >= policy.getMaxCoursesPerTerm()) return true;
+            for (int i = 0; i < cand.length; i++) {
+                if (!taken[i] && usedCredits + credits[cand[i]] <= policy.getMaxCredits()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean takeSemester(int[] cand, boolean[] taken, int size, int semester, int semestersLeft) {
+            if (size == 0 && semestersLeft <= 1) return false;
+
+            int[] chosen = new int[size];
+            int n = 0;
+            for (int i = 0; i < cand.length; i++) {
+                if (taken[i]) chosen[n++] = cand[i];
+            }
+            int[] chosenIds = new int[size];
+            for (int i = 0; i < size; i++) {
+                int c = chosen[i];
+                chosenIds[i] = ids[c];
+                remaining[c >>> 6] &= ~(1L << c);
+                remainingCredits -= credits[c];
+                satisfied.set(ids[c]);
+            }
+            remainingCount -= size;
+            semesters.push(chosenIds);
+
+            boolean ok = search(semester + 1, semestersLeft - 1);
+
+            semesters.pop();
+            remainingCount += size;
+            for (int c : chosen) {
+                remaining[c >>> 6] |= 1L << c;
+                remainingCredits += credits[c];
+                satisfied.clear(ids[c]);
+            }
+            return ok;
+        }
+
+        /**
+         * Even out credits without changing the semester count: move single courses
+         * to another semester between their prerequisites and dependents while that
+         * lowers the sum of squared semester credits
+         */
+        private List<int[]> balance(List<int[]> plan) {
+            int s = plan.size();
+            int[] where = new int[m];
+            int[] load = new int[s];
+            int[] size = new int[s];
+            int[] localOf = new int[Math.max(compact.getNodeCount(), maxId(ids) + 1)];
+            for (int i = 0; i < m; i++) localOf[ids[i]] = i;
+            for (int k = 0; k < s; k++) {
+                for (int id : plan.get(k)) {
+                    int c = localOf[id];
+                    where[c] = k;
+                    load[k] += credits[c];
+                    size[k]++;
+                }
+            }
+
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                for (int c = 0; c < m; c++) {
+                    if (graph.hasCorequisiteLinks(ids[c])) {
+                        continue;   // Moving it could split it from a co-requisite
+                    }
+                    int lo = 0;
+                    int hi = s - 1;
+                    for (int p : localPrereqs[c]) lo = Math.max(lo, where[p] + 1);
+                    for (int d : localDependents[c]) hi = Math.min(hi, where[d] - 1);
+                    int from = where[c];
+                    for (int to = lo; to <= hi; to++) {
+                        if (to == from || (termMask[c] & (1 << policy.termOf(to))) == 0) continue;
+                        if (load[to] + credits[c] > policy.getMaxCredits() || size[to] >= policy.getMaxCoursesPerTerm()) continue;
+                        // (a + x)^2 + (b - x)^2 < a^2 + b^2  <=>  a + x < b
+                        if (load[to] + credits[c] < load[from]) {
+                            load[from] -= credits[c];
+                            size[from]--;
+                            load[to] += credits[c];
+                            size[to]++;
+                            where[c] = to;
+                            from = to;
+                            improved = true;
+                        }
+                    }
+                }
+            }
+
+            List<List<Integer>> bySemester = new ArrayList<>();
+            for (int k = 0; k < s; k++) bySemester.add(new ArrayList<>());
+            for (int c = 0; c < m; c++) bySemester.get(where[c]).add(ids[c]);
+            List<int[]> balanced = new ArrayList<>();
+            for (List<Integer> semester : bySemester) {
+                balanced.add(semester.stream().mapToInt(Integer::intValue).toArray());
+            }
+            return balanced;
+        }
+
+        private boolean isRemaining(int c) {
+            return (remaining[c >>> 6] & (1L << c)) != 0;
+        }
+
+        private int[] toLocal(int[] courseIds, int[] localOf) {
+            int[] local = new int[courseIds.length];
+            int n = 0;
+            for (int id : courseIds) {
+                if (id < localOf.length && localOf[id] >= 0) local[n++] = localOf[id];
+            }
+            return Arrays.copyOf(local, n);
+        }
+    }
+
+    /**
+     * Memo key: which courses remain, and which term the next semester falls in
+     */
+    private static class StateKey {
+        private final long[] remaining;
+        private final int term;
+        private final int hash;
+
+        StateKey(long[] remaining, int term) {
+            this.remaining = remaining.clone();
+            this.term = term;
+            this.hash = 31 * Arrays.hashCode(remaining) + term;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof StateKey)) return false;
+            StateKey other = (StateKey) o;
+            return term == other.term && Arrays.equals(remaining, other.remaining);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static int maxId(int[] ids) {
+        int max = -1;
+        for (int id : ids) {
+            max = Math.max(max, id);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,233 @@
+package com.courseplanner;
+
+import java.util.*;
+
+
+/**
+ * PlanCache: Bounded LRU cache of generated semester plans.
+ * Students with the same completed courses and grades under the same policy get the
+ * same plan, so plans are cached under (catalog version, graph version, completed set,
+ * grades of the completed courses, policy). Grades are part of the key because a
+ * minimum-grade condition can keep a course out of the plan.
+ * The completed set and grades are keyed by a 64-bit fingerprint, with the values
+ * themselves compared on a fingerprint match so a collision can never return a
+ * wrong plan.
+ * Invalidation is automatic: the first lookup that carries a newer catalog or graph
+ * version drops every entry built from the older ones, and lookups still carrying
+ * an older version (a request that raced a change) are misses and are not stored.
+ * Plans are stored as course-ID arrays and must not be modified by callers.
+ * All methods are synchronized, so one cache can sit behind concurrent requests.
+ */
+public class PlanCache {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int capacity;
+    private final LinkedHashMap<Key, List<int[]>> plans;// Access order: eldest = least recently used
+    private long catalogVersion = -1;
+    private long graphVersion = -1;
+
+    // Metrics for sizing the cache
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * @param capacity Maximum number of plans kept; 0 turns caching off
+     */
+    public PlanCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+        this.plans = new LinkedHashMap<Key, List<int[]>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<int[]>> eldest) {
+                if (size() > PlanCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Build the key for one plan request
+     * Time Complexity: O(words of the completed set + completed courses).
+     * @param catalogVersion CourseBST.getVersion() when the request started
+     * @param graphVersion PrerequisiteGraph.getVersion() when the request started
+     * @param completed Completed course IDs
+     * @param gradeById Grade per course ID (NaN if unknown), or null if grades are ignored
+     * @param policy Plan limits (compared with equals)
+     */
+    static Key keyFor(long catalogVersion, long graphVersion, BitSet completed, double[] gradeById,
+                      PlanPolicy policy) {
+        long[] gradeBits = null;
+        if (gradeById != null) {
+            gradeBits = new long[completed.cardinality()];
+            int n = 0;
+            for (int id = completed.nextSetBit(0); id >= 0; id = completed.nextSetBit(id + 1)) {
+                double grade = (id < gradeById.length) ? gradeById[id] : Double.NaN;
+                gradeBits[n++] = Double.doubleToLongBits(grade);
+            }
+        }
+        return new Key(catalogVersion, graphVersion, completed.toLongArray(), gradeBits, policy);
+    }
+
+    /**
+     * @return The cached plan, or null on a miss
+     */
+    synchronized List<int[]> get(Key key) {
+        List<int[]> plan = isCurrent(key) ? plans.get(key) : null;
+        if (plan != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return plan;
+    }
+
+    synchronized void put(Key key, List<int[]> plan) {
+        if (capacity > 0 && isCurrent(key)) {
+            plans.put(key, Collections.unmodifiableList(plan));
+        }
+    }
+
+    /**
+     * Adopt newer versions (dropping every older plan); reject older ones
+     */
+    private boolean isCurrent(Key key) {
+        if (key.catalogVersion < catalogVersion || key.graphVersion < graphVersion) {
+            return false;
+        }
+        if (key.catalogVersion != catalogVersion || key.graphVersion != graphVersion) {
+            if (!plans.isEmpty()) {
+                plans.clear();
+                invalidations++;
+            }
+            catalogVersion = key.catalogVersion;
+            graphVersion = key.graphVersion;
+        }
+        return true;
+    }
+
+    /**
+     * Drop every cached plan (metrics are kept)
+     */
+    public synchronized void clear() {
+        plans.clear();
+    }
+
+    public synchronized void resetMetrics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        invalidations = 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int getSize() {
+        return plans.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return Plans dropped to stay within capacity
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return Times the cache was emptied by a catalog or graph change
+     */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * @return Fraction of lookups answered from the cache, 0 if there were none
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return (lookups > 0) ? (double) hits / lookups : 0.0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d/%d plans, %.1f%% hits (%d of %d), %d evictions, %d invalidations",
+                plans.size(), capacity, getHitRate() * 100, hits, hits + misses, evictions, invalidations);
+    }
+
+    /**
+     * Key: Versions, completed set, grades and policy of one plan request
+     */
+    static final class Key {
+        private final long catalogVersion;
+        private final long graphVersion;
+        private final long[] completedWords;
+        private final long[] gradeBits;     // Grade bits of each completed course in ID order; null = ignored
+        private final long fingerprint;
+        private final PlanPolicy policy;
+
+        private Key(long catalogVersion, long graphVersion, long[] completedWords, long[] gradeBits,
+                    PlanPolicy policy) {
+            this.catalogVersion = catalogVersion;
+            this.graphVersion = graphVersion;
+            this.completedWords = completedWords;
+            this.gradeBits = gradeBits;
+            this.fingerprint = fingerprint(completedWords, gradeBits);
+            this.policy = policy;
+        }
+
+        /**
+         * 64-bit hash of the words: multiply-add per word, then the MurmurHash3 finalizer
+         */
+        private static long fingerprint(long[] words, long[] gradeBits) {
+            long h = words.length;
+            for (long word : words) {
+                h = h * 0x9E3779B97F4A7C15L + word;
+            }
+            if (gradeBits != null) {
+                for (long bits : gradeBits) {
+                    h = h * 0x9E3779B97F4A7C15L + bits;
+                }
+            }
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            return h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return fingerprint == other.fingerprint
+                    && catalogVersion == other.catalogVersion && graphVersion == other.graphVersion
+                    && policy.equals(other.policy)
+                    && Arrays.equals(completedWords, other.completedWords)
+                    && Arrays.equals(gradeBits, other.gradeBits);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fingerprint) * 31 + policy.hashCode();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.courseplanner;
+
+import java.util.*;
+
+
+/**
+ * PlanDelta: One change to a student's situation that an existing plan must absorb
+ * (see PlanGenerator.repairPlan()).
+ * COMPLETED: a course has been passed. FAILED / DROPPED: a course planned (or already
+ * counted as completed) was failed or withdrawn from and must be taken again in a
+ * later semester. EDGE_ADDED: a course gained a new prerequisite.
+ * Instances are immutable.
+ */
+public final class PlanDelta {
+
+    public enum Type { COMPLETED, FAILED, DROPPED, EDGE_ADDED }
+
+    private final Type type;
+    private final String courseCode;
+    private final String prerequisiteCode;   // EDGE_ADDED only, null otherwise
+
+    private PlanDelta(Type type, String courseCode, String prerequisiteCode) {
+        if (courseCode == null || (type == Type.EDGE_ADDED && prerequisiteCode == null)) {
+            throw new IllegalArgumentException("Missing course code for " + type);
+        }
+        this.type = type;
+        this.courseCode = courseCode;
+        this.prerequisiteCode = prerequisiteCode;
+    }
+
+    public static PlanDelta completed(String courseCode) {
+        return new PlanDelta(Type.COMPLETED, courseCode, null);
+    }
+
+    public static PlanDelta failed(String courseCode) {
+        return new PlanDelta(Type.FAILED, courseCode, null);
+    }
+
+    public static PlanDelta dropped(String courseCode) {
+        return new PlanDelta(Type.DROPPED, courseCode, null);
+    }
+
+    /**
+     * @param courseCode Course that gained the prerequisite
+     * @param prerequisiteCode The new prerequisite
+     */
+    public static PlanDelta edgeAdded(String courseCode, String prerequisiteCode) {
+        return new PlanDelta(Type.EDGE_ADDED, courseCode, prerequisiteCode);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    /**
+     * @return The new prerequisite for EDGE_ADDED, null for the other types
+     */
+    public String getPrerequisiteCode() {
+        return prerequisiteCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PlanDelta)) return false;
+        PlanDelta other = (PlanDelta) o;
+        return type == other.type && courseCode.equals(other.courseCode)
+                && Objects.equals(prerequisiteCode, other.prerequisiteCode);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, courseCode, prerequisiteCode);
+    }
+
+    @Override
+    public String toString() {
+        return (type == Type.EDGE_ADDED)
+                ? type + " " + prerequisiteCode + " -> " + courseCode
+                : type + " " + courseCode;
+    }
+}
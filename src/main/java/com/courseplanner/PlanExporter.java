@@ -2,13 +2,20 @@ package com.courseplanner;
 
 import java.io.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class PlanExporter {
 
-    public static void exportToTextFile(List<List<Course>> plan, String filename) throws IOException {
+    /**
+     * Exports the study plan as a readable text report.
+     * Course status comes from the student's progress, not from the shared Course objects.
+     */
+    public static void exportToTextFile(List<List<Course>> plan, StudentProgress progress, String filename) throws IOException {
         BufferedWriter writer = new BufferedWriter(new FileWriter(filename));
 
         writer.write("=".repeat(60));
@@ -39,7 +46,7 @@ public class PlanExporter {
                 writer.newLine();
                 writer.write(String.format("  Credits: %d | Status: %s",
                         course.getCredits(),
-                        course.isCompleted() ? "Completed" : "Pending"));
+                        progress.isCompleted(course.getCode()) ? "Completed" : "Pending"));
                 writer.newLine();
             }
             writer.newLine();
@@ -58,8 +65,9 @@ public class PlanExporter {
     /**
      * Exports the study plan to a CSV format.
      * Uses Try-with-Resources to ensure proper file handle disposal.
+     * Status and grade come from the student's progress (grade 0.0 when none is recorded).
      */
-    public static void exportToCSV(List<List<Course>> plan, String filename) throws IOException {
+    public static void exportToCSV(List<List<Course>> plan, StudentProgress progress, String filename) throws IOException {
         // Defensive Check: Ensure the target directory exists
         File file = new File(filename);
         File parent = file.getParentFile();
@@ -76,14 +84,15 @@ public class PlanExporter {
             for (int i = 0; i < plan.size(); i++) {
                 List<Course> semester = plan.get(i);
                 for (Course course : semester) {
+                    double grade = progress.getGrade(course.getCode());
                     // CSV Standard: Use quotes for name in case it contains a comma
                     writer.write(String.format("%d,%s,\"%s\",%d,%s,%.1f",
                             i + 1,
                             course.getCode(),
                             course.getName(),
                             course.getCredits(),
-                            course.isCompleted() ? "Completed" : "Planned",
-                            course.getGrade()
+                            progress.isCompleted(course.getCode()) ? "Completed" : "Planned",
+                            Double.isNaN(grade) ? 0.0 : grade
                     ));
                     writer.newLine();
                 }
@@ -159,7 +168,7 @@ public class PlanExporter {
 
         writer.write("# Student Progress - Course Planner");
         writer.newLine();
-        writer.write("# Generated: " + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        writer.write("# Generated: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
         writer.newLine();
         writer.newLine();
 
@@ -189,6 +198,34 @@ public class PlanExporter {
         writer.close();
     }
 
+    /**
+     * Save a student's progress in the progress file format
+     */
+    public static void saveProgress(StudentProgress progress,
+                                    List<String> interests,
+                                    String filename) throws IOException {
+        saveProgress(progress.getCompletedCourses(), progress.getGrades(), interests, filename);
+    }
+
+    /**
+     * Load a progress file into a student's progress, replacing what it held
+     */
+    public static void loadProgress(String filename,
+                                    StudentProgress progress,
+                                    List<String> interests) throws IOException {
+        List<String> completedCourses = new ArrayList<>();
+        Map<String, Double> grades = new HashMap<>();
+        loadProgress(filename, completedCourses, grades, interests);
+
+        progress.clear();
+        for (String code : completedCourses) {
+            progress.markCompleted(code);
+        }
+        for (Map.Entry<String, Double> entry : grades.entrySet()) {
+            progress.setGrade(progress.getInterner().intern(entry.getKey()), entry.getValue());
+        }
+    }
+
     public static void loadProgress(String filename,
                                     List<String> completedCourses,
                                     Map<String, Double> grades,
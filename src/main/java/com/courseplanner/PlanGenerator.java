@@ -6,45 +6,176 @@ import java.util.*;
 public class PlanGenerator {
     private CourseBST courseTree;
     private PrerequisiteGraph graph;
-    private List<String> completedCourses;
-    private static final int MAX_CREDITS_PER_SEMESTER = 18;
-    private static final int MIN_CREDITS_PER_SEMESTER = 12;
+    private StudentProgress progress;// Default student for the methods without a progress parameter
+    private CourseCodeInterner interner;
+    private EligibilityEngine eligibility;// Built on demand for progress, null when stale
+    private long eligibilityVersion;// Graph version the engine was built from
+    private long eligibilityProgressVersion;// Progress version the engine was built from
+    private SemesterScheduler scheduler;// Built on demand, null until first plan
+    private long schedulerVersion;
+    private PlanRepairer repairer;// Built on demand, null until first repair
+    private long repairerVersion;
+    private int[] credits;// Credits by course ID for the catalog version below, -1 = not in the catalog
+    private long creditsVersion;
+    private PlanCache planCache = new PlanCache(PlanCache.DEFAULT_CAPACITY);
 
-    
+    /**
+     * courseTree and graph must share one CourseCodeInterner.
+     * Every planning method has a variant taking a StudentProgress, so one generator
+     * over one catalog can serve many students; the variants without one use the
+     * generator's default progress (see setProgress()).
+     * Progress is the only source of completions and grades; Course objects hold no student state.
+     */
     public PlanGenerator(CourseBST courseTree, PrerequisiteGraph graph) {
+        if (courseTree.getInterner() != graph.getInterner()) {
+            throw new IllegalArgumentException("Catalog and prerequisite graph must share one CourseCodeInterner");
+        }
         this.courseTree = courseTree;
         this.graph = graph;
-        this.completedCourses = new ArrayList<>();
+        this.interner = graph.getInterner();
+        this.progress = new StudentProgress(interner);
     }
 
 
     public void setCompletedCourses(List<String> completedCourses) {
-        this.completedCourses = new ArrayList<>(completedCourses);
+        setProgress(new StudentProgress(interner, completedCourses, Collections.emptyMap()));
+    }
+
+    /**
+     * Use a student's progress as the default for the methods without a progress parameter.
+     * The progress is shared, not copied: later changes to it are picked up.
+     * @param progress Progress over this generator's interner
+     */
+    public void setProgress(StudentProgress progress) {
+        this.progress = progress;
+        this.eligibility = null;
+    }
+
+    public StudentProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Record one more completed course in the default progress, updating eligibility
+     * incrementally instead of rebuilding it from the whole completed set
+     * @param courseCode Completed course code
+     */
+    public void markCompleted(String courseCode) {
+        int id = interner.intern(courseCode);
+        if (progress.isCompleted(id)) return;
+
+        boolean engineCurrent = isEligibilityCurrent();
+        progress.markCompleted(id);
+        if (engineCurrent) {
+            eligibility.markCompleted(id);
+            eligibilityProgressVersion = progress.getVersion();
+        }
+    }
+
+    private boolean isEligibilityCurrent() {
+        return eligibility != null && eligibilityVersion == graph.getVersion()
+                && eligibilityProgressVersion == progress.getVersion();
+    }
+
+    /**
+     * Eligibility engine for the default progress, rebuilt if the graph or the progress changed
+     */
+    private EligibilityEngine eligibility() {
+        if (!isEligibilityCurrent()) {
+            eligibility = new EligibilityEngine(graph, progress.completedView(), progress.gradesView());
+            eligibilityVersion = graph.getVersion();
+            eligibilityProgressVersion = progress.getVersion();
+        }
+        return eligibility;
+    }
+
+    /**
+     * Get every course the default student can take now
+     * @return Eligible courses, in course-code order
+     */
+    public List<Course> getEligibleCourses() {
+        return getEligibleCourses(eligibility());
+    }
+
+    /**
+     * Get every course a student can take now: not completed and with all prerequisites done
+     * Time Complexity: O(V + E).
+     * @param progress The student's progress
+     * @return Eligible courses, in course-code order
+     */
+    public List<Course> getEligibleCourses(StudentProgress progress) {
+        if (progress == this.progress) {
+            return getEligibleCourses();
+        }
+        return getEligibleCourses(new EligibilityEngine(graph, progress.completedView(), progress.gradesView()));
+    }
+
+    private List<Course> getEligibleCourses(EligibilityEngine engine) {
+        List<Course> eligible = new ArrayList<>();
+        for (Course course : courseTree.inOrderTraversal()) {
+            if (engine.isEligible(interner.idOf(course.getCode()))) {
+                eligible.add(course);
+            }
+        }
+        return eligible;
     }
 
    
     public boolean canTakeCourse(String courseCode) {
-        Course course = courseTree.search(courseCode);
-        if (course == null || course.isCompleted()) {
+        int courseId = interner.idOf(courseCode);
+        return courseId >= 0 && canTakeCourse(courseId);
+    }
+
+    /**
+     * Int-ID fast path for eligibility: array lookups and bit tests only,
+     * no String hashing or allocation. Prerequisites are tested a 64-bit word at a
+     * time against the completed set (see EligibilityEngine); courses with a
+     * prerequisite expression are checked against its compiled clauses.
+     * @param courseId Interned course ID
+     * @return true if the course exists, is not completed and all prerequisites are done
+     */
+    public boolean canTakeCourse(int courseId) {
+        if (courseTree.search(courseId) == null || progress.isCompleted(courseId)) {
             return false;
         }
 
-        List<String> prerequisites = graph.getPrerequisites(courseCode);
-        for (String prereq : prerequisites) {
-            if (!completedCourses.contains(prereq)) {
-                return false;
-            }
+        return eligibility().isRequirementMet(courseId);
+    }
+
+    /**
+     * Can a given student take a course now?
+     * Time Complexity: O(prerequisites).
+     * @param progress The student's progress
+     * @param courseCode Course code
+     * @return true if the course exists, is not completed and all prerequisites are done
+     */
+    public boolean canTakeCourse(StudentProgress progress, String courseCode) {
+        int courseId = interner.idOf(courseCode);
+        if (courseId < 0 || courseTree.search(courseId) == null || progress.isCompleted(courseId)) {
+            return false;
         }
-        return true;
+        return graph.isRequirementMet(courseId, progress.completedView(), progress.gradesView(), null);
     }
 
  
     public List<String> getMissingPrerequisites(String courseCode) {
+        return getMissingPrerequisites(progress, courseCode);
+    }
+
+    public List<String> getMissingPrerequisites(StudentProgress progress, String courseCode) {
+        return getMissingPrerequisites(courseCode, progress.completedView());
+    }
+
+    /**
+     * Prerequisites of a course that are not in the given done set
+     */
+    private List<String> getMissingPrerequisites(String courseCode, BitSet done) {
         List<String> missing = new ArrayList<>();
         List<String> prerequisites = graph.getPrerequisites(courseCode);
 
         for (String prereq : prerequisites) {
-            if (!completedCourses.contains(prereq)) {
+            int id = interner.idOf(prereq);
+            if (id < 0 || !done.get(id)) {
                 missing.add(prereq);
             }
         }
@@ -52,178 +183,465 @@ public class PlanGenerator {
     }
 
     /**
-     * Generate semester study plan
+     * Generate semester study plan under the default policy (12-18 credits)
      * @return List of semesters, each containing list of courses
      */
     public List<List<Course>> generatePlan() {
-        List<List<Course>> plan = new ArrayList<>();
+        return generatePlan(PlanPolicy.defaults());
+    }
 
-        // Get all courses that aren't completed
-        List<Course> allCourses = courseTree.inOrderTraversal();
-        List<Course> remainingCourses = new ArrayList<>();
+    /**
+     * Generate semester study plan.
+     * Courses are released semester by semester as their prerequisites get scheduled
+     * (see SemesterScheduler); among the ready ones, courses heading the longest chains
+     * of dependents go first, since delaying them delays graduation.
+     * The policy is per call and the generator keeps no per-plan state, so one
+     * generator can serve many what-if requests with different limits.
+     * Time Complexity: O(V + E + semesters * ready courses).
+     * @param policy Credit, semester, course-count and term limits
+     * @return List of semesters, each containing list of courses
+     */
+    public List<List<Course>> generatePlan(PlanPolicy policy) {
+        return generatePlan(progress, policy);
+    }
 
-        for (Course course : allCourses) {
-            if (!course.isCompleted()) {
-                remainingCourses.add(course);
-            }
+    /**
+     * Generate a semester study plan for one student.
+     * Only reads the catalog, graph and progress, so any number of students can be
+     * planned concurrently against one catalog.
+     * Minimum grades are checked against the student's recorded grades.
+     * Plans are cached by catalog and graph version, completed set, grades and policy
+     * (see PlanCache), so repeated requests for the same student and limits are
+     * answered without rescheduling.
+     * Time Complexity: O(V + E + semesters * ready courses), O(V) on a cache hit.
+     * @param progress The student's progress
+     * @param policy Credit, semester, course-count and term limits
+     * @return List of semesters, each containing list of courses
+     */
+    public List<List<Course>> generatePlan(StudentProgress progress, PlanPolicy policy) {
+        return toCourses(planIds(progress.getCompletedIds(), progress.gradesView(), policy));
+    }
+
+    /**
+     * Plan every catalog course not in done, as course IDs per semester (cached)
+     */
+    private List<int[]> planIds(BitSet done, double[] gradeById, PlanPolicy policy) {
+        PlanCache cache = planCache;
+        PlanCache.Key key = PlanCache.keyFor(courseTree.getVersion(), graph.getVersion(), done, gradeById, policy);
+        List<int[]> semesters = cache.get(key);
+        if (semesters == null) {
+            int[] courseIds = remainingCourseIds(done);
+
+            // If no courses remaining, the plan is empty
+            semesters = (courseIds.length == 0) ? new ArrayList<>()
+                    : scheduler().schedule(courseIds, creditsById(), done, gradeById, policy);
+            cache.put(key, semesters);
         }
+        return semesters;
+    }
 
-        // If no courses remaining, return empty plan
-        if (remainingCourses.isEmpty()) {
-            return plan;
+    /**
+     * Repair the default student's plan after one change
+     * @see #repairPlan(StudentProgress, List, PlanDelta, PlanPolicy)
+     */
+    public List<List<Course>> repairPlan(List<List<Course>> plan, PlanDelta delta, PlanPolicy policy) {
+        return repairPlan(progress, plan, delta, policy);
+    }
+
+    /**
+     * Repair an existing plan after one change instead of planning from scratch.
+     * Only the changed course and the planned courses that depend on it move; every
+     * other course keeps its semester (see PlanRepairer for the rules per change).
+     * A completion never makes the plan longer. A failure, drop or new edge that would
+     * make it longer falls back to a full plan, as does a plan or delta naming a course
+     * that is not in the catalog.
+     * The delta is applied to a copy of the progress's completed set, so the progress
+     * may be updated before or after the call. For EDGE_ADDED the edge must already be
+     * in the graph.
+     * Time Complexity: O(planned courses) to index the plan plus the work on the affected
+     * courses, instead of O(V log V + E) for a full plan.
+     * @param progress The student's progress
+     * @param plan Plan made for the progress before the change
+     * @param delta The change
+     * @param policy Limits the plan was made with
+     * @return Repaired plan
+     */
+    public List<List<Course>> repairPlan(StudentProgress progress, List<List<Course>> plan,
+                                         PlanDelta delta, PlanPolicy policy) {
+        int courseId = interner.idOf(delta.getCourseCode());
+        int prereqId = (delta.getType() == PlanDelta.Type.EDGE_ADDED)
+                ? interner.idOf(delta.getPrerequisiteCode()) : -1;
+        BitSet done = progress.getCompletedIds();
+        double[] grades = progress.gradesView();
+        if (courseId >= 0 && delta.getType() == PlanDelta.Type.COMPLETED) {
+            done.set(courseId);
+        } else if (courseId >= 0 && delta.getType() != PlanDelta.Type.EDGE_ADDED) {
+            done.clear(courseId);
         }
 
-        // Sort by number of prerequisites (courses with fewer prerequisites first)
-        remainingCourses.sort((c1, c2) -> {
-            int prereqCount1 = graph.getPrerequisites(c1.getCode()).size();
-            int prereqCount2 = graph.getPrerequisites(c2.getCode()).size();
-            return Integer.compare(prereqCount1, prereqCount2);
-        });
+        // Unknown codes, or a course that is not in the catalog: plan what can be planned
+        int[] creditsById = catalogCredits();
+        if (!inCatalog(courseId, creditsById)
+                || (delta.getType() == PlanDelta.Type.EDGE_ADDED && !inCatalog(prereqId, creditsById))) {
+            return toCourses(planIds(done, grades, policy));
+        }
 
-        int semester = 1;
-        while (!remainingCourses.isEmpty()) {
-            List<Course> currentSemester = new ArrayList<>();
-            int currentCredits = 0;
-            List<Course> toRemove = new ArrayList<>();
-
-            // Try to add courses to current semester
-            for (Course course : remainingCourses) {
-                if (canTakeCourse(course.getCode())) {
-                    if (currentCredits + course.getCredits() <= MAX_CREDITS_PER_SEMESTER) {
-                        currentSemester.add(course);
-                        currentCredits += course.getCredits();
-                        toRemove.add(course);
-                    }
+        // The plan in ID form
+        List<int[]> planIds = new ArrayList<>(plan.size());
+        for (List<Course> semester : plan) {
+            int[] ids = new int[semester.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = interner.idOf(semester.get(i).getCode());
+                if (!inCatalog(ids[i], creditsById)) {
+                    return toCourses(planIds(done, grades, policy));
                 }
             }
+            planIds.add(ids);
+        }
 
-            // Remove courses we've scheduled
-            remainingCourses.removeAll(toRemove);
+        List<int[]> repaired = repairer().repair(planIds, creditsById, done, grades,
+                delta.getType(), courseId, prereqId, policy);
+        return toCourses((repaired != null) ? repaired : planIds(done, grades, policy));
+    }
 
-            // Add semester to plan if it has courses
-            if (!currentSemester.isEmpty()) {
-                plan.add(new ArrayList<>(currentSemester));
-            } else if (!remainingCourses.isEmpty()) {
-                // Can't schedule any more courses (deadlock due to prerequisites)
-                System.out.println("Warning: Cannot schedule all courses due to prerequisite constraints.");
-                break;
+    private static boolean inCatalog(int id, int[] creditsById) {
+        return id >= 0 && id < creditsById.length && creditsById[id] >= 0;
+    }
+
+    /**
+     * @return Cache behind generatePlan(), with its hit-rate metrics
+     */
+    public PlanCache getPlanCache() {
+        return planCache;
+    }
+
+    /**
+     * Replace the plan cache, e.g. with a larger one, or new PlanCache(0) to turn caching off
+     */
+    public void setPlanCache(PlanCache planCache) {
+        this.planCache = planCache;
+    }
+
+    /**
+     * Generate a fewest-semester plan within OptimalPlanner.DEFAULT_BUDGET_MILLIS
+     * @param policy Credit, semester, course-count and term limits
+     * @return List of semesters, each containing list of courses
+     */
+    public List<List<Course>> generateOptimalPlan(PlanPolicy policy) {
+        return generateOptimalPlan(progress, policy, OptimalPlanner.DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Generate a fewest-semester plan for one student within OptimalPlanner.DEFAULT_BUDGET_MILLIS
+     * @param progress The student's progress
+     * @param policy Credit, semester, course-count and term limits
+     * @return List of semesters, each containing list of courses
+     */
+    public List<List<Course>> generateOptimalPlan(StudentProgress progress, PlanPolicy policy) {
+        return generateOptimalPlan(progress, policy, OptimalPlanner.DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Generate a plan with the fewest possible semesters, then the most even
+     * credit load (see OptimalPlanner). If the search does not finish within the
+     * time budget, the best plan found so far is returned, which is never worse
+     * than generatePlan(policy).
+     * @param policy Credit, semester, course-count and term limits
+     * @param budgetMillis Time budget for the search
+     * @return List of semesters, each containing list of courses
+     */
+    public List<List<Course>> generateOptimalPlan(PlanPolicy policy, long budgetMillis) {
+        return generateOptimalPlan(progress, policy, budgetMillis);
+    }
+
+    /**
+     * Generate a fewest-semester plan for one student
+     * @param progress The student's progress
+     * @param policy Credit, semester, course-count and term limits
+     * @param budgetMillis Time budget for the search
+     * @return List of semesters, each containing list of courses
+     */
+    public List<List<Course>> generateOptimalPlan(StudentProgress progress, PlanPolicy policy, long budgetMillis) {
+        BitSet done = progress.getCompletedIds();
+        int[] courseIds = remainingCourseIds(done);
+        if (courseIds.length == 0) {
+            return new ArrayList<>();
+        }
+        return toCourses(new OptimalPlanner(graph).plan(courseIds, creditsById(), done, progress.gradesView(),
+                policy, budgetMillis));
+    }
+
+    /**
+     * IDs of catalog courses not in done, in course-code order
+     */
+    private int[] remainingCourseIds(BitSet done) {
+        List<Course> allCourses = courseTree.inOrderTraversal();
+        int[] courseIds = new int[allCourses.size()];
+        int count = 0;
+        for (Course course : allCourses) {
+            int id = interner.intern(course.getCode());
+            if (!done.get(id)) {
+                courseIds[count++] = id;
             }
+        }
+        return Arrays.copyOf(courseIds, count);
+    }
 
-            semester++;
+    private int[] creditsById() {
+        int[] creditsById = new int[interner.size()];
+        for (Course course : courseTree.inOrderTraversal()) {
+            creditsById[interner.idOf(course.getCode())] = course.getCredits();
+        }
+        return creditsById;
+    }
 
-            // Safety check to prevent infinite loop
-            if (semester > 20) {
-                System.out.println("Warning: Too many semesters generated. Check for issues.");
-                break;
+    /**
+     * Credits by course ID, -1 for IDs not in the catalog; rebuilt if the catalog changed
+     */
+    private synchronized int[] catalogCredits() {
+        if (credits == null || creditsVersion != courseTree.getVersion()) {
+            int[] byId = new int[interner.size()];
+            Arrays.fill(byId, -1);
+            for (Course course : courseTree.inOrderTraversal()) {
+                byId[interner.idOf(course.getCode())] = course.getCredits();
             }
+            credits = byId;
+            creditsVersion = courseTree.getVersion();
         }
+        return credits;
+    }
 
+    private List<List<Course>> toCourses(List<int[]> semesters) {
+        List<List<Course>> plan = new ArrayList<>();
+        for (int[] semester : semesters) {
+            List<Course> courses = new ArrayList<>();
+            for (int id : semester) {
+                courses.add(courseTree.search(id));
+            }
+            plan.add(courses);
+        }
         return plan;
     }
 
     /**
-     * Generate plan using topological sort (alternative method)
+     * Scheduler for the current graph, rebuilt if the graph changed
+     */
+    private synchronized SemesterScheduler scheduler() {
+        if (scheduler == null || schedulerVersion != graph.getVersion()) {
+            scheduler = new SemesterScheduler(graph);
+            schedulerVersion = graph.getVersion();
+        }
+        return scheduler;
+    }
+
+    /**
+     * Repairer for the current graph, rebuilt if the graph changed
+     */
+    private synchronized PlanRepairer repairer() {
+        if (repairer == null || repairerVersion != graph.getVersion()) {
+            repairer = new PlanRepairer(graph);
+            repairerVersion = graph.getVersion();
+        }
+        return repairer;
+    }
+
+    /**
+     * Lower bound on the semesters still needed: the longest chain of
+     * not-yet-completed courses in the prerequisite graph.
+     * Time Complexity: O(V + E).
+     * @return Minimum number of semesters, 0 if nothing is left, -1 if the graph has a cycle
+     */
+    public int getMinimumSemesters() {
+        return getMinimumSemesters(progress);
+    }
+
+    public int getMinimumSemesters(StudentProgress progress) {
+        BitSet done = progress.completedView();
+        boolean anyRemaining = false;
+        for (Course course : courseTree.inOrderTraversal()) {
+            if (!done.get(interner.intern(course.getCode()))) {
+                anyRemaining = true;
+            }
+        }
+
+        CompactPrerequisiteGraph compact = graph.freeze();
+        List<int[]> layers = compact.topologicalLayers(done);
+        if (layers.isEmpty() && compact.hasCycle()) {
+            return -1;
+        }
+        return Math.max(layers.size(), anyRemaining ? 1 : 0);
+    }
+
+    /**
+     * Generate plan using topological sort (alternative method).
+     * Uses the layered topological sort: every course's prerequisites lie in earlier
+     * layers, so each layer can be packed into semesters without re-checking them.
+     * A new layer always starts a new semester.
      * @return Semester plan
      */
     public List<List<Course>> generatePlanTopological() {
+        return generatePlanTopological(progress, PlanPolicy.defaults());
+    }
+
+    public List<List<Course>> generatePlanTopological(StudentProgress progress) {
+        return generatePlanTopological(progress, PlanPolicy.defaults());
+    }
+
+    public List<List<Course>> generatePlanTopological(PlanPolicy policy) {
+        return generatePlanTopological(progress, policy);
+    }
+
+    /**
+     * Layered plan for one student under a policy's credit and course-count limits.
+     * Term offerings, the semester limit and co-requisites are not considered;
+     * generatePlan(progress, policy) applies all of them.
+     * @param progress The student's progress
+     * @param policy Credit and course-count limits per semester
+     * @return Semester plan
+     */
+    public List<List<Course>> generatePlanTopological(StudentProgress progress, PlanPolicy policy) {
         List<List<Course>> plan = new ArrayList<>();
 
-        // Get topological order
-        List<String> courseOrder = graph.topologicalSort();
-        if (courseOrder.isEmpty()) {
+        // Completed courses count as satisfied and are left out of the layers
+        BitSet done = progress.getCompletedIds();
+        List<Course> allCourses = courseTree.inOrderTraversal();
+
+        CompactPrerequisiteGraph compact = graph.freeze();
+        List<int[]> layers = compact.topologicalLayers(done);
+        if (layers.isEmpty() && compact.hasCycle()) {
             System.out.println("Warning: Circular dependencies detected. Cannot generate plan.");
             return plan;
         }
 
-        // Filter out completed courses
-        List<String> remainingCourses = new ArrayList<>();
-        for (String courseCode : courseOrder) {
-            Course course = courseTree.search(courseCode);
-            if (course != null && !course.isCompleted()) {
-                remainingCourses.add(courseCode);
+        // Catalog courses without any prerequisite links can go in the first layer
+        List<Course> firstLayerExtras = new ArrayList<>();
+        for (Course course : allCourses) {
+            int id = interner.idOf(course.getCode());
+            if (!done.get(id) && !compact.isMember(id)) {
+                firstLayerExtras.add(course);
             }
         }
 
-        // Allocate to semesters
-        List<Course> currentSemester = new ArrayList<>();
-        int currentCredits = 0;
-
-        for (String courseCode : remainingCourses) {
-            Course course = courseTree.search(courseCode);
-            if (course == null) continue;
-
-            // Check if prerequisites are satisfied (in completed courses or current semester)
-            boolean prerequisitesSatisfied = true;
-            List<String> prerequisites = graph.getPrerequisites(courseCode);
-            for (String prereq : prerequisites) {
-                if (!completedCourses.contains(prereq) &&
-                        !currentSemesterContains(currentSemester, prereq)) {
-                    prerequisitesSatisfied = false;
-                    break;
+        for (int l = 0; l < Math.max(layers.size(), firstLayerExtras.isEmpty() ? 0 : 1); l++) {
+            List<Course> layerCourses = new ArrayList<>();
+            if (l < layers.size()) {
+                for (int id : layers.get(l)) {
+                    Course course = courseTree.search(id);
+                    if (course != null) {
+                        layerCourses.add(course);
+                    }
                 }
             }
+            if (l == 0) {
+                layerCourses.addAll(firstLayerExtras);
+            }
 
-            if (prerequisitesSatisfied) {
-                if (currentCredits + course.getCredits() <= MAX_CREDITS_PER_SEMESTER) {
-                    currentSemester.add(course);
-                    currentCredits += course.getCredits();
-                } else {
-                    // Start new semester
-                    plan.add(new ArrayList<>(currentSemester));
+            // Allocate this layer to semesters
+            List<Course> currentSemester = new ArrayList<>();
+            int currentCredits = 0;
+            for (Course course : layerCourses) {
+                if (!currentSemester.isEmpty() && (currentCredits + course.getCredits() > policy.getMaxCredits()
+                        || currentSemester.size() >= policy.getMaxCoursesPerTerm())) {
+                    plan.add(currentSemester);
                     currentSemester = new ArrayList<>();
-                    currentSemester.add(course);
-                    currentCredits = course.getCredits();
+                    currentCredits = 0;
                 }
+                currentSemester.add(course);
+                currentCredits += course.getCredits();
+            }
+            if (!currentSemester.isEmpty()) {
+                plan.add(currentSemester);
             }
-        }
-
-        // Add last semester if not empty
-        if (!currentSemester.isEmpty()) {
-            plan.add(currentSemester);
         }
 
         return plan;
     }
 
     /**
-     * Check if current semester contains a course
+     * Check for warnings in generated plan under the default policy
+     * @param plan Generated study plan
+     * @return List of warning messages
      */
-    private boolean currentSemesterContains(List<Course> semester, String courseCode) {
-        for (Course course : semester) {
-            if (course.getCode().equals(courseCode)) {
-                return true;
-            }
-        }
-        return false;
+    public List<String> checkPlanWarnings(List<List<Course>> plan) {
+        return checkPlanWarnings(plan, PlanPolicy.defaults());
     }
 
     /**
-     * Check for warnings in generated plan
+     * Check a plan against a policy's limits and the prerequisites
      * @param plan Generated study plan
+     * @param policy Limits the plan should respect
      * @return List of warning messages
      */
-    public List<String> checkPlanWarnings(List<List<Course>> plan) {
+    public List<String> checkPlanWarnings(List<List<Course>> plan, PlanPolicy policy) {
+        return checkPlanWarnings(progress, plan, policy);
+    }
+
+    /**
+     * Check one student's plan against a policy's limits and the prerequisites, and
+     * list catalog courses that are neither completed nor planned (the planners leave
+     * out courses they cannot place and report nothing themselves)
+     * @param progress The student's progress
+     * @param plan Generated study plan
+     * @param policy Limits the plan should respect
+     * @return List of warning messages
+     */
+    public List<String> checkPlanWarnings(StudentProgress progress, List<List<Course>> plan, PlanPolicy policy) {
         List<String> warnings = new ArrayList<>();
 
+        if (plan.size() > policy.getMaxSemesters()) {
+            warnings.add(String.format("Plan takes %d semesters (limit %d)", plan.size(), policy.getMaxSemesters()));
+        }
+
+        // Prerequisites may be completed already or taken in an earlier semester;
+        // co-requisites may also be taken in the same semester
+        BitSet done = progress.getCompletedIds();
+        BitSet concurrent = new BitSet();
+
         for (int i = 0; i < plan.size(); i++) {
             List<Course> semester = plan.get(i);
+            concurrent.clear();
+            for (Course course : semester) {
+                concurrent.set(interner.intern(course.getCode()));
+            }
             int totalCredits = semester.stream().mapToInt(Course::getCredits).sum();
 
-            if (totalCredits > MAX_CREDITS_PER_SEMESTER) {
+            if (totalCredits > policy.getMaxCredits()) {
                 warnings.add(String.format(
                         "Semester %d: Overload (%d/%d credits)",
-                        i + 1, totalCredits, MAX_CREDITS_PER_SEMESTER
+                        i + 1, totalCredits, policy.getMaxCredits()
                 ));
-            } else if (totalCredits < MIN_CREDITS_PER_SEMESTER) {
+            } else if (totalCredits < policy.getMinCredits()) {
                 warnings.add(String.format(
                         "Semester %d: Light load (%d/%d credits recommended)",
-                        i + 1, totalCredits, MIN_CREDITS_PER_SEMESTER
+                        i + 1, totalCredits, policy.getMinCredits()
+                ));
+            }
+            if (semester.size() > policy.getMaxCoursesPerTerm()) {
+                warnings.add(String.format(
+                        "Semester %d: %d courses (limit %d)",
+                        i + 1, semester.size(), policy.getMaxCoursesPerTerm()
                 ));
             }
 
             // Check for prerequisite violations within semester
             for (Course course : semester) {
-                List<String> missing = getMissingPrerequisites(course.getCode());
+                if (!policy.isOffered(course.getCode(), policy.termOf(i))) {
+                    warnings.add(String.format(
+                            "Semester %d: %s is not offered in term %d",
+                            i + 1, course.getCode(), policy.termOf(i) + 1
+                    ));
+                }
+                int id = interner.intern(course.getCode());
+                if (graph.isRequirementMet(id, done, null, concurrent)) {
+                    continue;
+                }
+                List<String> missing = getMissingPrerequisites(course.getCode(), done);
+                for (String coreq : graph.getCorequisites(course.getCode())) {
+                    int coreqId = interner.idOf(coreq);
+                    if (!done.get(coreqId) && !concurrent.get(coreqId)) {
+                        missing.add(coreq);
+                    }
+                }
                 if (!missing.isEmpty()) {
                     warnings.add(String.format(
                             "Semester %d: %s missing prerequisites: %s",
@@ -231,6 +649,22 @@ public class PlanGenerator {
                     ));
                 }
             }
+            for (Course course : semester) {
+                done.set(interner.intern(course.getCode()));
+            }
+        }
+
+        // done now holds every completed or planned course
+        List<String> leftOut = new ArrayList<>();
+        for (Course course : courseTree.inOrderTraversal()) {
+            if (!done.get(interner.intern(course.getCode()))) {
+                leftOut.add(course.getCode());
+            }
+        }
+        if (!leftOut.isEmpty()) {
+            String shown = String.join(", ", leftOut.subList(0, Math.min(leftOut.size(), 10)));
+            warnings.add(String.format("%d courses are not in the plan: %s%s",
+                    leftOut.size(), shown, (leftOut.size() > 10) ? ", ..." : ""));
         }
 
         return warnings;
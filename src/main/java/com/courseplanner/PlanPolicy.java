@@ -0,0 +1,196 @@
+package com.courseplanner;
+
+import java.util.*;
+
+
+/**
+ * PlanPolicy: The limits a study plan must respect.
+ * Credit range per semester, a maximum number of semesters, a maximum number of
+ * courses per semester, and which terms of the year each course is offered in
+ * (semester i of a plan falls in term (startTerm + i) % termsPerYear).
+ * Instances are immutable: the with...() methods return modified copies, so one
+ * policy can be shared between threads and reused across many plans.
+ */
+public final class PlanPolicy {
+
+    public static final int DEFAULT_MIN_CREDITS = 12;
+    public static final int DEFAULT_MAX_CREDITS = 18;
+    public static final int DEFAULT_TERMS_PER_YEAR = 2;
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final PlanPolicy DEFAULTS = new PlanPolicy(DEFAULT_MIN_CREDITS, DEFAULT_MAX_CREDITS,
+            UNLIMITED, UNLIMITED, DEFAULT_TERMS_PER_YEAR, 0, Collections.emptyMap());
+
+    private final int minCredits;
+    private final int maxCredits;
+    private final int maxSemesters;
+    private final int maxCoursesPerTerm;
+    private final int termsPerYear;
+    private final int startTerm;
+    private final Map<String, Integer> offeredTerms;   // Normalized code -> bitmask of terms; absent = every term
+
+    private PlanPolicy(int minCredits, int maxCredits, int maxSemesters, int maxCoursesPerTerm,
+                       int termsPerYear, int startTerm, Map<String, Integer> offeredTerms) {
+        if (maxCredits < 1 || minCredits < 0 || minCredits > maxCredits) {
+            throw new IllegalArgumentException("Invalid credit range: " + minCredits + "-" + maxCredits);
+        }
+        if (maxSemesters < 1 || maxCoursesPerTerm < 1) {
+            throw new IllegalArgumentException("Semester and course limits must be positive");
+        }
+        if (termsPerYear < 1 || termsPerYear > 31 || startTerm < 0 || startTerm >= termsPerYear) {
+            throw new IllegalArgumentException("Invalid term setup: start " + startTerm + " of " + termsPerYear);
+        }
+        this.minCredits = minCredits;
+        this.maxCredits = maxCredits;
+        this.maxSemesters = maxSemesters;
+        this.maxCoursesPerTerm = maxCoursesPerTerm;
+        this.termsPerYear = termsPerYear;
+        this.startTerm = startTerm;
+        this.offeredTerms = offeredTerms;
+    }
+
+    /**
+     * @return 12-18 credits, no semester or course-count limit, two terms a year, every course every term
+     */
+    public static PlanPolicy defaults() {
+        return DEFAULTS;
+    }
+
+    public PlanPolicy withCreditRange(int minCredits, int maxCredits) {
+        return new PlanPolicy(minCredits, maxCredits, maxSemesters, maxCoursesPerTerm,
+                termsPerYear, startTerm, offeredTerms);
+    }
+
+    /**
+     * Change the credit cap, lowering the minimum too if it would exceed the new cap
+     */
+    public PlanPolicy withMaxCredits(int maxCredits) {
+        return withCreditRange(Math.min(minCredits, maxCredits), maxCredits);
+    }
+
+    public PlanPolicy withMaxSemesters(int maxSemesters) {
+        return new PlanPolicy(minCredits, maxCredits, maxSemesters, maxCoursesPerTerm,
+                termsPerYear, startTerm, offeredTerms);
+    }
+
+    public PlanPolicy withMaxCoursesPerTerm(int maxCoursesPerTerm) {
+        return new PlanPolicy(minCredits, maxCredits, maxSemesters, maxCoursesPerTerm,
+                termsPerYear, startTerm, offeredTerms);
+    }
+
+    /**
+     * Offered-term restrictions are clipped to the new year: terms it no longer has
+     * are dropped, and a course left with no term is never offered.
+     * @param termsPerYear Terms in a year (e.g. 2 for fall/spring, 3 with summer)
+     * @param startTerm Term of the plan's first semester, 0 .. termsPerYear - 1
+     */
+    public PlanPolicy withTerms(int termsPerYear, int startTerm) {
+        Map<String, Integer> clipped = offeredTerms;
+        if (termsPerYear >= 1 && termsPerYear < this.termsPerYear && !offeredTerms.isEmpty()) {
+            int allTerms = (1 << termsPerYear) - 1;
+            Map<String, Integer> copy = new HashMap<>();
+            for (Map.Entry<String, Integer> entry : offeredTerms.entrySet()) {
+                copy.put(entry.getKey(), entry.getValue() & allTerms);
+            }
+            clipped = Collections.unmodifiableMap(copy);
+        }
+        return new PlanPolicy(minCredits, maxCredits, maxSemesters, maxCoursesPerTerm,
+                termsPerYear, startTerm, clipped);
+    }
+
+    /**
+     * Restrict a course to some terms of the year
+     * @param courseCode Course code
+     * @param terms Terms it is offered in, each 0 .. termsPerYear - 1
+     */
+    public PlanPolicy withOfferedTerms(String courseCode, int... terms) {
+        int mask = 0;
+        for (int term : terms) {
+            if (term < 0 || term >= termsPerYear) {
+                throw new IllegalArgumentException("Term " + term + " outside 0-" + (termsPerYear - 1));
+            }
+            mask |= 1 << term;
+        }
+        Map<String, Integer> copy = new HashMap<>(offeredTerms);
+        copy.put(courseCode.toUpperCase().trim(), mask);
+        return new PlanPolicy(minCredits, maxCredits, maxSemesters, maxCoursesPerTerm,
+                termsPerYear, startTerm, Collections.unmodifiableMap(copy));
+    }
+
+    public int getMinCredits() {
+        return minCredits;
+    }
+
+    public int getMaxCredits() {
+        return maxCredits;
+    }
+
+    public int getMaxSemesters() {
+        return maxSemesters;
+    }
+
+    public int getMaxCoursesPerTerm() {
+        return maxCoursesPerTerm;
+    }
+
+    public int getTermsPerYear() {
+        return termsPerYear;
+    }
+
+    public int getStartTerm() {
+        return startTerm;
+    }
+
+    /**
+     * @param semesterIndex 0-based semester of a plan
+     * @return Term of the year that semester falls in
+     */
+    public int termOf(int semesterIndex) {
+        return (startTerm + semesterIndex) % termsPerYear;
+    }
+
+    /**
+     * @param courseCode Course code
+     * @return Bitmask of the terms the course is offered in (bit t = term t)
+     */
+    public int getTermMask(String courseCode) {
+        if (offeredTerms.isEmpty()) {
+            return (1 << termsPerYear) - 1;
+        }
+        Integer mask = offeredTerms.get(courseCode);
+        if (mask == null) {
+            mask = offeredTerms.get(courseCode.toUpperCase().trim());
+        }
+        return (mask != null) ? mask : (1 << termsPerYear) - 1;
+    }
+
+    public boolean isOffered(String courseCode, int term) {
+        return (getTermMask(courseCode) & (1 << term)) != 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PlanPolicy)) return false;
+        PlanPolicy other = (PlanPolicy) o;
+        return minCredits == other.minCredits && maxCredits == other.maxCredits
+                && maxSemesters == other.maxSemesters && maxCoursesPerTerm == other.maxCoursesPerTerm
+                && termsPerYear == other.termsPerYear && startTerm == other.startTerm
+                && offeredTerms.equals(other.offeredTerms);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minCredits, maxCredits, maxSemesters, maxCoursesPerTerm,
+                termsPerYear, startTerm, offeredTerms);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d-%d credits, %s semesters, %s courses/term, %d terms/year",
+                minCredits, maxCredits,
+                maxSemesters == UNLIMITED ? "any" : String.valueOf(maxSemesters),
+                maxCoursesPerTerm == UNLIMITED ? "any" : String.valueOf(maxCoursesPerTerm),
+                termsPerYear);
+    }
+}
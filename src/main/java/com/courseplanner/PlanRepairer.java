@@ -0,0 +1,411 @@
+package com.courseplanner;
+
+import java.util.*;
+
+
+/**
+ * PlanRepairer: Absorbs one PlanDelta into an existing plan by moving only the courses
+ * the change affects, instead of planning everything again.
+ *   - COMPLETED: the course leaves its semester and its planned dependents are pulled
+ *     into the earliest earlier semester that has room, is offered and comes after
+ *     their prerequisites; a dependent that moves lets its own dependents try the same.
+ *     Nothing moves later, so the plan never gets longer.
+ *   - FAILED / DROPPED: the course is retaken after the attempt's semester (or, if it
+ *     had counted as completed, as early as its prerequisites allow), and planned
+ *     dependents that now sit too early are pushed to the first later semester with room.
+ *   - EDGE_ADDED: nothing changes if the new prerequisite is done or planned earlier;
+ *     otherwise it is planned if needed, and the dependent and its dependents are pushed.
+ * Courses are re-checked from a queue ordered by semester, so only courses whose
+ * prerequisites actually moved are visited and every other course keeps its semester.
+ * A push that would break the semester limit or make the plan longer gives way to a
+ * full plan: once the tail has to be rescheduled, repairing first only adds time.
+ * Requirements written as OR expressions are treated as needing every planned course
+ * they mention, which keeps the repaired plan valid. Moving a course with co-requisite
+ * links could split it from a co-requisite, so such a repair also gives way to a full plan.
+ * Like SemesterScheduler, an instance reads the graph's snapshot at construction and
+ * keeps all per-repair state local, so it can be shared between threads. The semester
+ * index over course IDs is a per-thread scratch array, reset after each repair, so a
+ * repair allocates in proportion to the plan rather than to the catalog.
+ */
+public class PlanRepairer {
+
+    private final PrerequisiteGraph graph;
+    private final CompactPrerequisiteGraph compact;
+    private final CriticalPathAnalysis analysis;
+    private final ThreadLocal<int[]> scratch = new ThreadLocal<>();   // Semester + 1 per course ID, all 0 between repairs
+
+    /**
+     * @param graph Prerequisite graph, already containing an added edge
+     */
+    public PlanRepairer(PrerequisiteGraph graph) {
+        this.graph = graph;
+        this.compact = graph.freeze();
+        this.analysis = graph.getCriticalPathAnalysis();
+    }
+
+    /**
+     * Repair a plan after one change.
+     * Time Complexity: O(planned courses) to index the plan, plus O(affected courses *
+     * (their prerequisites + semesters scanned)).
+     * @param plan Course IDs per semester, made before the change
+     * @param creditsById Credits of every planned course and of the changed course(s)
+     * @param done Completed course IDs, with the delta already applied
+     * @param gradeById Grade per course ID (NaN if unknown); null ignores minimum grades
+     * @param type Kind of change
+     * @param courseId The changed course (the dependent for EDGE_ADDED)
+     * @param prereqId The new prerequisite for EDGE_ADDED, -1 otherwise
+     * @param policy Limits the plan was made with
+     * @return Repaired plan, or null if it has to be planned from scratch (a completed
+     *         course that was not planned may unblock unplanned ones, one completed below
+     *         a dependent's minimum grade blocks it, and a failure or new edge that
+     *         lengthens the plan is better served by a full plan)
+     */
+    public List<int[]> repair(List<int[]> plan, int[] creditsById, BitSet done, double[] gradeById,
+                              PlanDelta.Type type, int courseId, int prereqId, PlanPolicy policy) {
+        Repair repair = new Repair(plan, creditsById, done, policy);
+        try {
+            if (type == PlanDelta.Type.COMPLETED && blocksDependent(repair, plan, done, gradeById, courseId)) {
+                return null;
+            }
+            return repair(repair, plan, done, type, courseId, prereqId);
+        } finally {
+            repair.release();
+        }
+    }
+
+    private List<int[]> repair(Repair repair, List<int[]> plan, BitSet done, PlanDelta.Type type,
+                               int courseId, int prereqId) {
+        int at = repair.semesterOf(courseId);
+
+        switch (type) {
+            case COMPLETED:
+                if (at < 0) {
+                    return null;
+                }
+                repair.unplace(courseId);
+                repair.enqueueDependents(courseId);
+                repair.pull();
+                break;
+            case FAILED:
+            case DROPPED:
+                if (at >= 0) {
+                    repair.unplace(courseId);
+                }
+                repair.add(courseId, (at >= 0) ? at + 1 : 0);
+                repair.enqueueDependents(courseId);
+                repair.push();
+                break;
+            default:
+                int prereqAt = repair.semesterOf(prereqId);
+                if (at < 0 || done.get(prereqId) || (prereqAt >= 0 && prereqAt < at)) {
+                    return new ArrayList<>(plan);
+                }
+                if (prereqAt < 0) {
+                    repair.add(prereqId, 0);
+                }
+                repair.enqueue(courseId);
+                repair.push();
+                break;
+        }
+
+        return repair.failed ? null : repair.result();
+    }
+
+    /**
+     * Does a completion leave a planned expression dependent unsatisfiable even with
+     * every planned course done, i.e. was its grade too low?
+     */
+    private boolean blocksDependent(Repair repair, List<int[]> plan, BitSet done, double[] gradeById, int courseId) {
+        BitSet reachable = null;
+        double[] grades = null;
+        for (int i = 0; i < compact.dependentCount(courseId); i++) {
+            int dependent = compact.dependentAt(courseId, i);
+            PrerequisiteExpression expression = graph.getPrerequisiteExpression(dependent);
+            if (expression == null || repair.semesterOf(dependent) < 0) {
+                continue;
+            }
+            if (reachable == null) {
+                reachable = (BitSet) done.clone();
+                for (int[] semester : plan) {
+                    for (int id : semester) {
+                        if (id != courseId) reachable.set(id);
+                    }
+                }
+                grades = SemesterScheduler.planningGrades(gradeById, done, compact.getNodeCount());
+            }
+            if (!expression.isSatisfied(reachable, grades, null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Repair: The working state of one repair (semester of each course and
+     * per-semester load), with courses moved one at a time
+     */
+    private class Repair {
+        private final List<int[]> plan;
+        private final int[] creditsById;
+        private final BitSet done;
+        private final PlanPolicy policy;
+        private final int[] slots;          // Semester + 1 per course ID, 0 = not planned
+        private int[] semesterCredits;
+        private int[] semesterCourses;
+        private int semesterCount;
+        private int[] moved = new int[8];   // Moved or added courses, in placement order
+        private int movedCount;
+        private final PriorityQueue<Long> queue = new PriorityQueue<>();   // (semester << 32) | course ID
+        private boolean failed;             // A push broke a limit; the caller plans from scratch instead
+
+        Repair(List<int[]> plan, int[] creditsById, BitSet done, PlanPolicy policy) {
+            this.plan = plan;
+            this.creditsById = creditsById;
+            this.done = done;
+            this.policy = policy;
+            int size = Math.max(compact.getNodeCount(), creditsById.length);
+            int[] reused = scratch.get();
+            if (reused == null || reused.length < size) {
+                reused = new int[size];
+                scratch.set(reused);
+            }
+            this.slots = reused;
+            this.semesterCount = plan.size();
+            this.semesterCredits = new int[semesterCount + 1];
+            this.semesterCourses = new int[semesterCount + 1];
+            for (int s = 0; s < plan.size(); s++) {
+                for (int id : plan.get(s)) {
+                    slots[id] = s + 1;
+                    semesterCredits[s] += creditsById[id];
+                    semesterCourses[s]++;
+                }
+            }
+        }
+
+        int semesterOf(int id) {
+            return (id >= 0 && id < slots.length) ? slots[id] - 1 : -1;
+        }
+
+        /**
+         * Clear the scratch entries this repair set, leaving it all 0 for the next one
+         */
+        void release() {
+            for (int[] semester : plan) {
+                for (int id : semester) {
+                    slots[id] = 0;
+                }
+            }
+            for (int i = 0; i < movedCount; i++) {
+                slots[moved[i]] = 0;
+            }
+        }
+
+        /**
+         * Queue a planned course to be re-checked; the queue is ordered by semester,
+         * so a course is only checked after every queued prerequisite has moved
+         */
+        void enqueue(int id) {
+            int s = semesterOf(id);
+            if (s >= 0) {
+                queue.add(((long) s << 32) | id);
+            }
+        }
+
+        void enqueueDependents(int id) {
+            for (int i = 0; i < compact.dependentCount(id); i++) {
+                enqueue(compact.dependentAt(id, i));
+            }
+        }
+
+        /**
+         * Take the next queued course, skipping entries left behind by a move
+         * @return Course ID, or -1 when the queue is empty
+         */
+        private int poll() {
+            while (!queue.isEmpty()) {
+                long entry = queue.poll();
+                int id = (int) entry;
+                if (semesterOf(id) == (int) (entry >>> 32)) {
+                    return id;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * First semester a course may take given where its planned prerequisites are
+         */
+        int earliestAllowed(int id, int floor) {
+            int earliest = floor;
+            for (int i = 0; i < compact.prerequisiteCount(id); i++) {
+                int s = semesterOf(compact.prerequisiteAt(id, i));
+                if (s >= 0) {
+                    earliest = Math.max(earliest, s + 1);
+                }
+            }
+            return earliest;
+        }
+
+        /**
+         * Move queued courses earlier where there is room; a course that moves queues
+         * its dependents, which may now move too
+         */
+        void pull() {
+            for (int id = poll(); id >= 0; id = poll()) {
+                int current = semesterOf(id);
+                int target = findRoom(id, earliestAllowed(id, 0), current);
+                if (target >= 0) {
+                    unplace(id);
+                    place(id, target);
+                    enqueueDependents(id);
+                }
+            }
+        }
+
+        /**
+         * Plan a course that is not planned, no earlier than floor
+         */
+        void add(int id, int floor) {
+            if (done.get(id) || semesterOf(id) >= 0) {
+                return;
+            }
+            if (!hasPlannedPrerequisites(id) || !placeFrom(id, earliestAllowed(id, floor))) {
+                failed = true;
+            }
+        }
+
+        /**
+         * Move queued courses that now sit before one of their prerequisites to the
+         * first later semester with room; a course that moves queues its dependents
+         */
+        void push() {
+            if (!analysis.isAcyclic()) {
+                failed = true;
+            }
+            for (int id = poll(); id >= 0 && !failed; id = poll()) {
+                int required = earliestAllowed(id, 0);
+                if (semesterOf(id) >= required) {
+                    continue;
+                }
+                unplace(id);
+                if (placeFrom(id, required)) {
+                    enqueueDependents(id);
+                }
+            }
+        }
+
+        /**
+         * Is every prerequisite of a course to be added done or planned?
+         */
+        private boolean hasPlannedPrerequisites(int id) {
+            for (int i = 0; i < compact.prerequisiteCount(id); i++) {
+                int prereq = compact.prerequisiteAt(id, i);
+                if (!done.get(prereq) && semesterOf(prereq) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Place a course in the first semester from from on with room, within the plan's
+         * current length: a repair that needs a new semester gives way to a full plan
+         * as soon as it finds out, before pushing anything else
+         */
+        private boolean placeFrom(int id, int from) {
+            int target = findRoom(id, from, plan.size());
+            if (target < 0) {
+                failed = true;
+                return false;
+            }
+            place(id, target);
+            return true;
+        }
+
+        /**
+         * Earliest semester in [from, until) that is offered and has room for the course
+         * @return The semester, or -1 if there is none within the limits
+         */
+        private int findRoom(int id, int from, int until) {
+            int credits = creditsById[id];
+            int termMask = policy.getTermMask(compact.getInterner().codeOf(id));
+            if (termMask == 0) {
+                return -1;
+            }
+            for (int s = from; s < until; s++) {
+                if (s >= policy.getMaxSemesters()) {
+                    return -1;
+                }
+                if ((termMask & (1 << policy.termOf(s))) == 0) {
+                    continue;
+                }
+                int load = (s < semesterCount) ? semesterCredits[s] : 0;
+                int count = (s < semesterCount) ? semesterCourses[s] : 0;
+                boolean fits = (load + credits <= policy.getMaxCredits())
+                        || (count == 0 && credits > policy.getMaxCredits());   // Over-cap courses go alone
+                if (fits && count < policy.getMaxCoursesPerTerm()) {
+                    return s;
+                }
+            }
+            return -1;
+        }
+
+        void unplace(int id) {
+            int s = semesterOf(id);
+            semesterCredits[s] -= creditsById[id];
+            semesterCourses[s]--;
+            slots[id] = 0;
+        }
+
+        private void place(int id, int s) {
+            if (graph.hasCorequisiteLinks(id)) {
+                failed = true;
+            }
+            if (s >= semesterCredits.length) {
+                int length = Math.max(s + 1, semesterCredits.length * 2);
+                semesterCredits = Arrays.copyOf(semesterCredits, length);
+                semesterCourses = Arrays.copyOf(semesterCourses, length);
+            }
+            semesterCount = Math.max(semesterCount, s + 1);
+            slots[id] = s + 1;
+            semesterCredits[s] += creditsById[id];
+            semesterCourses[s]++;
+            if (movedCount == moved.length) moved = Arrays.copyOf(moved, movedCount * 2);
+            moved[movedCount++] = id;
+        }
+
+        /**
+         * Unmoved courses keep their order; moved ones follow in placement order
+         */
+        List<int[]> result() {
+            int[][] semesters = new int[semesterCount][];
+            int[] filled = new int[semesterCount];
+            for (int s = 0; s < semesterCount; s++) {
+                semesters[s] = new int[semesterCourses[s]];
+            }
+            BitSet written = new BitSet();
+            for (int s = 0; s < plan.size(); s++) {
+                for (int id : plan.get(s)) {
+                    if (semesterOf(id) == s && !written.get(id)) {
+                        semesters[s][filled[s]++] = id;
+                        written.set(id);
+                    }
+                }
+            }
+            for (int i = 0; i < movedCount; i++) {
+                int id = moved[i];
+                int s = semesterOf(id);
+                if (s >= 0 && !written.get(id)) {
+                    semesters[s][filled[s]++] = id;
+                    written.set(id);
+                }
+            }
+
+            int last = semesterCount;
+            while (last > 0 && semesters[last - 1].length == 0) {
+                last--;
+            }
+            return new ArrayList<>(Arrays.asList(semesters).subList(0, last));
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package com.courseplanner;
+
+import java.util.*;
+
+
+/**
+ * PrerequisiteExpression: A course's entry requirement, parsed once and compiled
+ * into conjunctive normal form over course IDs.
+ * Syntax (keywords are case-insensitive, AND binds tighter than OR):
+ *   CS201 AND (MATH201 OR MATH210)
+ *   CS101, CS102              comma means AND, so plain lists keep working
+ *   MATH201 >= 60             completed with a grade of at least 60
+ *   COREQ PHY101              completed before, or taken in the same semester
+ *   CS 101 AND MATH 110       a code may contain spaces
+ * The compiled form is a list of clauses, each satisfied by any one of its literals,
+ * stored in flat arrays. Evaluation is a loop over those arrays: O(literals), no allocation.
+ */
+public class PrerequisiteExpression {
+
+    private static final int MAX_CLAUSES = 1024;   // Guard against OR-of-AND blow-up when converting to CNF
+
+    private final String source;
+    private final int[] clauseStart;     // Literals of clause c are clauseStart[c] .. clauseStart[c + 1] - 1
+    private final int[] literalCourse;   // Course ID of each literal
+    private final double[] literalMinGrade;  // Minimum grade, NaN if none
+    private final boolean[] literalCoreq;    // true if the course may be taken concurrently
+    private final String[] referencedCodes;  // Distinct normalized course codes in order of appearance
+    private final boolean[] referencedRequired;  // true if the code appears in a literal that is not COREQ
+
+    private PrerequisiteExpression(String source, List<int[]> clauses, List<Literal> literals,
+                                   List<String> referencedCodes, Set<String> requiredCodes) {
+        this.source = source;
+        this.clauseStart = new int[clauses.size() + 1];
+        int total = 0;
+        for (int c = 0; c < clauses.size(); c++) {
+            clauseStart[c] = total;
+            total += clauses.get(c).length;
+        }
+        clauseStart[clauses.size()] = total;
+
+        this.literalCourse = new int[total];
+        this.literalMinGrade = new double[total];
+        this.literalCoreq = new boolean[total];
+        int n = 0;
+        for (int[] clause : clauses) {
+            for (int index : clause) {
+                Literal literal = literals.get(index);
+                literalCourse[n] = literal.courseId;
+                literalMinGrade[n] = literal.minGrade;
+                literalCoreq[n] = literal.coreq;
+                n++;
+            }
+        }
+        this.referencedCodes = referencedCodes.toArray(new String[0]);
+        this.referencedRequired = new boolean[this.referencedCodes.length];
+        for (int i = 0; i < this.referencedCodes.length; i++) {
+            referencedRequired[i] = requiredCodes.contains(this.referencedCodes[i]);
+        }
+    }
+
+    /**
+     * Parse and compile an expression.
+     * Time Complexity: O(length of text) plus the size of the CNF.
+     * @param text Expression text; blank means "no requirement"
+     * @param interner Interner that assigns the course IDs
+     * @return Compiled expression
+     * @throws IllegalArgumentException if the text is malformed or its CNF is too large
+     */
+    public static PrerequisiteExpression parse(String text, CourseCodeInterner interner) {
+        Parser parser = new Parser(text);
+        List<int[]> clauses = parser.parseAll();
+
+        // Intern the codes only now that the whole text is known to be valid
+        int[] idOfCode = new int[parser.referencedCodes.size()];
+        for (int i = 0; i < idOfCode.length; i++) {
+            idOfCode[i] = interner.intern(parser.referencedCodes.get(i));
+        }
+        List<Literal> literals = new ArrayList<>(parser.literals.size());
+        for (Literal literal : parser.literals) {
+            literals.add(new Literal(idOfCode[literal.courseId], literal.minGrade, literal.coreq));
+        }
+        return new PrerequisiteExpression(text.trim(), clauses, literals, parser.referencedCodes,
+                parser.requiredCodes);
+    }
+
+    /**
+     * Check the requirement against a student's record.
+     * Time Complexity: O(literals).
+     * @param completed IDs of completed courses
+     * @param gradeById Grade per course ID (NaN if unknown); null ignores minimum grades
+     * @param concurrent IDs of courses taken in the same semester, for co-requisites; may be null
+     * @return true if every clause has a satisfied literal
+     */
+    public boolean isSatisfied(BitSet completed, double[] gradeById, BitSet concurrent) {
+        for (int c = 0; c + 1 < clauseStart.length; c++) {
+            boolean clauseMet = false;
+            for (int l = clauseStart[c]; l < clauseStart[c + 1] && !clauseMet; l++) {
+                clauseMet = isLiteralSatisfied(l, completed, gradeById, concurrent);
+            }
+            if (!clauseMet) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isLiteralSatisfied(int l, BitSet completed, double[] gradeById, BitSet concurrent) {
+        int id = literalCourse[l];
+        if (completed.get(id)) {
+            double minGrade = literalMinGrade[l];
+            return Double.isNaN(minGrade) || gradeById == null
+                    || (id < gradeById.length && gradeById[id] >= minGrade);
+        }
+        return literalCoreq[l] && concurrent != null && concurrent.get(id);
+    }
+
+    /**
+     * @return true if this is a plain "all of these" list: one unconditional course per clause
+     */
+    public boolean isPlainConjunction() {
+        for (int c = 0; c + 1 < clauseStart.length; c++) {
+            int l = clauseStart[c];
+            if (clauseStart[c + 1] - l != 1 || literalCoreq[l] || !Double.isNaN(literalMinGrade[l])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Number of CNF clauses
+     */
+    public int getClauseCount() {
+        return clauseStart.length - 1;
+    }
+
+    /**
+     * @return Every course the expression mentions, in order of first appearance
+     */
+    public List<String> getReferencedCourses() {
+        return Collections.unmodifiableList(Arrays.asList(referencedCodes));
+    }
+
+    /**
+     * @return Courses named at least once without COREQ; these must be completed
+     *         before the course, so they become prerequisite edges
+     */
+    public List<String> getRequiredCourses() {
+        return referencedWhere(true);
+    }
+
+    /**
+     * @return Courses named only as COREQ; these may be taken in the same semester
+     */
+    public List<String> getCorequisites() {
+        return referencedWhere(false);
+    }
+
+    private List<String> referencedWhere(boolean required) {
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < referencedCodes.length; i++) {
+            if (referencedRequired[i] == required) {
+                codes.add(referencedCodes[i]);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Copy of this expression with one more unconditional required course, used when
+     * a plain prerequisite edge is added to a course that already has an expression
+     */
+    PrerequisiteExpression withRequired(int courseId, String code) {
+        List<int[]> clauses = new ArrayList<>();
+        List<Literal> literals = new ArrayList<>();
+        for (int c = 0; c + 1 < clauseStart.length; c++) {
+            int[] clause = new int[clauseStart[c + 1] - clauseStart[c]];
+            for (int i = 0; i < clause.length; i++) {
+                int l = clauseStart[c] + i;
+                literals.add(new Literal(literalCourse[l], literalMinGrade[l], literalCoreq[l]));
+                clause[i] = literals.size() - 1;
+            }
+            clauses.add(clause);
+        }
+        literals.add(new Literal(courseId, Double.NaN, false));
+        clauses.add(new int[]{literals.size() - 1});
+
+        List<String> codes = new ArrayList<>(Arrays.asList(referencedCodes));
+        if (!codes.contains(code)) {
+            codes.add(code);
+        }
+        Set<String> required = new HashSet<>(getRequiredCourses());
+        required.add(code);
+        String text = source.isEmpty() ? code : "(" + source + ") AND " + code;
+        return new PrerequisiteExpression(text, clauses, literals, codes, required);
+    }
+
+    /**
+     * Copy of this expression with one course replaced by another, used when a course
+     * is renamed. The source text is rewritten from the compiled clauses, so it no
+     * longer names the old code.
+     * @param oldId ID of the course being renamed
+     * @param newId ID of its new code
+     * @param interner Interner that assigned the IDs
+     */
+    PrerequisiteExpression withRenamed(int oldId, int newId, CourseCodeInterner interner) {
+        List<int[]> clauses = new ArrayList<>();
+        List<Literal> literals = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        for (int c = 0; c + 1 < clauseStart.length; c++) {
+            int[] clause = new int[clauseStart[c + 1] - clauseStart[c]];
+            StringBuilder clauseText = new StringBuilder();
+            for (int i = 0; i < clause.length; i++) {
+                int l = clauseStart[c] + i;
+                int id = (literalCourse[l] == oldId) ? newId : literalCourse[l];
+                literals.add(new Literal(id, literalMinGrade[l], literalCoreq[l]));
+                clause[i] = literals.size() - 1;
+
+                if (i > 0) clauseText.append(" OR ");
+                if (literalCoreq[l]) clauseText.append("COREQ ");
+                clauseText.append(interner.codeOf(id));
+                if (!Double.isNaN(literalMinGrade[l])) {
+                    double grade = literalMinGrade[l];
+                    clauseText.append(" >= ").append(grade == Math.rint(grade) ? String.valueOf((long) grade) : String.valueOf(grade));
+                }
+            }
+            clauses.add(clause);
+
+            if (c > 0) text.append(" AND ");
+            text.append(clause.length > 1 ? "(" + clauseText + ")" : clauseText);
+        }
+
+        String oldCode = interner.codeOf(oldId);
+        String newCode = interner.codeOf(newId);
+        List<String> codes = new ArrayList<>();
+        Set<String> required = new HashSet<>();
+        for (int i = 0; i < referencedCodes.length; i++) {
+            String code = referencedCodes[i].equals(oldCode) ? newCode : referencedCodes[i];
+            if (!codes.contains(code)) {
+                codes.add(code);
+            }
+            if (referencedRequired[i]) {
+                required.add(code);
+            }
+        }
+        return new PrerequisiteExpression(text.toString(), clauses, literals, codes, required);
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * One condition on one course
+     */
+    private static class Literal {
+        final int courseId;
+        final double minGrade;
+        final boolean coreq;
+
+        Literal(int courseId, double minGrade, boolean coreq) {
+            this.courseId = courseId;
+            this.minGrade = minGrade;
+            this.coreq = coreq;
+        }
+
+        boolean sameAs(Literal other) {
+            return courseId == other.courseId && coreq == other.coreq
+                    && Double.compare(minGrade, other.minGrade) == 0;
+        }
+    }
+
+    /**
+     * Recursive-descent parser that builds the CNF directly:
+     *   or   := and ( OR and )*
+     *   and  := atom ( (AND | ',') atom )*
+     *   atom := '(' or ')' | COREQ code | code [ '>=' number ]
+     *   code := word ( word )*     words up to the next keyword or symbol
+     * A CNF is a list of clauses; each clause is a sorted array of literal indexes.
+     * The parser touches no interner: its literals name courses by their index in
+     * referencedCodes, and parse() swaps in course IDs once the whole text is valid.
+     */
+    private static class Parser {
+        private final String text;
+        private final List<Literal> literals = new ArrayList<>();   // courseId = index in referencedCodes
+        private final List<String> referencedCodes = new ArrayList<>();
+        private final Set<String> requiredCodes = new HashSet<>();
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+            this.pos = 0;
+        }
+
+        List<int[]> parseAll() {
+            skipSpaces();
+            if (pos == text.length()) {
+                return new ArrayList<>();   // Blank: no clauses, always satisfied
+            }
+            List<int[]> cnf = parseOr();
+            skipSpaces();
+            if (pos < text.length()) {
+                throw error("Unexpected '" + text.charAt(pos) + "'");
+            }
+            return cnf;
+        }
+
+        private List<int[]> parseOr() {
+            List<int[]> cnf = parseAnd();
+            while (acceptKeyword("OR") || acceptSymbol("|")) {
+                cnf = distribute(cnf, parseAnd());
+            }
+            return cnf;
+        }
+
+        private List<int[]> parseAnd() {
+            List<int[]> cnf = parseAtom();
+            while (acceptKeyword("AND") || acceptSymbol(",") || acceptSymbol("&")) {
+                cnf = conjoin(cnf, parseAtom());
+            }
+            return cnf;
+        }
+
+        private List<int[]> parseAtom() {
+            if (acceptSymbol("(")) {
+                List<int[]> inner = parseOr();
+                if (!acceptSymbol(")")) {
+                    throw error("Missing ')'");
+                }
+                return inner;
+            }
+
+            boolean coreq = acceptKeyword("COREQ");
+            String code = readCode();
+            if (code.isEmpty()) {
+                throw error("Expected a course code");
+            }
+            double minGrade = Double.NaN;
+            if (!coreq && acceptSymbol(">=")) {
+                minGrade = readNumber();
+            }
+
+            // Record the normalized code, so it matches the graph's keys
+            code = CourseCodeInterner.normalize(code);
+            int codeIndex = referencedCodes.indexOf(code);
+            if (codeIndex < 0) {
+                codeIndex = referencedCodes.size();
+                referencedCodes.add(code);
+            }
+            if (!coreq) {
+                requiredCodes.add(code);
+            }
+            List<int[]> cnf = new ArrayList<>();
+            cnf.add(new int[]{literalIndex(new Literal(codeIndex, minGrade, coreq))});
+            return cnf;
+        }
+
+        /**
+         * (A1 & A2) & (B1 & B2): keep all clauses, dropping exact duplicates
+         */
+        private List<int[]> conjoin(List<int[]> a, List<int[]> b) {
+            List<int[]> result = new ArrayList<>(a);
+            for (int[] clause : b) {
+                addClause(result, clause);
+            }
+            return result;
+        }
+
+        /**
+         * (A1 & A2) | (B1 & B2) = (A1|B1) & (A1|B2) & (A2|B1) & (A2|B2)
+         */
+        private List<int[]> distribute(List<int[]> a, List<int[]> b) {
+            if ((long) a.size() * b.size() > MAX_CLAUSES) {
+                throw error("Expression is too complex");
+            }
+            List<int[]> result = new ArrayList<>();
+            for (int[] x : a) {
+                for (int[] y : b) {
+                    addClause(result, union(x, y));
+                }
+            }
+            return result;
+        }
+
+        private static void addClause(List<int[]> clauses, int[] clause) {
+            for (int[] existing : clauses) {
+                if (Arrays.equals(existing, clause)) return;
+            }
+            clauses.add(clause);
+        }
+
+        private static int[] union(int[] x, int[] y) {
+            int[] merged = new int[x.length + y.length];
+            int i = 0, j = 0, n = 0;
+            while (i < x.length || j < y.length) {
+                int next = (j == y.length || (i < x.length && x[i] <= y[j])) ? x[i++] : y[j++];
+                if (n == 0 || merged[n - 1] != next) {
+                    merged[n++] = next;
+                }
+            }
+            return Arrays.copyOf(merged, n);
+        }
+
+        private int literalIndex(Literal literal) {
+            for (int i = 0; i < literals.size(); i++) {
+                if (literals.get(i).sameAs(literal)) return i;
+            }
+            literals.add(literal);
+            return literals.size() - 1;
+        }
+
+        private boolean acceptSymbol(String symbol) {
+            skipSpaces();
+            if (text.startsWith(symbol, pos)) {
+                pos += symbol.length();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean acceptKeyword(String keyword) {
+            skipSpaces();
+            if (isKeywordAt(keyword)) {
+                pos += keyword.length();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean isKeywordAt(String keyword) {
+            int end = pos + keyword.length();
+            return text.regionMatches(true, pos, keyword, 0, keyword.length())
+                    && (end == text.length() || !isWordChar(text.charAt(end)));
+        }
+
+        /**
+         * A course code: one or more words, so "CS 101" is one code.
+         * Stops before a keyword, a symbol or the end of the text.
+         */
+        private String readCode() {
+            skipSpaces();
+            int start = pos;
+            int end = pos;
+            while (pos < text.length() && isWordChar(text.charAt(pos))
+                    && !isKeywordAt("AND") && !isKeywordAt("OR") && !isKeywordAt("COREQ")) {
+                while (pos < text.length() && isWordChar(text.charAt(pos))) {
+                    pos++;
+                }
+                end = pos;
+                skipSpaces();
+            }
+            pos = end;
+            return text.substring(start, end);
+        }
+
+        private double readNumber() {
+            skipSpaces();
+            int start = pos;
+            while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+                pos++;
+            }
+            try {
+                return Double.parseDouble(text.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw error("Expected a grade");
+            }
+        }
+
+        private void skipSpaces() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private static boolean isWordChar(char c) {
+            return !Character.isWhitespace(c) && "(),&|<>=".indexOf(c) < 0;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos + " in \"" + text + "\"");
+        }
+    }
+}
@@ -10,186 +10,961 @@ public class PrerequisiteGraph {
     // Reverse adjacency list: prerequisite -> list of courses that require it
     private HashMap<String, List<String>> reverseAdjList;
 
+    // Read-only views of the lists above, created once per course so lookups never allocate
+    private HashMap<String, List<String>> adjView;
+    private HashMap<String, List<String>> reverseAdjView;
+
+    // Same edges keyed by interned course ID, for allocation-free int fast paths.
+    // prereqIds[id][0 .. prereqCounts[id]) are the prerequisite IDs of course id.
+    private final CourseCodeInterner interner;
+    private int[][] prereqIds;
+    private int[] prereqCounts;
+    private int[][] dependentIds;
+    private int[] dependentCounts;
+    private BitSet memberIds;// IDs of all courses that are nodes of the graph
+
+    // Co-requisites ("COREQ X" in an expression) are links, not edges: they may be taken in
+    // the same semester, so they take no part in orderings, cycle checks or chain analyses.
+    // coreqIds[id][0 .. coreqCounts[id]) are the co-requisites of course id, coreqOfIds the reverse.
+    private int[][] coreqIds;
+    private int[] coreqCounts;
+    private int[][] coreqOfIds;
+    private int[] coreqOfCounts;
+
+    // Online topological order (Pearce-Kelly), maintained across edge insertions.
+    // topoOrd[id] is the position of a course (-1 if unplaced), topoNode[pos] the course at a position.
+    private int[] topoOrd;
+    private int[] topoNode;
+    private int topoSize;
+    private boolean orderValid;// false until built, or after an unchecked edge closed a cycle
+    private int[] visitMark;// Epoch marks for the bounded searches, avoids clearing per call
+    private int visitEpoch;
+
+    private long version;// Incremented on every change to the edges
+    private CompactPrerequisiteGraph frozen;// Cached CSR snapshot, null when stale
+    private ReachabilityIndex reachability;// Transitive closure, kept up to date on edge insertion
+    private CriticalPathAnalysis criticalPath;// Depth/height/slack, null when stale
+    private GraphAnalytics analytics;// Degree statistics, null when stale
+    private PrerequisiteExpression[] expressions;// Per course ID; null means "all direct prerequisites"
+
     
+    /**
+     * Constructor for a standalone graph with its own interner.
+     * A graph used together with a CourseBST must share its interner; use
+     * PrerequisiteGraph(CourseCodeInterner) with courseTree.getInterner().
+     */
     public PrerequisiteGraph() {
+        this(new CourseCodeInterner());
+    }
+
+    /**
+     * Constructor with an explicit interner
+     * @param interner Interner shared with the CourseBST this graph is used with
+     */
+    public PrerequisiteGraph(CourseCodeInterner interner) {
         this.adjList = new HashMap<>();
         this.reverseAdjList = new HashMap<>();
+        this.adjView = new HashMap<>();
+        this.reverseAdjView = new HashMap<>();
+        this.interner = interner;
+        int capacity = Math.max(16, interner.size());
+        this.prereqIds = new int[capacity][];
+        this.prereqCounts = new int[capacity];
+        this.dependentIds = new int[capacity][];
+        this.dependentCounts = new int[capacity];
+        this.memberIds = new BitSet(capacity);
+        this.coreqIds = new int[capacity][];
+        this.coreqCounts = new int[capacity];
+        this.coreqOfIds = new int[capacity][];
+        this.coreqOfCounts = new int[capacity];
+        this.expressions = new PrerequisiteExpression[capacity];
+        this.topoOrd = new int[0];
+        this.topoNode = new int[0];
+        this.visitMark = new int[0];
+        this.orderValid = false;
     }
 
     
     public void addPrerequisite(String course, String prerequisite) {
+        // Normalize both codes once; every list below is keyed by the normalized code
+        int courseId = interner.intern(course);
+        int prereqId = interner.intern(prerequisite);
+        course = interner.codeOf(courseId);
+        prerequisite = interner.codeOf(prereqId);
+
         // Add to forward adjacency list
-        adjList.computeIfAbsent(course, k -> new ArrayList<>()).add(prerequisite);
+        edgeList(adjList, adjView, course).add(prerequisite);
 
         // Add to reverse adjacency list
-        reverseAdjList.computeIfAbsent(prerequisite, k -> new ArrayList<>()).add(course);
+        edgeList(reverseAdjList, reverseAdjView, prerequisite).add(course);
 
         // Ensure both courses exist in both maps
-        adjList.putIfAbsent(prerequisite, new ArrayList<>());
-        reverseAdjList.putIfAbsent(course, new ArrayList<>());
+        edgeList(adjList, adjView, prerequisite);
+        edgeList(reverseAdjList, reverseAdjView, course);
+
+        // Mirror the edge in the ID-keyed arrays
+        ensureIdCapacity(Math.max(courseId, prereqId));
+        prereqIds[courseId] = appendId(prereqIds[courseId], prereqCounts[courseId]++, prereqId);
+        dependentIds[prereqId] = appendId(dependentIds[prereqId], dependentCounts[prereqId]++, courseId);
+        memberIds.set(courseId);
+        memberIds.set(prereqId);
+        if (expressions[courseId] != null) {
+            expressions[courseId] = expressions[courseId].withRequired(prereqId, prerequisite);
+        }
+
+        // Keep the online order in step; an edge that closes a cycle makes it unusable
+        if (orderValid && !reorderForEdge(courseId, prereqId)) {
+            orderValid = false;
+        }
+
+        if (reachability != null) {
+            reachability.addEdge(courseId, prereqId);
+        }
+
+        markChanged();
     }
 
     /**
-     * Get all prerequisites for a course
+     * Add a prerequisite only if it keeps the graph acyclic.
+     * A dynamic topological order is maintained (Pearce-Kelly algorithm): an edge that
+     * already agrees with the order is accepted in O(1); otherwise only the courses whose
+     * positions lie between the two endpoints are searched and reordered.
+     * A rejected edge is never added, so there is nothing to roll back.
+     * Time Complexity: proportional to the affected region of the order.
      * @param course Course code
-     * @return List of prerequisite course codes
+     * @param prerequisite Prerequisite course code
+     * @return true if the edge was added, false if it would create a cycle
      */
-    public List<String> getPrerequisites(String course) {
-        return adjList.getOrDefault(course, new ArrayList<>());
+    public boolean addPrerequisiteChecked(String course, String prerequisite) {
+        int courseId = interner.intern(course);
+        int prereqId = interner.intern(prerequisite);
+        ensureIdCapacity(Math.max(courseId, prereqId));
+
+        if (courseId == prereqId) {
+            return false;
+        }
+
+        if (ensureOrder()) {
+            placeInOrder(courseId);
+            placeInOrder(prereqId);
+            if (!reorderForEdge(courseId, prereqId)) {
+                return false;
+            }
+        } else if (reaches(prereqId, courseId)) {
+            // The graph already had a cycle, so no order exists: fall back to a search
+            return false;
+        }
+
+        // The order already accounts for this edge; add it without re-checking
+        boolean wasValid = orderValid;
+        orderValid = false;
+        addPrerequisite(course, prerequisite);
+        orderValid = wasValid;
+        return true;
     }
 
     /**
-     * Get all courses that require this course as prerequisite
-     * @param prerequisite Course code
-     * @return List of dependent course codes
+     * Build the online order from a full topological sort if it is not current.
+     * @return false if the graph contains a cycle (no order exists)
      */
-    public List<String> getDependentCourses(String prerequisite) {
-        return reverseAdjList.getOrDefault(prerequisite, new ArrayList<>());
+    private boolean ensureOrder() {
+        if (orderValid) {
+            return true;
+        }
+
+        int[] order = freeze().topologicalSort();
+        if (order.length != memberIds.cardinality()) {
+            return false;
+        }
+
+        int capacity = prereqCounts.length;
+        topoOrd = new int[capacity];
+        Arrays.fill(topoOrd, -1);
+        topoNode = new int[Math.max(capacity, order.length)];
+        topoSize = 0;
+        for (int id : order) {
+            topoOrd[id] = topoSize;
+            topoNode[topoSize++] = id;
+        }
+        orderValid = true;
+        return true;
     }
 
     /**
-     * Check if course has any prerequisites
-     * @param course Course code
-     * @return true if course has prerequisites
+     * @return The online order, prerequisites first, or null while none is maintained
      */
-    public boolean hasPrerequisites(String course) {
-        List<String> prereqs = adjList.get(course);
-        return prereqs != null && !prereqs.isEmpty();
+    int[] onlineOrder() {
+        return orderValid ? Arrays.copyOf(topoNode, topoSize) : null;
     }
 
     /**
-     * Detect cycles in prerequisite graph using DFS
-     * @return true if cycle exists
+     * Give a course a position at the end of the order if it has none yet
      */
-    public boolean hasCycle() {
-        Set<String> visited = new HashSet<>();
-        Set<String> recursionStack = new HashSet<>();
+    private void placeInOrder(int id) {
+        if (topoOrd.length <= id) {
+            int old = topoOrd.length;
+            topoOrd = Arrays.copyOf(topoOrd, prereqCounts.length);
+            Arrays.fill(topoOrd, old, topoOrd.length, -1);
+        }
+        if (topoOrd[id] >= 0) {
+            return;
+        }
+        if (topoSize == topoNode.length) {
+            topoNode = Arrays.copyOf(topoNode, Math.max(16, topoSize * 2));
+        }
+        topoOrd[id] = topoSize;
+        topoNode[topoSize++] = id;
+    }
+
+    /**
+     * Pearce-Kelly update for a new edge "prereqId before courseId".
+     * Leaves the order untouched and returns false if the edge would close a cycle.
+     */
+    private boolean reorderForEdge(int courseId, int prereqId) {
+        placeInOrder(courseId);
+        placeInOrder(prereqId);
+
+        int lower = topoOrd[courseId];
+        int upper = topoOrd[prereqId];
+        if (upper < lower) {
+            return true;// Already consistent
+        }
+        if (courseId == prereqId) {
+            return false;
+        }
 
-        for (String course : adjList.keySet()) {
-            if (!visited.contains(course)) {
-                if (hasCycleDFS(course, visited, recursionStack)) {
-                    return true;
+        // Forward: courses that (transitively) need courseId, within the affected region
+        int epoch = nextEpoch();
+        int[] forward = collectRegion(courseId, upper, true, prereqId, epoch);
+        if (forward == null) {
+            return false;// Reached prereqId: prereqId already depends on courseId
+        }
+
+        // Backward: prerequisites of prereqId, within the affected region
+        int[] backward = collectRegion(prereqId, lower, false, -1, epoch);
+
+        // Reassign the freed positions: everything in backward moves before everything in forward
+        sortByOrder(forward);
+        sortByOrder(backward);
+        int[] positions = new int[forward.length + backward.length];
+        int n = 0;
+        for (int id : backward) positions[n++] = topoOrd[id];
+        for (int id : forward) positions[n++] = topoOrd[id];
+        Arrays.sort(positions);
+
+        n = 0;
+        for (int id : backward) assignPosition(id, positions[n++]);
+        for (int id : forward) assignPosition(id, positions[n++]);
+        return true;
+    }
+
+    /**
+     * Iterative bounded search used by reorderForEdge.
+     * Forward follows dependents with position below bound; backward follows
+     * prerequisites with position above bound.
+     * @return Visited course IDs, or null if target was reached
+     */
+    private int[] collectRegion(int start, int bound, boolean forward, int target, int epoch) {
+        int[] found = new int[8];
+        int count = 0;
+        int[] stack = new int[8];
+        int top = 0;
+        stack[top++] = start;
+        visitMark[start] = epoch;
+
+        while (top > 0) {
+            int id = stack[--top];
+            if (count == found.length) found = Arrays.copyOf(found, count * 2);
+            found[count++] = id;
+
+            int degree = forward ? dependentCounts[id] : prereqCounts[id];
+            for (int i = 0; i < degree; i++) {
+                int next = forward ? dependentIds[id][i] : prereqIds[id][i];
+                if (next == target) {
+                    return null;
+                }
+                int pos = topoOrd[next];
+                boolean inRegion = forward ? pos < bound : pos > bound;
+                if (inRegion && visitMark[next] != epoch) {
+                    visitMark[next] = epoch;
+                    if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                    stack[top++] = next;
                 }
             }
         }
-        return false;
+        return Arrays.copyOf(found, count);
     }
 
     /**
-     * DFS helper for cycle detection
+     * Plain reachability along prerequisite edges (used only when no order exists)
      */
-    private boolean hasCycleDFS(String course, Set<String> visited, Set<String> recursionStack) {
-        visited.add(course);
-        recursionStack.add(course);
-
-        List<String> prerequisites = adjList.getOrDefault(course, new ArrayList<>());
-        for (String prereq : prerequisites) {
-            if (!visited.contains(prereq)) {
-                if (hasCycleDFS(prereq, visited, recursionStack)) {
-                    return true;
+    private boolean reaches(int from, int to) {
+        int epoch = nextEpoch();
+        int[] stack = new int[8];
+        int top = 0;
+        stack[top++] = from;
+        visitMark[from] = epoch;
+        while (top > 0) {
+            int id = stack[--top];
+            if (id == to) return true;
+            for (int i = 0; i < prereqCounts[id]; i++) {
+                int next = prereqIds[id][i];
+                if (visitMark[next] != epoch) {
+                    visitMark[next] = epoch;
+                    if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                    stack[top++] = next;
                 }
-            } else if (recursionStack.contains(prereq)) {
-                // Cycle detected: course -> ... -> prereq -> course
-                return true;
             }
         }
-
-        recursionStack.remove(course);
         return false;
     }
 
+    private int nextEpoch() {
+        if (visitMark.length < prereqCounts.length) {
+            visitMark = Arrays.copyOf(visitMark, prereqCounts.length);
+        }
+        if (++visitEpoch == Integer.MAX_VALUE) {
+            Arrays.fill(visitMark, 0);
+            visitEpoch = 1;
+        }
+        return visitEpoch;
+    }
+
+    private void sortByOrder(int[] ids) {
+        // Sort by current position: map to positions, sort, map back
+        for (int i = 0; i < ids.length; i++) ids[i] = topoOrd[ids[i]];
+        Arrays.sort(ids);
+        for (int i = 0; i < ids.length; i++) ids[i] = topoNode[ids[i]];
+    }
+
+    private void assignPosition(int id, int position) {
+        topoOrd[id] = position;
+        topoNode[position] = id;
+    }
+
     /**
-     * Get cycle path if exists
-     * @return List showing cycle path
+     * Get (or create) the edge list of a course, registering its read-only view on creation
      */
-    public List<String> getCyclePath() {
-        Set<String> visited = new HashSet<>();
-        Set<String> recursionStack = new HashSet<>();
-        List<String> path = new ArrayList<>();
-
-        for (String course : adjList.keySet()) {
-            if (!visited.contains(course)) {
-                if (getCyclePathDFS(course, visited, recursionStack, path)) {
-                    return path;
-                }
+    private static List<String> edgeList(HashMap<String, List<String>> lists,
+                                         HashMap<String, List<String>> views, String course) {
+        return lists.computeIfAbsent(course, k -> {
+            List<String> list = new ArrayList<>();
+            views.put(k, Collections.unmodifiableList(list));
+            return list;
+        });
+    }
+
+    /**
+     * Add an entry requirement written as an expression, e.g.
+     * "CS201 AND (MATH201 OR MATH210)", "MATH201 >= 60" or "COREQ PHY101"
+     * (see PrerequisiteExpression for the syntax). It is ANDed with the course's
+     * current requirements. Every course the expression names without COREQ becomes
+     * a prerequisite edge, so orderings and chain analyses treat OR alternatives
+     * conservatively, as if all were required first. A course named only as COREQ
+     * becomes a co-requisite link instead (see getCorequisites), so mutual
+     * co-requisites do not form a cycle.
+     * A plain comma list adds ordinary edges only, exactly like addPrerequisite.
+     * The expression is parsed before anything changes, so a malformed one leaves
+     * the graph and the interner as they were.
+     * @param course Course code
+     * @param expression Requirement expression
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public void addPrerequisiteExpression(String course, String expression) {
+        // Current requirements in expression form, so the two can be combined
+        int knownId = interner.idOf(course);
+        String current;
+        if (knownId >= 0 && knownId < expressions.length && expressions[knownId] != null) {
+            current = expressions[knownId].toString();
+        } else {
+            current = String.join(" AND ", getPrerequisites(course));
+        }
+        String combined = current.isEmpty() ? expression : "(" + current + ") AND (" + expression + ")";
+        PrerequisiteExpression compiled = PrerequisiteExpression.parse(combined, interner);
+
+        // Parsed: only now may the course's code be interned
+        int courseId = interner.intern(course);
+        ensureIdCapacity(courseId);
+        course = interner.codeOf(courseId);
+
+        expressions[courseId] = null;
+        List<String> existing = getPrerequisites(course);
+        for (String prereq : compiled.getRequiredCourses()) {
+            if (!existing.contains(prereq)) {
+                addPrerequisite(course, prereq);
             }
         }
-        return new ArrayList<>();
+
+        // The combined expression lists every co-requisite, so replace the old links
+        clearCorequisites(courseId);
+        for (String coreq : compiled.getCorequisites()) {
+            linkCorequisite(courseId, interner.intern(coreq));
+        }
+        expressions[courseId] = compiled.isPlainConjunction() ? null : compiled;
+        markChanged();
     }
 
-    private boolean getCyclePathDFS(String course, Set<String> visited, Set<String> recursionStack, List<String> path) {
-        visited.add(course);
-        recursionStack.add(course);
-        path.add(course);
+    /**
+     * Record that courseId names coreqId as a co-requisite
+     */
+    private void linkCorequisite(int courseId, int coreqId) {
+        ensureIdCapacity(Math.max(courseId, coreqId));
+        coreqIds[courseId] = appendId(coreqIds[courseId], coreqCounts[courseId]++, coreqId);
+        coreqOfIds[coreqId] = appendId(coreqOfIds[coreqId], coreqOfCounts[coreqId]++, courseId);
+        memberIds.set(courseId);
+        memberIds.set(coreqId);
+    }
 
-        List<String> prerequisites = adjList.getOrDefault(course, new ArrayList<>());
-        for (String prereq : prerequisites) {
-            if (!visited.contains(prereq)) {
-                if (getCyclePathDFS(prereq, visited, recursionStack, path)) {
-                    return true;
-                }
-            } else if (recursionStack.contains(prereq)) {
-                path.add(prereq);  // Complete the cycle
-                return true;
+    /**
+     * Drop the co-requisite links a course names
+     */
+    private void clearCorequisites(int courseId) {
+        for (int i = 0; i < coreqCounts[courseId]; i++) {
+            int c = coreqIds[courseId][i];
+            coreqOfCounts[c] = removeId(coreqOfIds[c], coreqOfCounts[c], courseId);
+        }
+        coreqIds[courseId] = null;
+        coreqCounts[courseId] = 0;
+    }
+
+    /**
+     * Get the co-requisites of a course: courses its expression names only as COREQ,
+     * which may be completed before it or taken in the same semester
+     * @param course Course code
+     * @return Co-requisite course codes (empty if none)
+     */
+    public List<String> getCorequisites(String course) {
+        int id = interner.idOf(course);
+        List<String> coreqs = new ArrayList<>();
+        for (int i = 0; i < corequisiteCount(id); i++) {
+            coreqs.add(interner.codeOf(coreqIds[id][i]));
+        }
+        return coreqs;
+    }
+
+    /**
+     * Number of co-requisites of a course, by ID
+     * @param courseId Interned course ID
+     */
+    public int corequisiteCount(int courseId) {
+        return (courseId >= 0 && courseId < coreqCounts.length) ? coreqCounts[courseId] : 0;
+    }
+
+    /**
+     * @param courseId Interned course ID
+     * @param index 0 .. corequisiteCount(courseId) - 1
+     * @return ID of the index-th co-requisite
+     */
+    public int corequisiteAt(int courseId, int index) {
+        return coreqIds[courseId][index];
+    }
+
+    /**
+     * Number of courses that name this one as a co-requisite, by ID
+     * @param courseId Interned course ID
+     */
+    public int corequisiteOfCount(int courseId) {
+        return (courseId >= 0 && courseId < coreqOfCounts.length) ? coreqOfCounts[courseId] : 0;
+    }
+
+    /**
+     * @param courseId Interned course ID
+     * @param index 0 .. corequisiteOfCount(courseId) - 1
+     * @return ID of the index-th course naming this one as a co-requisite
+     */
+    public int corequisiteOfAt(int courseId, int index) {
+        return coreqOfIds[courseId][index];
+    }
+
+    /**
+     * @param courseId Interned course ID
+     * @return true if the course has co-requisites or is one
+     */
+    public boolean hasCorequisiteLinks(int courseId) {
+        return corequisiteCount(courseId) > 0 || corequisiteOfCount(courseId) > 0;
+    }
+
+    /**
+     * @param courseId Interned course ID
+     * @return The course's compiled requirement, or null if it simply needs all its direct prerequisites
+     */
+    public PrerequisiteExpression getPrerequisiteExpression(int courseId) {
+        return (courseId >= 0 && courseId < expressions.length) ? expressions[courseId] : null;
+    }
+
+    /**
+     * Check a course's entry requirement against a student's record, by ID.
+     * Uses the compiled expression if the course has one, otherwise bit tests
+     * over its direct prerequisites. Allocation-free.
+     * Time Complexity: O(literals) or O(direct prerequisites).
+     * @param courseId Interned course ID
+     * @param completed IDs of completed courses
+     * @param gradeById Grade per course ID (NaN if unknown); null ignores minimum grades
+     * @param concurrent IDs of courses in the same semester, for co-requisites; may be null
+     * @return true if the course's requirement is met
+     */
+    public boolean isRequirementMet(int courseId, BitSet completed, double[] gradeById, BitSet concurrent) {
+        PrerequisiteExpression expression = getPrerequisiteExpression(courseId);
+        if (expression != null) {
+            return expression.isSatisfied(completed, gradeById, concurrent);
+        }
+        int count = prerequisiteCount(courseId);
+        for (int i = 0; i < count; i++) {
+            if (!completed.get(prereqIds[courseId][i])) {
+                return false;
             }
         }
+        return true;
+    }
 
-        recursionStack.remove(course);
-        path.remove(path.size() - 1);
-        return false;
+    /**
+     * Invalidate everything derived from the current edges
+     */
+    private void markChanged() {
+        version++;
+        frozen = null;
+        criticalPath = null;
+        analytics = null;
     }
 
     /**
-     * Perform topological sort using Kahn's algorithm
-     * @return Courses in topological order
+     * @return Counter that changes whenever the graph's edges change
      */
-    public List<String> topologicalSort() {
-        List<String> result = new ArrayList<>();
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get a frozen CSR snapshot of the graph for fast read-only traversals.
+     * The snapshot is cached until the next change to the graph.
+     * Time Complexity: O(V + E) to build, O(1) when cached.
+     * @return Immutable compact form of the current graph
+     */
+    public CompactPrerequisiteGraph freeze() {
+        if (frozen == null) {
+            frozen = new CompactPrerequisiteGraph(this, memberIds);
+        }
+        return frozen;
+    }
 
-        // Calculate in-degree for each course
-        HashMap<String, Integer> inDegree = new HashMap<>();
+    /**
+     * Grow the ID-keyed arrays so that maxId is a valid index
+     */
+    private void ensureIdCapacity(int maxId) {
+        if (maxId < prereqCounts.length) return;
+
+        int capacity = Math.max(maxId + 1, prereqCounts.length * 2);
+        prereqIds = Arrays.copyOf(prereqIds, capacity);
+        prereqCounts = Arrays.copyOf(prereqCounts, capacity);
+        dependentIds = Arrays.copyOf(dependentIds, capacity);
+        dependentCounts = Arrays.copyOf(dependentCounts, capacity);
+        coreqIds = Arrays.copyOf(coreqIds, capacity);
+        coreqCounts = Arrays.copyOf(coreqCounts, capacity);
+        coreqOfIds = Arrays.copyOf(coreqOfIds, capacity);
+        coreqOfCounts = Arrays.copyOf(coreqOfCounts, capacity);
+        expressions = Arrays.copyOf(expressions, capacity);
+    }
 
-        // Initialize all courses
-        for (String course : adjList.keySet()) {
-            inDegree.putIfAbsent(course, 0);
+    /**
+     * Store value at index, growing the row if needed
+     * @return The (possibly reallocated) row
+     */
+    private static int[] appendId(int[] row, int index, int value) {
+        if (row == null) {
+            row = new int[4];
+        } else if (index == row.length) {
+            row = Arrays.copyOf(row, row.length * 2);
         }
+        row[index] = value;
+        return row;
+    }
 
-        // Calculate in-degrees
-        for (Map.Entry<String, List<String>> entry : adjList.entrySet()) {
-            String course = entry.getKey();
-            for (String prereq : entry.getValue()) {
-                inDegree.put(prereq, inDegree.getOrDefault(prereq, 0) + 1);
+    /**
+     * Remove every occurrence of value from row[0 .. count)
+     * @return The new count
+     */
+    private static int removeId(int[] row, int count, int value) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (row[i] != value) {
+                row[kept++] = row[i];
             }
         }
+        return kept;
+    }
 
-        // Queue for courses with 0 in-degree
-        Queue<String> queue = new LinkedList<>();
-        for (Map.Entry<String, Integer> entry : inDegree.entrySet()) {
-            if (entry.getValue() == 0) {
-                queue.add(entry.getKey());
+    /**
+     * Remove a course and every prerequisite edge and co-requisite link touching it,
+     * e.g. when a course is retired.
+     * Time Complexity: O(degree of course + sizes of the neighbours' lists).
+     * @param course Course code
+     */
+    public void removeCourse(String course) {
+        course = key(course);
+        List<String> prereqs = adjList.remove(course);
+        adjView.remove(course);
+        if (prereqs != null) {
+            for (String prereq : prereqs) {
+                List<String> dependents = reverseAdjList.get(prereq);
+                if (dependents != null) dependents.removeIf(course::equals);
             }
         }
 
-        // Process queue
-        while (!queue.isEmpty()) {
-            String course = queue.poll();
-            result.add(course);
+        List<String> dependents = reverseAdjList.remove(course);
+        reverseAdjView.remove(course);
+        if (dependents != null) {
+            for (String dependent : dependents) {
+                List<String> list = adjList.get(dependent);
+                if (list != null) list.removeIf(course::equals);
+            }
+        }
 
-            // Reduce in-degree of neighbors
-            for (String dependent : adjList.getOrDefault(course, new ArrayList<>())) {
-                inDegree.put(dependent, inDegree.get(dependent) - 1);
-                if (inDegree.get(dependent) == 0) {
-                    queue.add(dependent);
-                }
+        int id = interner.idOf(course);
+        if (id >= 0 && id < prereqCounts.length) {
+            for (int i = 0; i < prereqCounts[id]; i++) {
+                int p = prereqIds[id][i];
+                dependentCounts[p] = removeId(dependentIds[p], dependentCounts[p], id);
+            }
+            for (int i = 0; i < dependentCounts[id]; i++) {
+                int d = dependentIds[id][i];
+                prereqCounts[d] = removeId(prereqIds[d], prereqCounts[d], id);
+            }
+            prereqIds[id] = null;
+            prereqCounts[id] = 0;
+            dependentIds[id] = null;
+            dependentCounts[id] = 0;
+            clearCorequisites(id);
+            for (int i = 0; i < coreqOfCounts[id]; i++) {
+                int c = coreqOfIds[id][i];
+                coreqCounts[c] = removeId(coreqIds[c], coreqCounts[c], id);
+            }
+            coreqOfIds[id] = null;
+            coreqOfCounts[id] = 0;
+            memberIds.clear(id);
+            expressions[id] = null;
+        }
+
+        // Removals are not incremental: rebuild the closure on next use
+        reachability = null;
+
+        markChanged();
+    }
+
+    /**
+     * Rename a course in place: its prerequisites, dependents, co-requisite links and
+     * requirement expression move to the new code, and the expressions of courses that
+     * name it are rewritten to the new code. Nothing else is rebuilt.
+     * A course that is not in the graph has nothing to move.
+     * Time Complexity: O(degree of course + sizes of the neighbours' lists and expressions).
+     * @param oldCode Current course code
+     * @param newCode New course code
+     * @return false if the new code is already in the graph (nothing changes)
+     */
+    public boolean renameCourse(String oldCode, String newCode) {
+        int oldId = interner.idOf(oldCode);
+        int newId = interner.intern(newCode);
+        if (oldId == newId) {
+            return true;
+        }
+        if (memberIds.get(newId)) {
+            return false;
+        }
+        if (oldId < 0 || !memberIds.get(oldId)) {
+            return true;
+        }
+        ensureIdCapacity(newId);
+        String oldKey = interner.codeOf(oldId);
+        String newKey = interner.codeOf(newId);
+
+        // Step 1: Record everything attached to the old code
+        List<String> prereqs = new ArrayList<>(getPrerequisites(oldKey));
+        List<String> dependents = new ArrayList<>(getDependentCourses(oldKey));
+        int[] coreqs = (coreqCounts[oldId] == 0) ? new int[0] : Arrays.copyOf(coreqIds[oldId], coreqCounts[oldId]);
+        int[] coreqOf = (coreqOfCounts[oldId] == 0) ? new int[0] : Arrays.copyOf(coreqOfIds[oldId], coreqOfCounts[oldId]);
+        PrerequisiteExpression own = expressions[oldId];
+        Map<Integer, PrerequisiteExpression> naming = new HashMap<>();
+        for (String dependent : dependents) {
+            int id = interner.idOf(dependent);
+            if (expressions[id] != null) {
+                naming.put(id, expressions[id].withRenamed(oldId, newId, interner));
+            }
+        }
+        for (int id : coreqOf) {
+            if (expressions[id] != null) {
+                naming.put(id, expressions[id].withRenamed(oldId, newId, interner));
             }
         }
 
-        // Check if all courses were processed (no cycles)
-        if (result.size() != inDegree.size()) {
-            return new ArrayList<>();  // Cycle exists
+        // Step 2: Drop the old code, then attach everything to the new one.
+        // The rewritten expressions are set last, so the new edges do not extend them.
+        removeCourse(oldKey);
+        for (int id : naming.keySet()) {
+            expressions[id] = null;
+        }
+        for (String prereq : prereqs) {
+            addPrerequisite(newKey, prereq.equals(oldKey) ? newKey : prereq);
+        }
+        for (String dependent : dependents) {
+            if (!dependent.equals(oldKey)) {
+                addPrerequisite(dependent, newKey);
+            }
+        }
+        for (int id : coreqs) {
+            linkCorequisite(newId, (id == oldId) ? newId : id);
+        }
+        for (int id : coreqOf) {
+            if (id != oldId) {
+                linkCorequisite(id, newId);
+            }
+        }
+        expressions[newId] = (own == null) ? null : own.withRenamed(oldId, newId, interner);
+        for (Map.Entry<Integer, PrerequisiteExpression> entry : naming.entrySet()) {
+            expressions[entry.getKey()] = entry.getValue();
+        }
+
+        markChanged();
+        return true;
+    }
+
+    /**
+     * Get the transitive-closure index for instant "is X anywhere in Y's
+     * prerequisite chain" queries. Built on first use, then updated
+     * incrementally by addPrerequisite.
+     * @return Reachability index over this graph's course IDs
+     */
+    public ReachabilityIndex getReachabilityIndex() {
+        if (reachability == null) {
+            reachability = new ReachabilityIndex(freeze());
+        }
+        return reachability;
+    }
+
+    /**
+     * Get the longest-chain analysis (depth, height, slack, critical path) of the graph.
+     * Cached until the next change to the edges.
+     * Time Complexity: O(V + E) to build, O(1) when cached.
+     * @return Critical-path analysis of the current graph
+     */
+    public CriticalPathAnalysis getCriticalPathAnalysis() {
+        if (criticalPath == null) {
+            criticalPath = new CriticalPathAnalysis(freeze());
+        }
+        return criticalPath;
+    }
+
+    /**
+     * Get degree counts, histograms and transitive dependent counts of the graph,
+     * computed in parallel on the common fork/join pool. For a dedicated pool,
+     * construct GraphAnalytics over freeze() directly.
+     * Cached until the next change to the edges.
+     * @return Analytics over the current graph
+     */
+    public GraphAnalytics getAnalytics() {
+        if (analytics == null) {
+            analytics = new GraphAnalytics(freeze());
+        }
+        return analytics;
+    }
+
+    /**
+     * Get one longest prerequisite chain, the minimum number of semesters
+     * needed to take every course in the graph.
+     * @return Course codes on the critical path, prerequisite-first (empty if the graph has a cycle)
+     */
+    public List<String> getCriticalPath() {
+        return freeze().toCodes(getCriticalPathAnalysis().getCriticalPath());
+    }
+
+    /**
+     * Check whether prerequisite is required for course, directly or indirectly.
+     * Time Complexity: O(1) once the reachability index exists.
+     * @param prerequisite Course code that might be required
+     * @param course Course code whose prerequisite chain is checked
+     */
+    public boolean isTransitivePrerequisite(String prerequisite, String course) {
+        int prereqId = interner.idOf(prerequisite);
+        int courseId = interner.idOf(course);
+        return prereqId >= 0 && courseId >= 0 && getReachabilityIndex().isPrerequisite(prereqId, courseId);
+    }
+
+    /**
+     * Get every course in a course's prerequisite chain
+     * @param course Course code
+     * @return Direct and indirect prerequisite codes
+     */
+    public List<String> getAllPrerequisites(String course) {
+        int id = interner.idOf(course);
+        return (id < 0) ? new ArrayList<>() : freeze().toCodes(getReachabilityIndex().getAllPrerequisites(id));
+    }
+
+    /**
+     * Get every course that requires this one, directly or indirectly
+     * @param course Course code
+     * @return Direct and indirect dependent codes
+     */
+    public List<String> getAllDependents(String course) {
+        int id = interner.idOf(course);
+        return (id < 0) ? new ArrayList<>() : freeze().toCodes(getReachabilityIndex().getAllDependents(id));
+    }
+
+    /**
+     * @return Interner that maps this graph's course codes to int IDs
+     */
+    public CourseCodeInterner getInterner() {
+        return interner;
+    }
+
+    /**
+     * Number of direct prerequisites of a course, by ID.
+     * Together with prerequisiteAt() this walks the edges without allocating.
+     * @param courseId Interned course ID
+     */
+    public int prerequisiteCount(int courseId) {
+        return (courseId >= 0 && courseId < prereqCounts.length) ? prereqCounts[courseId] : 0;
+    }
+
+    /**
+     * @param courseId Interned course ID
+     * @param index 0 .. prerequisiteCount(courseId) - 1
+     * @return ID of the index-th prerequisite
+     */
+    public int prerequisiteAt(int courseId, int index) {
+        return prereqIds[courseId][index];
+    }
+
+    /**
+     * Number of courses that directly require this one, by ID
+     * @param courseId Interned course ID
+     */
+    public int dependentCount(int courseId) {
+        return (courseId >= 0 && courseId < dependentCounts.length) ? dependentCounts[courseId] : 0;
+    }
+
+    /**
+     * @param courseId Interned course ID
+     * @param index 0 .. dependentCount(courseId) - 1
+     * @return ID of the index-th dependent course
+     */
+    public int dependentAt(int courseId, int index) {
+        return dependentIds[courseId][index];
+    }
+
+    /**
+     * Get all prerequisites for a course.
+     * Returns a shared read-only view (or the shared empty list), so the call
+     * allocates nothing whether or not the course is in the graph.
+     * Codes are matched case-insensitively; a normalized code (upper case, trimmed)
+     * avoids the one normalization allocation.
+     * @param course Course code
+     * @return Read-only list of prerequisite course codes
+     */
+    public List<String> getPrerequisites(String course) {
+        return adjView.getOrDefault(key(course), Collections.emptyList());
+    }
+
+    /**
+     * Get all courses that require this course as prerequisite.
+     * Same allocation-free contract as getPrerequisites().
+     * @param prerequisite Course code
+     * @return Read-only list of dependent course codes
+     */
+    public List<String> getDependentCourses(String prerequisite) {
+        return reverseAdjView.getOrDefault(key(prerequisite), Collections.emptyList());
+    }
+
+    /**
+     * @param course Course code
+     * @return true if the course has a prerequisite edge or co-requisite link
+     */
+    public boolean containsCourse(String course) {
+        int id = interner.idOf(course);
+        return id >= 0 && memberIds.get(id);
+    }
+
+    /**
+     * Check if course has any prerequisites
+     * @param course Course code
+     * @return true if course has prerequisites
+     */
+    public boolean hasPrerequisites(String course) {
+        List<String> prereqs = adjList.get(key(course));
+        return prereqs != null && !prereqs.isEmpty();
+    }
+
+    /**
+     * Normalized form of a course code, the key of the string-keyed lists.
+     * Codes that are already normalized are resolved without allocating.
+     * @return The interned code, or the code unchanged if it was never interned
+     */
+    private String key(String code) {
+        int id = interner.idOf(code);
+        return (id >= 0) ? interner.codeOf(id) : code;
+    }
+
+    /**
+     * Detect cycles in prerequisite graph.
+     * Runs an iterative check over the compact snapshot, so deep chains
+     * cannot overflow the call stack.
+     * @return true if cycle exists
+     */
+    public boolean hasCycle() {
+        return freeze().hasCycle();
+    }
+
+    /**
+     * Get cycle path if exists.
+     * Uses an iterative three-color DFS over course IDs.
+     * @return List showing cycle path, first course repeated at the end; empty if acyclic
+     */
+    public List<String> getCyclePath() {
+        CompactPrerequisiteGraph compact = freeze();
+        return compact.toCodes(compact.findCycle());
+    }
+
+    /**
+     * Every group of courses that require each other, directly or indirectly
+     * (strongly connected components with a cycle, found with Tarjan's algorithm).
+     * @return One list of course codes per cyclic component; empty if the graph is acyclic
+     */
+    public List<List<String>> getCyclicComponents() {
+        CompactPrerequisiteGraph compact = freeze();
+        List<List<String>> components = new ArrayList<>();
+        for (int[] component : compact.cyclicComponents()) {
+            components.add(compact.toCodes(component));
         }
+        return components;
+    }
 
-        return result;
+    /**
+     * Perform topological sort using Kahn's algorithm.
+     * Runs over the compact snapshot with int arrays and an array-backed queue.
+     * @return Courses in prerequisite-first order (every course after all of its
+     *         prerequisites), or an empty list if there is a cycle
+     */
+    public List<String> topologicalSort() {
+        CompactPrerequisiteGraph compact = freeze();
+        return compact.toCodes(compact.topologicalSort());
+    }
+
+    /**
+     * Topological sort as course IDs, prerequisite-first
+     * @return Course IDs, or an empty array if there is a cycle
+     */
+    public int[] topologicalOrderIds() {
+        return freeze().topologicalSort();
+    }
+
+    /**
+     * Layered topological sort: each layer only depends on earlier layers.
+     * @return Course codes per layer, or an empty list if there is a cycle
+     */
+    public List<List<String>> getTopologicalLayers() {
+        CompactPrerequisiteGraph compact = freeze();
+        List<List<String>> layers = new ArrayList<>();
+        for (int[] layer : compact.topologicalLayers()) {
+            layers.add(compact.toCodes(layer));
+        }
+        return layers;
     }
 
     /**
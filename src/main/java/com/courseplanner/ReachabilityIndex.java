@@ -0,0 +1,206 @@
+package com.courseplanner;
+
+import java.util.*;
+
+
+/**
+ * ReachabilityIndex: Transitive closure of the prerequisite graph as one bitset per course.
+ * For each course ID it stores every course anywhere in its prerequisite chain, and
+ * every course that needs it anywhere downstream. "Is X (indirectly) required for Y"
+ * becomes a single bit test instead of a fresh DFS.
+ * Memory is about V * V / 4 bits (two directions), which suits catalogs of up to
+ * a few tens of thousands of courses.
+ * The index is updated in place when an edge is added; see PrerequisiteGraph.getReachabilityIndex().
+ */
+public class ReachabilityIndex {
+
+    private long[][] prerequisites;   // prerequisites[c] = all transitive prerequisites of c
+    private long[][] dependents;      // dependents[c] = all courses that transitively need c
+
+    /**
+     * Build the closure from a compact graph snapshot.
+     * Acyclic graphs take one pass in topological order, O(V * V / 64 + E * V / 64).
+     * Graphs with cycles fall back to one search per course.
+     * @param graph Frozen prerequisite graph
+     */
+    public ReachabilityIndex(CompactPrerequisiteGraph graph) {
+        int n = graph.getNodeCount();
+        this.prerequisites = new long[n][];
+        this.dependents = new long[n][];
+
+        int[] order = graph.topologicalSort();
+        if (order.length == graph.getMemberCount()) {
+            // Prerequisites first: each course's prerequisites are complete before it is reached
+            for (int id : order) {
+                for (int i = 0; i < graph.prerequisiteCount(id); i++) {
+                    int prereq = graph.prerequisiteAt(id, i);
+                    orInto(prerequisites, id, prerequisites[prereq]);
+                    setBit(prerequisites, id, prereq);
+                }
+            }
+            // Reverse order for the dependent direction
+            for (int k = order.length - 1; k >= 0; k--) {
+                int id = order[k];
+                for (int i = 0; i < graph.dependentCount(id); i++) {
+                    int dependent = graph.dependentAt(id, i);
+                    orInto(dependents, id, dependents[dependent]);
+                    setBit(dependents, id, dependent);
+                }
+            }
+        } else {
+            // Cycles: search from every course; rows in a cycle include the course itself
+            int[] stack = new int[n + 1];
+            boolean[] seen = new boolean[n];
+            for (int start = 0; start < n; start++) {
+                if (!graph.isMember(start)) continue;
+                Arrays.fill(seen, false);
+                int top = 0;
+                stack[top++] = start;
+                while (top > 0) {
+                    int id = stack[--top];
+                    for (int i = 0; i < graph.prerequisiteCount(id); i++) {
+                        int prereq = graph.prerequisiteAt(id, i);
+                        if (!seen[prereq]) {
+                            seen[prereq] = true;
+                            setBit(prerequisites, start, prereq);
+                            setBit(dependents, prereq, start);
+                            stack[top++] = prereq;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Is prereqId anywhere in courseId's prerequisite chain?
+     * Time Complexity: O(1).
+     */
+    public boolean isPrerequisite(int prereqId, int courseId) {
+        return testBit(prerequisites, courseId, prereqId);
+    }
+
+    /**
+     * @return IDs of all direct and indirect prerequisites of courseId, ascending
+     */
+    public int[] getAllPrerequisites(int courseId) {
+        return toIds(row(prerequisites, courseId));
+    }
+
+    /**
+     * @return IDs of all courses that directly or indirectly require courseId, ascending
+     */
+    public int[] getAllDependents(int courseId) {
+        return toIds(row(dependents, courseId));
+    }
+
+    /**
+     * @return Number of transitive prerequisites of courseId
+     */
+    public int prerequisiteCount(int courseId) {
+        return popCount(row(prerequisites, courseId));
+    }
+
+    /**
+     * @return Number of courses that transitively require courseId
+     */
+    public int dependentCount(int courseId) {
+        return popCount(row(dependents, courseId));
+    }
+
+    /**
+     * Update the closure for a new edge "courseId requires prereqId".
+     * Every course that needs courseId (and courseId itself) gains prereqId and its
+     * prerequisites; symmetrically for the dependent direction.
+     * Time Complexity: O((|affected courses|) * V / 64).
+     */
+    public void addEdge(int courseId, int prereqId) {
+        ensureCapacity(Math.max(courseId, prereqId) + 1);
+
+        // Snapshot both sides before changing anything
+        long[] gainedPrereqs = copyWithBit(row(prerequisites, prereqId), prereqId);
+        long[] gainedDependents = copyWithBit(row(dependents, courseId), courseId);
+
+        // courseId and everything downstream of it (both already in gainedDependents)
+        // gain the new prerequisites
+        for (int id : toIds(gainedDependents)) {
+            orInto(prerequisites, id, gainedPrereqs);
+        }
+        // prereqId and everything upstream of it gain the new dependents
+        for (int id : toIds(gainedPrereqs)) {
+            orInto(dependents, id, gainedDependents);
+        }
+    }
+
+    private void ensureCapacity(int n) {
+        if (n > prerequisites.length) {
+            int capacity = Math.max(n, prerequisites.length * 2);
+            prerequisites = Arrays.copyOf(prerequisites, capacity);
+            dependents = Arrays.copyOf(dependents, capacity);
+        }
+    }
+
+    // ----- Bitset helpers over possibly-null, possibly-short rows -----
+
+    private static long[] row(long[][] rows, int id) {
+        return (id >= 0 && id < rows.length) ? rows[id] : null;
+    }
+
+    private static boolean testBit(long[][] rows, int id, int bit) {
+        long[] r = row(rows, id);
+        int word = bit >>> 6;
+        return r != null && bit >= 0 && word < r.length && (r[word] & (1L << bit)) != 0;
+    }
+
+    private static void setBit(long[][] rows, int id, int bit) {
+        int word = bit >>> 6;
+        long[] r = rows[id];
+        if (r == null || r.length <= word) {
+            r = (r == null) ? new long[word + 1] : Arrays.copyOf(r, Math.max(word + 1, r.length * 2));
+            rows[id] = r;
+        }
+        r[word] |= 1L << bit;
+    }
+
+    private static void orInto(long[][] rows, int id, long[] bits) {
+        if (bits == null) return;
+        long[] r = rows[id];
+        if (r == null || r.length < bits.length) {
+            r = (r == null) ? new long[bits.length] : Arrays.copyOf(r, bits.length);
+            rows[id] = r;
+        }
+        for (int w = 0; w < bits.length; w++) {
+            r[w] |= bits[w];
+        }
+    }
+
+    private static long[] copyWithBit(long[] bits, int bit) {
+        int word = bit >>> 6;
+        long[] copy = (bits == null) ? new long[word + 1] : Arrays.copyOf(bits, Math.max(bits.length, word + 1));
+        copy[word] |= 1L << bit;
+        return copy;
+    }
+
+    private static int popCount(long[] bits) {
+        if (bits == null) return 0;
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static int[] toIds(long[] bits) {
+        int[] ids = new int[popCount(bits)];
+        if (bits == null) return ids;
+        int n = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                ids[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,194 @@
+package com.courseplanner;
+
+import java.io.*;
+import java.time.Instant;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * RingBufferFileEventSink: Asynchronous audit sink that appends catalog events to a file.
+ * Producers only copy the event into a fixed-size ring buffer; a single background
+ * writer thread drains it in batches, formats timestamps and writes through a
+ * BufferedWriter, flushing once per batch. When the ring is full producers wait
+ * rather than drop events, so the audit trail stays complete.
+ */
+public class RingBufferFileEventSink implements CatalogEventSink, Closeable {
+
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    // Parallel arrays form the ring: slot i holds one event
+    private final String[] events;
+    private final String[] codes;
+    private final long[] timestamps;
+
+    private int head;   // Next slot to drain
+    private int size;   // Number of pending events
+    private boolean closed;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private final BufferedWriter writer;
+    private final Thread writerThread;
+    private volatile IOException failure;
+
+    /**
+     * Create a sink appending to the given file with the default ring capacity
+     * @param filename Audit log file
+     */
+    public RingBufferFileEventSink(String filename) throws IOException {
+        this(filename, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a sink appending to the given file
+     * @param filename Audit log file
+     * @param capacity Number of events the ring can hold before producers wait
+     */
+    public RingBufferFileEventSink(String filename, int capacity) throws IOException {
+        this(open(filename, capacity), capacity);
+    }
+
+    /**
+     * Create a sink writing to any Writer (tests use one that fails on demand)
+     * @param out Destination; closed by close()
+     * @param capacity Number of events the ring can hold before producers wait
+     */
+    RingBufferFileEventSink(Writer out, int capacity) {
+        checkCapacity(capacity);
+        this.events = new String[capacity];
+        this.codes = new String[capacity];
+        this.timestamps = new long[capacity];
+        this.writer = new BufferedWriter(out);
+
+        this.writerThread = new Thread(this::drainLoop, "catalog-event-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+    }
+
+    /**
+     * Check the capacity before opening, so a bad one does not leave the file open
+     */
+    private static Writer open(String filename, int capacity) throws IOException {
+        checkCapacity(capacity);
+        return new FileWriter(filename, true);
+    }
+
+    /**
+     * Copy the event into the ring. Blocks only if the writer has fallen a full ring behind.
+     */
+    @Override
+    public void record(String event, String courseCode) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            while (size == events.length && !closed) {
+                notFull.awaitUninterruptibly();
+            }
+            if (closed) {
+                return;
+            }
+            int tail = (head + size) % events.length;
+            events[tail] = event;
+            codes[tail] = courseCode;
+            timestamps[tail] = now;
+            size++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Background loop: take everything pending in one batch, write it outside the lock.
+     */
+    private void drainLoop() {
+        String[] batchEvents = new String[events.length];
+        String[] batchCodes = new String[events.length];
+        long[] batchTimes = new long[events.length];
+
+        while (true) {
+            int count;
+            boolean finished;
+
+            lock.lock();
+            try {
+                while (size == 0 && !closed) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                count = size;
+                for (int i = 0; i < count; i++) {
+                    int slot = (head + i) % events.length;
+                    batchEvents[i] = events[slot];
+                    batchCodes[i] = codes[slot];
+                    batchTimes[i] = timestamps[slot];
+                    events[slot] = null;
+                    codes[slot] = null;
+                }
+                head = (head + count) % events.length;
+                size = 0;
+                finished = closed;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                for (int i = 0; i < count; i++) {
+                    writer.write("[CourseBST-LOG] " + Instant.ofEpochMilli(batchTimes[i]) + ": "
+                            + batchEvents[i] + ": " + batchCodes[i]);
+                    writer.newLine();
+                }
+                writer.flush();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;   // Keep the first; later batches are still attempted
+                }
+            }
+
+            if (finished) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stop accepting events, write everything still pending and close the file.
+     * @throws IOException if any write failed while the sink was running
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
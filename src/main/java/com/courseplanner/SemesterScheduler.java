@@ -0,0 +1,293 @@
+package com.courseplanner;
+
+import java.util.*;
+
+
+/**
+ * SemesterScheduler: Packs courses into semesters in O(V + E) plus the scan of the
+ * ready set, instead of re-checking every remaining course every semester.
+ * Each course keeps a counter of prerequisites not yet done. Scheduling a course
+ * decrements its dependents' counters, and a course whose counter reaches 0 becomes
+ * ready from the next semester on. The ready set is a BitSet over priority ranks, so
+ * walking it visits ready courses in priority order:
+ * longest chain of dependents first (critical-path height), then fewer prerequisites,
+ * then the caller's order.
+ * The scheduler is immutable and keeps all per-plan state local to schedule(), so
+ * one instance can serve concurrent requests. It reads the graph's snapshot at
+ * construction; build a new one after the graph changes.
+ */
+public class SemesterScheduler {
+
+    private final PrerequisiteGraph graph;
+    private final CompactPrerequisiteGraph compact;
+    private final CriticalPathAnalysis analysis;
+
+    /**
+     * @param graph Prerequisite graph to schedule against
+     */
+    public SemesterScheduler(PrerequisiteGraph graph) {
+        this.graph = graph;
+        this.compact = graph.freeze();
+        this.analysis = graph.getCriticalPathAnalysis();
+    }
+
+    /**
+     * Build a semester plan within a policy's limits.
+     * Courses with a prerequisite expression are released as soon as the expression
+     * holds. A co-requisite is met by an earlier semester or by the same one: a course
+     * that needs its co-requisites alongside is placed together with them (and with
+     * theirs, transitively), all in one semester or not at all.
+     * A ready course is only placed in a term it is offered in, so a semester can
+     * be empty when nothing ready is offered that term. After a full year of empty
+     * semesters nothing can change any more, so scheduling stops there and those
+     * empty semesters are dropped.
+     * A course heavier than the credit cap gets a semester of its own.
+     * Minimum grades are checked against the student's grades for completed courses;
+     * a course planned here is assumed to be passed well enough (see planningGrades()).
+     * Time Complexity: O(V + E + semesters * ready courses).
+     * @param courseIds Courses to schedule, in tie-break order
+     * @param creditsById Credits per course ID
+     * @param done IDs of courses already completed (not scheduled, count as satisfied)
+     * @param gradeById Grade per course ID (NaN if unknown); null ignores minimum grades
+     * @param policy Credit, semester, course-count and term limits
+     * @return Course IDs per semester; courses that can never be scheduled, or do not
+     *         fit in the policy's semester limit, are left out. Nothing is printed:
+     *         callers compare the plan with courseIds to report what is missing.
+     */
+    public List<int[]> schedule(int[] courseIds, int[] creditsById, BitSet done, double[] gradeById,
+                                PlanPolicy policy) {
+        int n = courseIds.length;
+        int maxCredits = policy.getMaxCredits();
+        int maxCourses = policy.getMaxCoursesPerTerm();
+        int nodeCount = Math.max(compact.getNodeCount(), maxId(courseIds) + 1);
+        double[] grades = planningGrades(gradeById, done, nodeCount);
+
+        // Rank the courses once; from here on the scheduler works in rank space
+        Integer[] byPriority = new Integer[n];
+        for (int i = 0; i < n; i++) byPriority[i] = i;
+        Arrays.sort(byPriority, (a, b) -> {
+            int idA = courseIds[a];
+            int idB = courseIds[b];
+            int byHeight = Integer.compare(analysis.getHeight(idB), analysis.getHeight(idA));
+            if (byHeight != 0) return byHeight;
+            int byPrereqs = Integer.compare(compact.prerequisiteCount(idA), compact.prerequisiteCount(idB));
+            if (byPrereqs != 0) return byPrereqs;
+            return Integer.compare(a, b);
+        });
+        int[] courseAt = new int[n];          // rank -> course ID
+        int[] rankOf = new int[nodeCount];    // course ID -> rank, -1 if not to be scheduled
+        Arrays.fill(rankOf, -1);
+        for (int r = 0; r < n; r++) {
+            courseAt[r] = courseIds[byPriority[r]];
+            rankOf[courseAt[r]] = r;
+        }
+
+        // Courses that can be planned at all; co-requisites among them count as met when releasing
+        int[] termMask = new int[n];
+        BitSet schedulable = new BitSet(nodeCount);
+        for (int r = 0; r < n; r++) {
+            termMask[r] = policy.getTermMask(compact.getInterner().codeOf(courseAt[r]));
+            if (termMask[r] != 0) {
+                schedulable.set(courseAt[r]);
+            }
+        }
+
+        // Counters of prerequisites not yet satisfied
+        BitSet satisfied = (BitSet) done.clone();
+        int[] remaining = new int[n];
+        BitSet ready = new BitSet(n);
+        int minCredits = Integer.MAX_VALUE;
+        for (int r = 0; r < n; r++) {
+            int id = courseAt[r];
+            minCredits = Math.min(minCredits, creditsById[id]);
+            if (termMask[r] == 0) {
+                continue;   // Never offered: it and its dependents stay out of the ready set
+            }
+            for (int i = 0; i < compact.prerequisiteCount(id); i++) {
+                if (!done.get(compact.prerequisiteAt(id, i))) {
+                    remaining[r]++;
+                }
+            }
+            if (isReleased(id, remaining[r], satisfied, grades, schedulable)) {
+                // An expression course can be released with prerequisites left; zero the
+                // counter so scheduling one of them does not release it a second time
+                remaining[r] = 0;
+                ready.set(r);
+            }
+        }
+
+        List<int[]> plan = new ArrayList<>();
+        int[] semester = new int[n];
+        BitSet inSemester = new BitSet(nodeCount);
+        int[] group = new int[n];
+        int emptyRun = 0;       // Consecutive semesters with nothing placed
+        while (!ready.isEmpty() && plan.size() < policy.getMaxSemesters()) {
+            int termBit = 1 << policy.termOf(plan.size());
+            int size = 0;
+            int credits = 0;
+            inSemester.clear();
+            for (int r = ready.nextSetBit(0); r >= 0 && maxCredits - credits >= minCredits && size < maxCourses;
+                 r = ready.nextSetBit(r + 1)) {
+                int id = courseAt[r];
+                if ((termMask[r] & termBit) == 0) {
+                    continue;
+                }
+                if (graph.isRequirementMet(id, satisfied, grades, null)) {
+                    if (credits + creditsById[id] <= maxCredits) {
+                        semester[size++] = id;
+                        credits += creditsById[id];
+                        inSemester.set(id);
+                        ready.clear(r);
+                    }
+                    continue;
+                }
+
+                // Needs co-requisites alongside: place the whole group or none of it
+                int groupSize = corequisiteGroup(id, satisfied, grades, inSemester, ready, rankOf, termMask, termBit, group);
+                int groupCredits = 0;
+                for (int k = 0; k < groupSize; k++) {
+                    groupCredits += creditsById[group[k]];
+                }
+                if (groupSize == 0 || credits + groupCredits > maxCredits || size + groupSize > maxCourses) {
+                    continue;
+                }
+                for (int k = 0; k < groupSize; k++) {
+                    inSemester.set(group[k]);
+                }
+                boolean met = true;
+                for (int k = 0; k < groupSize && met; k++) {
+                    met = graph.isRequirementMet(group[k], satisfied, grades, inSemester);
+                }
+                if (!met) {
+                    for (int k = 0; k < groupSize; k++) {
+                        inSemester.clear(group[k]);
+                    }
+                    continue;
+                }
+                for (int k = 0; k < groupSize; k++) {
+                    semester[size++] = group[k];
+                    ready.clear(rankOf[group[k]]);
+                }
+                credits += groupCredits;
+            }
+            if (size == 0) {
+                // Only over-cap courses are offered: give the first one a semester to itself
+                for (int r = ready.nextSetBit(0); r >= 0; r = ready.nextSetBit(r + 1)) {
+                    if ((termMask[r] & termBit) != 0 && graph.isRequirementMet(courseAt[r], satisfied, grades, null)) {
+                        semester[size++] = courseAt[r];
+                        ready.clear(r);
+                        break;
+                    }
+                }
+            }
+
+            // Courses taken this semester release their dependents for the next one
+            for (int k = 0; k < size; k++) {
+                satisfied.set(semester[k]);
+            }
+            for (int k = 0; k < size; k++) {
+                int id = semester[k];
+                for (int i = 0; i < compact.dependentCount(id); i++) {
+                    int dependent = compact.dependentAt(id, i);
+                    int r = (dependent < nodeCount) ? rankOf[dependent] : -1;
+                    if (r >= 0 && remaining[r] > 0) {
+                        remaining[r]--;
+                        if (isReleased(dependent, remaining[r], satisfied, grades, schedulable)) {
+                            remaining[r] = 0;
+                            ready.set(r);
+                        }
+                    }
+                }
+            }
+
+            plan.add(Arrays.copyOf(semester, size));
+
+            // An empty semester changes nothing, so a whole year of them repeats forever
+            emptyRun = (size == 0) ? emptyRun + 1 : 0;
+            if (emptyRun == policy.getTermsPerYear()) {
+                plan.subList(plan.size() - emptyRun, plan.size()).clear();
+                break;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Plain courses are released when every prerequisite is done;
+     * expression courses as soon as their expression holds, counting co-requisites
+     * that are still to be planned as met (they are checked again when placing)
+     */
+    private boolean isReleased(int id, int remainingPrereqs, BitSet satisfied, double[] grades, BitSet schedulable) {
+        PrerequisiteExpression expression = graph.getPrerequisiteExpression(id);
+        if (expression != null) {
+            return expression.isSatisfied(satisfied, grades, schedulable);
+        }
+        return remainingPrereqs == 0;
+    }
+
+    /**
+     * Collect a course and the co-requisites it needs in this semester, transitively:
+     * every unsatisfied co-requisite of a member whose requirement is not already met.
+     * Members already in the semester are not collected again.
+     * @return Number of courses written to group, or 0 if a member is not ready or not offered this term
+     */
+    private int corequisiteGroup(int id, BitSet satisfied, double[] grades, BitSet inSemester, BitSet ready,
+                                 int[] rankOf, int[] termMask, int termBit, int[] group) {
+        int size = 0;
+        group[size++] = id;
+        for (int k = 0; k < size; k++) {
+            int member = group[k];
+            if (graph.isRequirementMet(member, satisfied, grades, null)) {
+                continue;
+            }
+            for (int i = 0; i < graph.corequisiteCount(member); i++) {
+                int coreq = graph.corequisiteAt(member, i);
+                if (satisfied.get(coreq) || inSemester.get(coreq) || contains(group, size, coreq)) {
+                    continue;
+                }
+                int r = (coreq < rankOf.length) ? rankOf[coreq] : -1;
+                if (r < 0 || !ready.get(r) || (termMask[r] & termBit) == 0) {
+                    return 0;
+                }
+                group[size++] = coreq;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Grades to plan with: the student's grade for each completed course, and +infinity
+     * for every other course, since a course still to be planned is assumed to be
+     * passed with whatever grade its dependents ask for
+     * @param gradeById Grade per course ID (NaN if unknown); null ignores minimum grades
+     * @param done IDs of completed courses
+     * @param size Minimum length of the result
+     * @return Grades per course ID, or null if gradeById is null
+     */
+    static double[] planningGrades(double[] gradeById, BitSet done, int size) {
+        if (gradeById == null) {
+            return null;
+        }
+        double[] grades = new double[Math.max(size, gradeById.length)];
+        Arrays.fill(grades, Double.POSITIVE_INFINITY);
+        for (int id = done.nextSetBit(0); id >= 0 && id < grades.length; id = done.nextSetBit(id + 1)) {
+            grades[id] = (id < gradeById.length) ? gradeById[id] : Double.NaN;
+        }
+        return grades;
+    }
+
+    private static boolean contains(int[] ids, int count, int id) {
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == id) return true;
+        }
+        return false;
+    }
+
+    private static int maxId(int[] ids) {
+        int max = -1;
+        for (int id : ids) {
+            max = Math.max(max, id);
+        }
+        return max;
+    }
+}
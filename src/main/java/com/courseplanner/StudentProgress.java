@@ -0,0 +1,264 @@
+package com.courseplanner;
+
+import java.util.*;
+
+
+/**
+ * StudentProgress: One student's completed courses and grades, kept apart from the
+ * shared Course objects so one catalog can serve many students at once.
+ * Completed courses are a BitSet over interned course IDs and grades a float array
+ * by ID (NaN where no grade is recorded), so a student's state is a few hundred
+ * bytes for a typical catalog. Planners, suggesters and exporters take a
+ * StudentProgress as a parameter and never write to the catalog.
+ * Every change bumps getVersion(), which lets callers keep derived state (such as an
+ * EligibilityEngine) and notice when it is stale.
+ * An instance belongs to one student session and is not synchronized; use copy()
+ * to hand a snapshot to another thread.
+ */
+public class StudentProgress {
+
+    private final CourseCodeInterner interner;
+    private final BitSet completed;
+    private float[] grades;     // NaN where no grade is recorded
+    private volatile double[] gradesById;  // Widened grades for gradesView(), null after a grade change
+    private long version;
+
+    /**
+     * @param interner Interner shared with the catalog and prerequisite graph
+     */
+    public StudentProgress(CourseCodeInterner interner) {
+        this.interner = interner;
+        this.completed = new BitSet();
+        this.grades = new float[0];
+    }
+
+    /**
+     * Build progress from the list/map form used by the progress file
+     * Time Complexity: O(C + G) for C completed courses and G grades.
+     * @param interner Interner shared with the catalog and prerequisite graph
+     * @param completedCourses Completed course codes
+     * @param grades Grade per course code (0-100)
+     */
+    public StudentProgress(CourseCodeInterner interner, Collection<String> completedCourses,
+                           Map<String, Double> grades) {
+        this(interner);
+        for (String code : completedCourses) {
+            completed.set(interner.intern(code));
+        }
+        for (Map.Entry<String, Double> entry : grades.entrySet()) {
+            if (entry.getValue() != null) {
+                storeGrade(interner.intern(entry.getKey()), entry.getValue());
+            }
+        }
+    }
+
+    private StudentProgress(StudentProgress other) {
+        this.interner = other.interner;
+        this.completed = (BitSet) other.completed.clone();
+        this.grades = other.grades.clone();
+        this.version = other.version;
+    }
+
+    /**
+     * @return Independent copy of this progress
+     */
+    public StudentProgress copy() {
+        return new StudentProgress(this);
+    }
+
+    public CourseCodeInterner getInterner() {
+        return interner;
+    }
+
+    /**
+     * @return Counter bumped on every change
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void markCompleted(String courseCode) {
+        markCompleted(interner.intern(courseCode));
+    }
+
+    /**
+     * Record a completed course and its grade
+     * @param courseCode Course code
+     * @param grade Grade obtained (0-100), NaN if none
+     */
+    public void markCompleted(String courseCode, double grade) {
+        int id = interner.intern(courseCode);
+        markCompleted(id);
+        setGrade(id, grade);
+    }
+
+    public void markCompleted(int courseId) {
+        if (!completed.get(courseId)) {
+            completed.set(courseId);
+            version++;
+        }
+    }
+
+    /**
+     * Undo a completion; the course's grade is removed too
+     * @param courseCode Course code
+     */
+    public void removeCompleted(String courseCode) {
+        int id = interner.idOf(courseCode);
+        if (id < 0) return;
+        if (completed.get(id)) {
+            completed.clear(id);
+            version++;
+        }
+        setGrade(id, Double.NaN);
+    }
+
+    /**
+     * Forget every completed course and grade
+     */
+    public void clear() {
+        completed.clear();
+        grades = new float[0];
+        gradesById = null;
+        version++;
+    }
+
+    public boolean isCompleted(String courseCode) {
+        return isCompleted(interner.idOf(courseCode));
+    }
+
+    public boolean isCompleted(int courseId) {
+        return courseId >= 0 && completed.get(courseId);
+    }
+
+    /**
+     * @param courseId Interned course ID
+     * @param grade Grade (0-100), NaN to remove it
+     */
+    public void setGrade(int courseId, double grade) {
+        if (Float.compare(getGradeValue(courseId), (float) grade) == 0) {
+            return;
+        }
+        storeGrade(courseId, grade);
+        version++;
+    }
+
+    /**
+     * @return Grade for the course, NaN if none is recorded
+     */
+    public double getGrade(String courseCode) {
+        return getGradeValue(interner.idOf(courseCode));
+    }
+
+    public double getGrade(int courseId) {
+        return getGradeValue(courseId);
+    }
+
+    public boolean hasGrade(String courseCode) {
+        return !Double.isNaN(getGrade(courseCode));
+    }
+
+    private float getGradeValue(int courseId) {
+        return (courseId >= 0 && courseId < grades.length) ? grades[courseId] : Float.NaN;
+    }
+
+    private void storeGrade(int courseId, double grade) {
+        gradesById = null;
+        if (courseId >= grades.length) {
+            if (Double.isNaN(grade)) return;
+            int oldLength = grades.length;
+            grades = Arrays.copyOf(grades, Math.max(courseId + 1, interner.size()));
+            Arrays.fill(grades, oldLength, grades.length, Float.NaN);
+        }
+        grades[courseId] = (float) grade;
+    }
+
+    public int getCompletedCount() {
+        return completed.cardinality();
+    }
+
+    /**
+     * @return Copy of the completed set, keyed by course ID
+     */
+    public BitSet getCompletedIds() {
+        return (BitSet) completed.clone();
+    }
+
+    /**
+     * The live completed set, for read-only use inside the package
+     * (avoids a copy per eligibility check)
+     */
+    BitSet completedView() {
+        return completed;
+    }
+
+    /**
+     * @return Grades widened to doubles, one slot per interned ID (NaN where none)
+     */
+    public double[] getGradesById() {
+        double[] gradeById = new double[Math.max(grades.length, interner.size())];
+        Arrays.fill(gradeById, Double.NaN);
+        for (int id = 0; id < grades.length; id++) {
+            gradeById[id] = grades[id];
+        }
+        return gradeById;
+    }
+
+    /**
+     * Grades as getGradesById() returns them, built once per change and shared,
+     * for read-only use inside the package (avoids a copy per eligibility check).
+     * Safe to call from several threads while the progress is not being changed.
+     */
+    double[] gradesView() {
+        double[] view = gradesById;
+        if (view == null) {
+            view = getGradesById();
+            gradesById = view;
+        }
+        return view;
+    }
+
+    /**
+     * @return Completed course codes, in ID order
+     */
+    public List<String> getCompletedCourses() {
+        List<String> codes = new ArrayList<>(completed.cardinality());
+        for (int id = completed.nextSetBit(0); id >= 0; id = completed.nextSetBit(id + 1)) {
+            codes.add(interner.codeOf(id));
+        }
+        return codes;
+    }
+
+    /**
+     * @return Recorded grades by course code
+     */
+    public HashMap<String, Double> getGrades() {
+        HashMap<String, Double> byCode = new HashMap<>();
+        for (int id = 0; id < grades.length; id++) {
+            if (!Float.isNaN(grades[id])) {
+                byCode.put(interner.codeOf(id), (double) grades[id]);
+            }
+        }
+        return byCode;
+    }
+
+    /**
+     * @return Mean of the recorded grades, 0 if there are none
+     */
+    public double getAverageGrade() {
+        double total = 0;
+        int count = 0;
+        for (float grade : grades) {
+            if (!Float.isNaN(grade)) {
+                total += grade;
+                count++;
+            }
+        }
+        return (count > 0) ? total / count : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return getCompletedCount() + " completed courses";
+    }
+}
@@ -0,0 +1,43 @@
+package com.courseplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BulkLoadBenchmark: Building a catalog with the bulk-load constructor against
+ * inserting the same courses one at a time, from shuffled input.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class BulkLoadBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int courses;
+
+    private List<Course> input;
+
+    @Setup
+    public void setUp() {
+        input = SyntheticCatalog.shuffledCourses(courses, 1);
+    }
+
+    @Benchmark
+    public CourseBST bulkLoad() {
+        return new CourseBST(input, new CourseCodeInterner());
+    }
+
+    @Benchmark
+    public CourseBST repeatedInsert() {
+        CourseBST tree = new CourseBST(new CourseCodeInterner());
+        for (Course course : input) {
+            tree.insert(course);
+        }
+        return tree;
+    }
+}
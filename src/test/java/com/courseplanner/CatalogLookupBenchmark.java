@@ -0,0 +1,76 @@
+package com.courseplanner;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CatalogLookupBenchmark: search() on the catalog backends, for a batch of random
+ * codes that are all in the catalog.
+ *   - hashIndex: CourseBST (HashMap index over the AVL tree)
+ *   - pointerTree: ConcurrentCourseCatalog (descent through node objects)
+ *   - eytzinger: FrozenCourseCatalog (implicit array layout, packed code arena)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class CatalogLookupBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"10000", "100000", "1000000"})
+    public int courses;
+
+    private CourseBST hashIndex;
+    private ConcurrentCourseCatalog pointerTree;
+    private FrozenCourseCatalog eytzinger;
+    private String[] queries;
+
+    @Setup
+    public void setUp() {
+        List<Course> input = SyntheticCatalog.courses(courses, 1);
+        hashIndex = new CourseBST(input, new CourseCodeInterner());
+        pointerTree = new ConcurrentCourseCatalog();
+        for (Course course : input) {
+            pointerTree.insert(course);
+        }
+        eytzinger = new FrozenCourseCatalog(input);
+
+        // Fresh String objects, so no lookup can reuse a cached hash code from the catalog
+        Random random = new Random(2);
+        queries = new String[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            queries[i] = new String(SyntheticCatalog.code(random.nextInt(courses)).toCharArray());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void hashIndex(Blackhole blackhole) {
+        for (String code : queries) {
+            blackhole.consume(hashIndex.search(code));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void pointerTree(Blackhole blackhole) {
+        for (String code : queries) {
+            blackhole.consume(pointerTree.search(code));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void eytzinger(Blackhole blackhole) {
+        for (String code : queries) {
+            blackhole.consume(eytzinger.search(code));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.courseplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CatalogUpdateBenchmark: Incremental catalog changes (rename, delete and re-insert,
+ * a batch of updates) against rebuilding the catalog and the prerequisite graph
+ * from scratch, which is what each change cost before the tree could be mutated.
+ * Each incremental benchmark undoes its change, so the state is the same for every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class CatalogUpdateBenchmark {
+
+    @Param({"10000", "100000"})
+    public int courses;
+
+    private List<Course> input;
+    private List<String[]> edges;       // {course, prerequisite}
+    private CourseBST tree;
+    private PrerequisiteGraph graph;
+    private List<Course> batch;
+    private List<Course> originals;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        input = SyntheticCatalog.courses(courses, 1);
+        CourseCodeInterner interner = new CourseCodeInterner();
+        tree = new CourseBST(input, interner);
+        graph = SyntheticCatalog.layeredGraph(interner, courses, 10, 2);
+
+        edges = new ArrayList<>();
+        for (int i = 0; i < courses; i++) {
+            String code = SyntheticCatalog.code(i);
+            for (String prereq : graph.getPrerequisites(code)) {
+                edges.add(new String[]{code, prereq});
+            }
+        }
+
+        // 1000 courses with new names, spread over the catalog
+        batch = new ArrayList<>();
+        originals = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Course course = input.get((int) ((long) i * courses / 1000));
+            originals.add(course);
+            batch.add(new Course(course.getCode(), course.getName() + " (revised)", course.getCredits()));
+        }
+    }
+
+    /**
+     * Rename a course in the catalog and the graph, then rename it back
+     */
+    @Benchmark
+    public boolean renameIncremental() {
+        Course course = nextCourse();
+        Course renamed = new Course("X" + course.getCode(), course.getName(), course.getCredits());
+        boolean ok = tree.rename(course.getCode(), renamed) && graph.renameCourse(course.getCode(), renamed.getCode());
+        return ok && graph.renameCourse(renamed.getCode(), course.getCode()) && tree.rename(renamed.getCode(), course);
+    }
+
+    /**
+     * Retire a course, then add it back with its prerequisite edges
+     */
+    @Benchmark
+    public boolean deleteAndReinsertIncremental() {
+        Course course = nextCourse();
+        String code = course.getCode();
+        List<String> prereqs = new ArrayList<>(graph.getPrerequisites(code));
+        List<String> dependents = new ArrayList<>(graph.getDependentCourses(code));
+        boolean deleted = tree.delete(code) != null;
+        graph.removeCourse(code);
+
+        tree.insert(course);
+        for (String prereq : prereqs) {
+            graph.addPrerequisite(code, prereq);
+        }
+        for (String dependent : dependents) {
+            graph.addPrerequisite(dependent, code);
+        }
+        return deleted;
+    }
+
+    /**
+     * 1000 updates as one batch, then the originals back as a second batch
+     */
+    @Benchmark
+    public long batchUpdate() {
+        tree.applyBatch(batch, List.of());
+        tree.applyBatch(originals, List.of());
+        return tree.getVersion();
+    }
+
+    /**
+     * The same 1000 updates one at a time, then the originals back
+     */
+    @Benchmark
+    public long singleUpdates() {
+        for (Course course : batch) {
+            tree.update(course);
+        }
+        for (Course course : originals) {
+            tree.update(course);
+        }
+        return tree.getVersion();
+    }
+
+    /**
+     * Rebuild the catalog and the graph from the full course and edge lists
+     */
+    @Benchmark
+    public PrerequisiteGraph fullRebuild() {
+        CourseCodeInterner interner = new CourseCodeInterner();
+        CourseBST rebuilt = new CourseBST(input, interner);
+        PrerequisiteGraph rebuiltGraph = new PrerequisiteGraph(rebuilt.getInterner());
+        for (String[] edge : edges) {
+            rebuiltGraph.addPrerequisite(edge[0], edge[1]);
+        }
+        return rebuiltGraph;
+    }
+
+    private Course nextCourse() {
+        next = (next + 7919) % courses;
+        return input.get(next);
+    }
+}
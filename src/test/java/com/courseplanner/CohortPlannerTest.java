@@ -0,0 +1,129 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CohortPlannerTest {
+
+    @Test
+    void planAllReturnsPlansInStreamOrderMatchingASerialSchedule() {
+        CourseCodeInterner interner = new CourseCodeInterner();
+        CourseBST tree = new CourseBST(SyntheticCatalog.courses(300, 1), interner);
+        PrerequisiteGraph graph = SyntheticCatalog.layeredGraph(interner, 300, 10, 2);
+        List<CohortPlanner.StudentRecord> students = cohort(new CohortPlanner(tree, graph), 300, 10, 200, 3);
+        PlanPolicy policy = PlanPolicy.defaults();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<CohortPlanner.StudentPlan> plans =
+                    new CohortPlanner(tree, graph, pool).planAll(students.stream(), policy);
+
+            // The reference: the same scheduler run on this thread, one student at a time
+            SemesterScheduler scheduler = new SemesterScheduler(graph);
+            List<Course> courses = tree.inOrderTraversal();
+            int[] creditsById = new int[interner.size()];
+            for (Course course : courses) {
+                creditsById[interner.idOf(course.getCode())] = course.getCredits();
+            }
+
+            assertEquals(students.size(), plans.size());
+            for (int i = 0; i < students.size(); i++) {
+                CohortPlanner.StudentRecord student = students.get(i);
+                BitSet done = student.getProgress().getCompletedIds();
+                int[] remaining = courses.stream()
+                        .mapToInt(course -> interner.idOf(course.getCode()))
+                        .filter(id -> !done.get(id))
+                        .toArray();
+                List<int[]> expected = scheduler.schedule(remaining, creditsById, done,
+                        student.getProgress().gradesView(), policy);
+
+                CohortPlanner.StudentPlan plan = plans.get(i);
+                assertEquals(student.getStudentId(), plan.getStudentId(), "plan " + i);
+                assertEquals(expected.size(), plan.getSemesters().size(), student.getStudentId());
+                for (int s = 0; s < expected.size(); s++) {
+                    int[] ids = plan.getSemesters().get(s).stream()
+                            .mapToInt(course -> interner.idOf(course.getCode()))
+                            .toArray();
+                    assertArrayEquals(expected.get(s), ids, student.getStudentId() + ", semester " + s);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void incompletePlansAreFlaggedInsteadOfPrinted() {
+        CourseCodeInterner interner = new CourseCodeInterner();
+        CourseBST tree = new CourseBST(SyntheticCatalog.courses(300, 1), interner);
+        PrerequisiteGraph graph = SyntheticCatalog.layeredGraph(interner, 300, 10, 2);
+        CohortPlanner planner = new CohortPlanner(tree, graph, ForkJoinPool.commonPool());
+        List<CohortPlanner.StudentRecord> students = cohort(planner, 300, 10, 100, 4);
+
+        // No credit cap, so a student with k layers done needs 10 - k semesters
+        PlanPolicy fiveSemesters = PlanPolicy.defaults().withCreditRange(0, 10_000).withMaxSemesters(5);
+        // The last course is never offered, so nobody can plan it
+        PlanPolicy lastNeverOffered = PlanPolicy.defaults().withOfferedTerms(SyntheticCatalog.code(299));
+
+        PrintStream out = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(printed));
+        List<CohortPlanner.StudentPlan> limited;
+        List<CohortPlanner.StudentPlan> blocked;
+        try {
+            limited = planner.planAll(students.stream(), fiveSemesters);
+            blocked = planner.planAll(students.stream(), lastNeverOffered);
+        } finally {
+            System.setOut(out);
+        }
+        assertEquals("", printed.toString());
+
+        int truncated = 0;
+        for (int i = 0; i < students.size(); i++) {
+            StudentProgress progress = students.get(i).getProgress();
+            int remaining = tree.getCourseCount() - progress.getCompletedCount();
+            String what = students.get(i).getStudentId();
+
+            CohortPlanner.StudentPlan plan = limited.get(i);
+            assertEquals(remaining - plannedCount(plan), plan.getUnplannedCount(), what);
+            assertEquals(remaining > 5 * 30, plan.isTruncated(), what);
+            assertEquals(!plan.isTruncated(), plan.isComplete(), what);
+            if (plan.isTruncated()) truncated++;
+
+            plan = blocked.get(i);
+            assertEquals(1, plan.getUnplannedCount(), what);
+            assertFalse(plan.isComplete(), what);
+            assertFalse(plan.isTruncated(), what);
+        }
+        assertTrue(truncated > 0 && truncated < students.size(), truncated + " truncated");
+    }
+
+    private static int plannedCount(CohortPlanner.StudentPlan plan) {
+        return plan.getSemesters().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Students who have each completed every course of a random number of leading layers
+     * of SyntheticCatalog.layeredGraph, so their completed sets respect the prerequisites
+     */
+    static List<CohortPlanner.StudentRecord> cohort(CohortPlanner planner, int courses, int layers,
+                                                    int size, long seed) {
+        Random random = new Random(seed);
+        List<CohortPlanner.StudentRecord> students = new ArrayList<>(size);
+        for (int s = 0; s < size; s++) {
+            StudentProgress progress = planner.newProgress();
+            int completedLayers = random.nextInt(layers);
+            for (int i = 0; i < (long) completedLayers * courses / layers; i++) {
+                progress.markCompleted(SyntheticCatalog.code(i));
+            }
+            students.add(new CohortPlanner.StudentRecord(String.format("S%05d", s), progress));
+        }
+        return students;
+    }
+}
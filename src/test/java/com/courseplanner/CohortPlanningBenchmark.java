@@ -0,0 +1,56 @@
+package com.courseplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CohortPlanningBenchmark: Students planned per second by CohortPlanner.planAll as the
+ * pool grows, on a layered catalog under the default limits. Each student has completed
+ * a random number of leading layers (see CohortPlannerTest.cohort). One operation is one
+ * student, so the score is students per second.
+ * Scaling only shows with at least as many cores as threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class CohortPlanningBenchmark {
+
+    private static final int STUDENTS = 2000;
+
+    @Param({"1000"})
+    public int courses;
+
+    @Param({"1", "4", "16"})
+    public int threads;
+
+    private ForkJoinPool pool;
+    private CohortPlanner planner;
+    private List<CohortPlanner.StudentRecord> students;
+
+    @Setup
+    public void setUp() {
+        CourseCodeInterner interner = new CourseCodeInterner();
+        CourseBST tree = new CourseBST(SyntheticCatalog.courses(courses, 1), interner);
+        PrerequisiteGraph graph = SyntheticCatalog.layeredGraph(interner, courses, 10, 2);
+        pool = new ForkJoinPool(threads);
+        planner = new CohortPlanner(tree, graph, pool);
+        students = CohortPlannerTest.cohort(planner, courses, 10, STUDENTS, 3);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STUDENTS)
+    public List<CohortPlanner.StudentPlan> planAll() {
+        return planner.planAll(students.stream(), PlanPolicy.defaults());
+    }
+}
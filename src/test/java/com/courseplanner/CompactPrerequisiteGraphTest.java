@@ -0,0 +1,205 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactPrerequisiteGraphTest {
+
+    @Test
+    void topologicalSortPutsPrerequisitesFirstOnRandomDags() {
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            int n = 2 + random.nextInt(300);
+            PrerequisiteGraph graph = SyntheticCatalog.randomDag(new CourseCodeInterner(), n, random.nextInt(4 * n), seed);
+            CompactPrerequisiteGraph compact = graph.freeze();
+
+            int[] order = compact.topologicalSort();
+            assertEquals(compact.getMemberCount(), order.length, "seed " + seed);
+            int[] position = new int[compact.getNodeCount()];
+            Arrays.fill(position, -1);
+            for (int i = 0; i < order.length; i++) {
+                assertTrue(compact.isMember(order[i]), "seed " + seed);
+                assertEquals(-1, position[order[i]], "seed " + seed + ": repeated course");
+                position[order[i]] = i;
+            }
+            for (int id : order) {
+                for (int prereq : compact.getPrerequisites(id)) {
+                    assertTrue(position[prereq] < position[id], "seed " + seed);
+                }
+            }
+            assertEquals(compact.toCodes(order), graph.topologicalSort());
+            assertFalse(compact.hasCycle());
+        }
+    }
+
+    @Test
+    void topologicalLayersMatchLongestPrerequisiteChains() {
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            int n = 2 + random.nextInt(300);
+            PrerequisiteGraph graph = SyntheticCatalog.randomDag(new CourseCodeInterner(), n, random.nextInt(4 * n), seed);
+            CompactPrerequisiteGraph compact = graph.freeze();
+
+            // Half the runs treat a random set of courses as completed
+            BitSet done = null;
+            if (seed % 2 == 1) {
+                done = new BitSet();
+                for (int id = 0; id < compact.getNodeCount(); id++) {
+                    if (random.nextInt(4) == 0) done.set(id);
+                }
+            }
+
+            List<int[]> layers = compact.topologicalLayers(done);
+            assertArrayEquals(expectedLayers(compact, done), layerOf(compact, layers), "seed " + seed);
+        }
+    }
+
+    @Test
+    void cyclesProduceNoOrder() {
+        PrerequisiteGraph graph = SyntheticCatalog.randomDag(new CourseCodeInterner(), 200, 600, 7);
+        graph.addPrerequisite(SyntheticCatalog.code(0), SyntheticCatalog.code(199));
+        graph.addPrerequisite(SyntheticCatalog.code(199), SyntheticCatalog.code(0));
+        CompactPrerequisiteGraph compact = graph.freeze();
+
+        assertTrue(compact.hasCycle());
+        assertEquals(0, compact.topologicalSort().length);
+        assertTrue(compact.topologicalLayers().isEmpty());
+    }
+
+    @Test
+    void componentsMatchMutualReachabilityOnRandomGraphs() {
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            int n = 1 + random.nextInt(60);
+            PrerequisiteGraph graph = new PrerequisiteGraph(new CourseCodeInterner());
+            // Sparse to dense, with the occasional self-loop
+            for (int e = random.nextInt(3 * n); e >= 0; e--) {
+                graph.addPrerequisite(SyntheticCatalog.code(random.nextInt(n)), SyntheticCatalog.code(random.nextInt(n)));
+            }
+            CompactPrerequisiteGraph compact = graph.freeze();
+            boolean[][] reaches = reachability(compact);
+
+            Set<Set<Integer>> expected = new HashSet<>();
+            Set<Set<String>> expectedCyclic = new HashSet<>();
+            for (int id = 0; id < compact.getNodeCount(); id++) {
+                if (!compact.isMember(id)) continue;
+                Set<Integer> component = new HashSet<>();
+                for (int other = 0; other < compact.getNodeCount(); other++) {
+                    if (other == id || (reaches[id][other] && reaches[other][id])) component.add(other);
+                }
+                expected.add(component);
+                if (reaches[id][id]) {
+                    expectedCyclic.add(new HashSet<>(compact.toCodes(component.stream().mapToInt(Integer::intValue).toArray())));
+                }
+            }
+
+            Set<Set<Integer>> actual = new HashSet<>();
+            int covered = 0;
+            for (int[] component : compact.stronglyConnectedComponents()) {
+                Set<Integer> ids = new HashSet<>();
+                for (int id : component) ids.add(id);
+                assertEquals(component.length, ids.size(), "seed " + seed + ": repeated course");
+                actual.add(ids);
+                covered += component.length;
+            }
+            assertEquals(compact.getMemberCount(), covered, "seed " + seed);
+            assertEquals(expected, actual, "seed " + seed);
+
+            Set<Set<String>> cyclic = new HashSet<>();
+            for (List<String> component : graph.getCyclicComponents()) {
+                cyclic.add(new HashSet<>(component));
+            }
+            assertEquals(expectedCyclic, cyclic, "seed " + seed);
+        }
+    }
+
+    @Test
+    void deepChainsDoNotOverflowTheStack() {
+        // Far deeper than a recursive DFS survives on a default thread stack
+        int n = 200_000;
+        PrerequisiteGraph graph = new PrerequisiteGraph(new CourseCodeInterner());
+        for (int i = 1; i < n; i++) {
+            graph.addPrerequisite(SyntheticCatalog.code(i), SyntheticCatalog.code(i - 1));
+        }
+        CompactPrerequisiteGraph chain = graph.freeze();
+        assertEquals(n, chain.stronglyConnectedComponents().size());
+        assertTrue(graph.getCyclicComponents().isEmpty());
+        assertEquals(n, chain.topologicalSort().length);
+
+        // Closing the chain makes it one cycle
+        graph.addPrerequisite(SyntheticCatalog.code(0), SyntheticCatalog.code(n - 1));
+        CompactPrerequisiteGraph cycle = graph.freeze();
+        List<int[]> components = cycle.stronglyConnectedComponents();
+        assertEquals(1, components.size());
+        assertEquals(n, components.get(0).length);
+        assertEquals(n + 1, cycle.findCycle().length);
+        assertEquals(n, graph.getCyclicComponents().get(0).size());
+    }
+
+    /**
+     * reaches[a][b]: b is reachable from a along one or more prerequisite edges (BFS from every course)
+     */
+    private static boolean[][] reachability(CompactPrerequisiteGraph compact) {
+        int n = compact.getNodeCount();
+        boolean[][] reaches = new boolean[n][n];
+        for (int start = 0; start < n; start++) {
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                for (int prereq : compact.getPrerequisites(queue.poll())) {
+                    if (!reaches[start][prereq]) {
+                        reaches[start][prereq] = true;
+                        queue.add(prereq);
+                    }
+                }
+            }
+        }
+        return reaches;
+    }
+
+    /**
+     * Layer index per course ID from the sort's output (-1 if absent), checking each course appears once
+     */
+    private static int[] layerOf(CompactPrerequisiteGraph compact, List<int[]> layers) {
+        int[] layerOf = new int[compact.getNodeCount()];
+        Arrays.fill(layerOf, -1);
+        for (int l = 0; l < layers.size(); l++) {
+            assertTrue(layers.get(l).length > 0);
+            for (int id : layers.get(l)) {
+                assertEquals(-1, layerOf[id], "repeated course");
+                layerOf[id] = l;
+            }
+        }
+        return layerOf;
+    }
+
+    /**
+     * Reference layers by fixpoint: a remaining course sits one layer after its latest
+     * remaining prerequisite, and completed or non-member courses are absent
+     */
+    private static int[] expectedLayers(CompactPrerequisiteGraph compact, BitSet done) {
+        int[] layer = new int[compact.getNodeCount()];
+        Arrays.fill(layer, -1);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int id = 0; id < layer.length; id++) {
+                if (!compact.isMember(id) || (done != null && done.get(id))) continue;
+                int expected = 0;
+                for (int prereq : compact.getPrerequisites(id)) {
+                    if (done == null || !done.get(prereq)) {
+                        expected = Math.max(expected, layer[prereq] + 1);
+                    }
+                }
+                if (layer[id] != expected) {
+                    layer[id] = expected;
+                    changed = true;
+                }
+            }
+        }
+        return layer;
+    }
+}
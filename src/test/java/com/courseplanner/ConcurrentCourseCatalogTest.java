@@ -0,0 +1,99 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentCourseCatalogTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int COURSES_PER_WRITER = 5000;
+
+    @Test
+    void searchIsCaseAndSpaceInsensitive() {
+        ConcurrentCourseCatalog catalog = new ConcurrentCourseCatalog();
+        assertTrue(catalog.insert(new Course("cs101", "Intro", 3)));
+        assertFalse(catalog.insert(new Course(" CS101 ", "Duplicate", 3)));
+
+        assertEquals("Intro", catalog.search("CS101").getName());
+        assertEquals("Intro", catalog.search("  cs101").getName());
+        assertNull(catalog.search("CS102"));
+        assertEquals(1, catalog.getCourseCount());
+    }
+
+    @Test
+    void readersAlwaysSeeConsistentSnapshots() throws Exception {
+        ConcurrentCourseCatalog catalog = new ConcurrentCourseCatalog();
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS * 2 + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger added = new AtomicInteger();
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+
+        // Two writers per code range race to insert the same codes: exactly one must win each
+        for (int w = 0; w < WRITERS * 2; w++) {
+            int range = w % WRITERS;
+            writers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < COURSES_PER_WRITER; i++) {
+                    if (catalog.insert(new Course(code(range, i), "Course " + i, 3))) {
+                        added.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // Every course a traversal returns must already be searchable and counted
+        for (int r = 0; r < READERS; r++) {
+            readers.add(pool.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    List<Course> snapshot = catalog.inOrderTraversal();
+                    assertTrue(catalog.getCourseCount() >= snapshot.size());
+                    for (int i = 0; i < snapshot.size(); i++) {
+                        Course course = snapshot.get(i);
+                        assertSame(course, catalog.search(course.getCode()));
+                        if (i > 0) {
+                            assertTrue(snapshot.get(i - 1).getCode().compareTo(course.getCode()) < 0);
+                        }
+                    }
+                    assertTrue(catalog.validate());
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        for (Future<?> reader : readers) {
+            reader.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        int expected = WRITERS * COURSES_PER_WRITER;
+        assertEquals(expected, added.get());
+        assertEquals(expected, catalog.getCourseCount());
+        assertEquals(expected, catalog.inOrderTraversal().size());
+        assertTrue(catalog.validate());
+        for (int w = 0; w < WRITERS; w++) {
+            for (int i = 0; i < COURSES_PER_WRITER; i++) {
+                assertNotNull(catalog.search(code(w, i)));
+            }
+        }
+    }
+
+    private static String code(int range, int i) {
+        return String.format("C%d%05d", range, i);
+    }
+}
@@ -0,0 +1,116 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseBSTMutationTest {
+
+    private static final int CODES = 400;
+
+    @Test
+    void randomMutationsKeepTheTreeBalancedAndIndexed() {
+        for (long seed = 0; seed < 10; seed++) {
+            Random random = new Random(seed);
+            CourseBST tree = new CourseBST(new CourseCodeInterner());
+            TreeMap<String, Course> reference = new TreeMap<>();
+
+            for (int step = 0; step < 1500; step++) {
+                String code = SyntheticCatalog.code(random.nextInt(CODES));
+                String what = "seed " + seed + ", step " + step;
+                int op = random.nextInt(10);
+                if (op < 4) {
+                    // Insert; a code that is already there keeps its course
+                    Course course = new Course(code, "Course " + step, 3 + random.nextInt(2));
+                    tree.insert(course);
+                    reference.putIfAbsent(code, course);
+                } else if (op < 7) {
+                    Course removed = tree.delete(random.nextBoolean() ? code : code.toLowerCase());
+                    assertSame(reference.remove(code), removed, what + ": delete " + code);
+                } else if (op < 8) {
+                    Course updated = new Course(code, "Updated " + step, 3 + random.nextInt(2));
+                    boolean exists = reference.containsKey(code);
+                    assertEquals(exists, tree.update(updated), what + ": update " + code);
+                    if (exists) reference.put(code, updated);
+                } else if (op < 9) {
+                    String newCode = SyntheticCatalog.code(random.nextInt(CODES));
+                    Course renamed = new Course(newCode, "Renamed " + step, 3);
+                    boolean possible = reference.containsKey(code) && !reference.containsKey(newCode);
+                    assertEquals(possible, tree.rename(code, renamed), what + ": rename " + code + " to " + newCode);
+                    if (possible) {
+                        reference.remove(code);
+                        reference.put(newCode, renamed);
+                    }
+                } else {
+                    // Batch: a few upserts and deletions, deletions winning
+                    List<Course> upserts = new ArrayList<>();
+                    Set<String> deletions = new HashSet<>();
+                    for (int i = random.nextInt(20); i > 0; i--) {
+                        upserts.add(new Course(SyntheticCatalog.code(random.nextInt(CODES)), "Batch " + step, 4));
+                    }
+                    for (int i = random.nextInt(20); i > 0; i--) {
+                        deletions.add(SyntheticCatalog.code(random.nextInt(CODES)));
+                    }
+                    tree.applyBatch(upserts, deletions);
+                    for (Course course : upserts) {
+                        if (!deletions.contains(course.getCode())) reference.put(course.getCode(), course);
+                    }
+                    reference.keySet().removeAll(deletions);
+                }
+                assertMatches(tree, reference, what);
+            }
+        }
+    }
+
+    /**
+     * AVL height bound, stored heights and sizes, in-order contents, and both indexes
+     */
+    private static void assertMatches(CourseBST tree, TreeMap<String, Course> reference, String what) {
+        int n = reference.size();
+        assertEquals(n, tree.getCourseCount(), what);
+        assertEquals(new ArrayList<>(reference.values()), tree.inOrderTraversal(), what);
+
+        CourseNode root = null;
+        for (CourseNode node : tree.getCourseMap().values()) {
+            if (node.getSize() == n) root = node;
+        }
+        assertEquals(n == 0, tree.isEmpty(), what);
+        if (n > 0) {
+            assertNotNull(root, what + ": no node covers the whole tree");
+            int height = checkSubtree(root, what);
+            assertTrue(height <= 1.44 * Math.log(n + 2) / Math.log(2),
+                    what + ": height " + height + " for " + n + " courses");
+        }
+
+        CourseCodeInterner interner = tree.getInterner();
+        for (int i = 0; i < CODES; i++) {
+            String code = SyntheticCatalog.code(i);
+            Course expected = reference.get(code);
+            assertSame(expected, tree.search(code), what + ": search " + code);
+            assertSame(expected, tree.search(code.toLowerCase()), what + ": search " + code);
+            int id = interner.idOf(code);
+            assertSame(expected, (id >= 0) ? tree.search(id) : null, what + ": search by ID " + code);
+            CourseNode node = tree.getCourseMap().get(code);
+            assertSame(expected, (node != null) ? node.getCourse() : null, what + ": index " + code);
+        }
+    }
+
+    /**
+     * Recompute height and size bottom-up, checking the stored values and the balance
+     * @return Height of the subtree
+     */
+    private static int checkSubtree(CourseNode node, String what) {
+        if (node == null) return 0;
+        int left = checkSubtree(node.getLeft(), what);
+        int right = checkSubtree(node.getRight(), what);
+        String code = node.getCourse().getCode();
+        assertTrue(Math.abs(left - right) <= 1, what + ": " + code + " unbalanced " + left + "/" + right);
+        assertEquals(1 + Math.max(left, right), node.getHeight(), what + ": height of " + code);
+        int size = 1 + (node.getLeft() != null ? node.getLeft().getSize() : 0)
+                + (node.getRight() != null ? node.getRight().getSize() : 0);
+        assertEquals(size, node.getSize(), what + ": size of " + code);
+        return node.getHeight();
+    }
+}
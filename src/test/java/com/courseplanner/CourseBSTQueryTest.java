@@ -0,0 +1,92 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseBSTQueryTest {
+
+    private final CourseBST tree = new CourseBST(SyntheticCatalog.shuffledCourses(2000, 7), new CourseCodeInterner());
+
+    @Test
+    void prefixAndRangeQueriesMatchCopyThenFilter() {
+        List<Course> all = tree.inOrderTraversal();
+        for (String prefix : new String[] {"CS", "MATH00001", "PHYS0000", "ZZ", ""}) {
+            List<Course> expected = all.stream()
+                    .filter(course -> course.getCode().startsWith(prefix))
+                    .collect(Collectors.toList());
+            assertEquals(expected, tree.prefixQuery(prefix), prefix);
+            assertEquals(expected, tree.prefixStream(prefix).collect(Collectors.toList()), prefix);
+        }
+
+        List<Course> expected = all.stream()
+                .filter(course -> course.getCode().compareTo("CS000100") >= 0
+                        && course.getCode().compareTo("MATH000050") <= 0)
+                .collect(Collectors.toList());
+        assertEquals(expected, tree.rangeQuery("CS000100", "MATH000050"));
+        assertEquals(expected, tree.rangeStream("cs000100", "math000050").collect(Collectors.toList()));
+    }
+
+    @Test
+    void rankSelectAndPageMatchTheSortedList() {
+        assertOrderStatistics(tree, "full tree");
+
+        // Deletes rotate the tree, so the subtree sizes have to follow every rotation
+        Random random = new Random(11);
+        List<Course> all = tree.inOrderTraversal();
+        Collections.shuffle(all, random);
+        for (int i = 0; i < 1500; i++) {
+            tree.delete(all.get(i).getCode());
+            if (i % 100 == 0) {
+                assertOrderStatistics(tree, "after " + (i + 1) + " deletes");
+            }
+        }
+        assertOrderStatistics(tree, "after 1500 deletes");
+    }
+
+    private static void assertOrderStatistics(CourseBST tree, String what) {
+        List<Course> sorted = tree.inOrderTraversal();
+        int n = sorted.size();
+        for (int k = 0; k < n; k++) {
+            String code = sorted.get(k).getCode();
+            assertSame(sorted.get(k), tree.select(k), what + ", select " + k);
+            assertEquals(k, tree.rank(code), what + ", rank " + code);
+            assertEquals(k, tree.rank(code.toLowerCase()), what + ", rank " + code);
+            // A code that is not in the catalog ranks where it would be inserted
+            assertEquals(k + 1, tree.rank(code + "0"), what + ", rank after " + code);
+        }
+        assertNull(tree.select(-1), what);
+        assertNull(tree.select(n), what);
+        assertEquals(0, tree.rank("A"), what);
+        assertEquals(n, tree.rank("ZZZ"), what);
+
+        for (int offset : new int[] {0, 1, n / 3, n - 7, n - 1}) {
+            for (int limit : new int[] {1, 10, 50}) {
+                if (offset < 0) continue;
+                assertEquals(sorted.subList(offset, Math.min(n, offset + limit)), tree.page(offset, limit),
+                        what + ", page " + offset + "+" + limit);
+            }
+        }
+        // Past the end and invalid requests are empty
+        assertTrue(tree.page(n, 10).isEmpty(), what);
+        assertTrue(tree.page(n + 5, 10).isEmpty(), what);
+        assertTrue(tree.page(-1, 10).isEmpty(), what);
+        assertTrue(tree.page(0, 0).isEmpty(), what);
+    }
+
+    @Test
+    void streamsAreOrderedButDoNotClaimNaturalOrder() {
+        Spliterator<Course> spliterator = tree.rangeStream(null, null).spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertFalse(spliterator.hasCharacteristics(Spliterator.SORTED));
+
+        // Course is not Comparable, so only an explicit comparator may sort the stream
+        List<Course> byName = tree.prefixStream("BIO")
+                .sorted(Comparator.comparing(Course::getName))
+                .collect(Collectors.toList());
+        assertEquals(tree.prefixQuery("BIO").size(), byName.size());
+    }
+}
@@ -0,0 +1,114 @@
+package com.courseplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CsrGraphBenchmark: Traversals over the string-keyed adjacency lists of
+ * PrerequisiteGraph against the same traversals over its frozen CSR form.
+ * The map-based topological sort is Kahn's algorithm with HashMap counters and a
+ * LinkedList queue, the shape the graph used before the CSR form existed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class CsrGraphBenchmark {
+
+    @Param({"100000", "500000"})
+    public int courses;
+
+    private PrerequisiteGraph graph;
+    private CompactPrerequisiteGraph compact;
+    private List<String> codes;
+    private int[] ids;
+    private BitSet members;
+
+    @Setup
+    public void setUp() {
+        CourseCodeInterner interner = new CourseCodeInterner();
+        graph = SyntheticCatalog.layeredGraph(interner, courses, 50, 1);
+        compact = graph.freeze();
+        codes = new ArrayList<>();
+        for (int id = 0; id < interner.size(); id++) {
+            if (compact.isMember(id)) {
+                codes.add(interner.codeOf(id));
+            }
+        }
+        members = new BitSet();
+        ids = new int[codes.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = interner.idOf(codes.get(i));
+            members.set(ids[i]);
+        }
+    }
+
+    @Benchmark
+    public long edgeScanMaps() {
+        long sum = 0;
+        for (String code : codes) {
+            for (String prerequisite : graph.getPrerequisites(code)) {
+                sum += prerequisite.length();
+            }
+            sum += graph.getDependentCourses(code).size();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long edgeScanCsr() {
+        long sum = 0;
+        for (int id : ids) {
+            for (int i = 0; i < compact.prerequisiteCount(id); i++) {
+                sum += compact.prerequisiteAt(id, i);
+            }
+            sum += compact.dependentCount(id);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public List<String> topologicalSortMaps() {
+        Map<String, Integer> remaining = new HashMap<>();
+        Queue<String> queue = new LinkedList<>();
+        for (String code : codes) {
+            int count = graph.getPrerequisites(code).size();
+            remaining.put(code, count);
+            if (count == 0) {
+                queue.add(code);
+            }
+        }
+        List<String> order = new ArrayList<>(codes.size());
+        while (!queue.isEmpty()) {
+            String code = queue.poll();
+            order.add(code);
+            for (String dependent : graph.getDependentCourses(code)) {
+                int count = remaining.get(dependent) - 1;
+                remaining.put(dependent, count);
+                if (count == 0) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        return order;
+    }
+
+    @Benchmark
+    public int[] topologicalSortCsr() {
+        return compact.topologicalSort();
+    }
+
+    @Benchmark
+    public boolean hasCycleCsr() {
+        return compact.hasCycle();
+    }
+
+    @Benchmark
+    public CompactPrerequisiteGraph freeze() {
+        return new CompactPrerequisiteGraph(graph, members);
+    }
+}
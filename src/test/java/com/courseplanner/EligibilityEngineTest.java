@@ -0,0 +1,78 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EligibilityEngineTest {
+
+    @Test
+    void incrementalCompletionMatchesAFullRecomputation() {
+        for (long seed = 0; seed < 40; seed++) {
+            Random random = new Random(seed);
+            int n = 10 + random.nextInt(150);
+            PrerequisiteGraph graph = SyntheticCatalog.randomDag(new CourseCodeInterner(), n, 2 * n, seed);
+
+            // A fifth of the courses get an expression instead: an OR of two earlier
+            // courses, sometimes AND-ed with a plain prerequisite or a co-requisite
+            for (int i = 3; i < n; i++) {
+                if (random.nextInt(5) != 0) continue;
+                String expression = "(" + earlier(random, i) + " OR " + earlier(random, i) + ")";
+                switch (random.nextInt(3)) {
+                    case 0:
+                        expression += " AND " + earlier(random, i);
+                        break;
+                    case 1:
+                        expression += " AND COREQ " + earlier(random, i);
+                        break;
+                    default:
+                        break;
+                }
+                graph.addPrerequisiteExpression(SyntheticCatalog.code(i), expression);
+            }
+
+            CourseCodeInterner interner = graph.getInterner();
+            BitSet completed = new BitSet();
+            EligibilityEngine engine = new EligibilityEngine(graph, completed, null);
+            assertMatchesRecomputation(graph, engine, completed, "seed " + seed + ", start");
+
+            // Complete every course in random order, not only eligible ones
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < n; i++) order.add(i);
+            Collections.shuffle(order, random);
+            for (int i : order) {
+                int id = interner.idOf(SyntheticCatalog.code(i));
+                if (id < 0) continue;
+                engine.markCompleted(id);
+                completed.set(id);
+                assertMatchesRecomputation(graph, engine, completed, "seed " + seed + ", after " + SyntheticCatalog.code(i));
+            }
+            assertEquals(0, engine.getEligibleCount(), "seed " + seed);
+        }
+    }
+
+    private static String earlier(Random random, int i) {
+        return SyntheticCatalog.code(random.nextInt(i));
+    }
+
+    /**
+     * The eligible set equals, over every course of the graph, "not completed and
+     * PrerequisiteGraph.isRequirementMet"
+     */
+    private static void assertMatchesRecomputation(PrerequisiteGraph graph, EligibilityEngine engine,
+                                                   BitSet completed, String what) {
+        int nodeCount = graph.freeze().getNodeCount();
+        BitSet expected = new BitSet();
+        for (int id = 0; id < nodeCount; id++) {
+            if (!completed.get(id) && graph.isRequirementMet(id, completed, null, null)) {
+                expected.set(id);
+            }
+        }
+        assertArrayEquals(expected.stream().toArray(), engine.eligibleCourses(), what);
+        for (int id = 0; id < nodeCount; id++) {
+            assertEquals(expected.get(id), engine.isEligible(id), what + ", course " + id);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrozenCourseCatalogTest {
+
+    private static final int CODES = 300;
+    private static final String[] PADDING = {"", " ", "  ", "\t", " \n"};
+
+    @Test
+    void searchMatchesCourseBSTForRandomQueries() {
+        for (long seed = 0; seed < 10; seed++) {
+            Random random = new Random(seed);
+            List<Course> source = randomSource(random);
+            CourseBST tree = new CourseBST(source);
+            FrozenCourseCatalog frozen = new FrozenCourseCatalog(source);
+            FrozenCourseCatalog copied = new FrozenCourseCatalog(tree);
+
+            for (int i = 0; i < 3000; i++) {
+                String query = randomQuery(random);
+                String what = "seed " + seed + ", query '" + query + "'";
+                Course expected = tree.search(query);
+                assertSame(expected, frozen.search(query), what);
+                assertSame(expected, copied.search(query), what);
+            }
+            assertNull(frozen.search(null));
+            assertNull(frozen.search(""));
+            assertNull(frozen.search("   "));
+        }
+    }
+
+    @Test
+    void traversalAndCountMatchCourseBSTWithDuplicateCodes() {
+        for (long seed = 0; seed < 10; seed++) {
+            Random random = new Random(seed);
+            List<Course> source = randomSource(random);
+            CourseBST tree = new CourseBST(source);
+            FrozenCourseCatalog frozen = new FrozenCourseCatalog(source);
+            String what = "seed " + seed;
+
+            Set<String> distinct = new HashSet<>();
+            for (Course course : source) {
+                if (course != null && course.getCode() != null && course.getCode().length() >= 2) {
+                    distinct.add(course.getCode());
+                }
+            }
+            assertEquals(distinct.size(), frozen.getCourseCount(), what);
+            assertEquals(tree.getCourseCount(), frozen.getCourseCount(), what);
+            assertEquals(distinct.isEmpty(), frozen.isEmpty(), what);
+
+            // Same courses in the same order; the first of each duplicate code is kept
+            List<Course> expected = tree.inOrderTraversal();
+            List<Course> actual = frozen.inOrderTraversal();
+            assertEquals(expected.size(), actual.size(), what);
+            for (int i = 0; i < expected.size(); i++) {
+                assertSame(expected.get(i), actual.get(i), what + ", position " + i);
+            }
+        }
+
+        FrozenCourseCatalog empty = new FrozenCourseCatalog(List.of());
+        assertTrue(empty.isEmpty());
+        assertTrue(empty.inOrderTraversal().isEmpty());
+        assertNull(empty.search("CS101"));
+    }
+
+    /**
+     * Shuffled courses over a random subset of codes, with duplicate codes and a few invalid entries
+     */
+    private static List<Course> randomSource(Random random) {
+        List<Course> source = new ArrayList<>();
+        int size = random.nextInt(CODES);
+        for (int i = 0; i < size; i++) {
+            String code = SyntheticCatalog.code(random.nextInt(CODES));
+            source.add(new Course(code, "Course " + i, 3 + random.nextInt(2)));
+        }
+        source.add(null);
+        source.add(new Course("X", "Too short", 3));
+        Collections.shuffle(source, random);
+        return source;
+    }
+
+    /**
+     * A code that may or may not be in the catalog, in mixed case with padding, or a
+     * near miss: a prefix or an extension of a generated code
+     */
+    private static String randomQuery(Random random) {
+        String code = SyntheticCatalog.code(random.nextInt(CODES + 50));
+        switch (random.nextInt(4)) {
+            case 0:
+                code = code.substring(0, 1 + random.nextInt(code.length() - 1));
+                break;
+            case 1:
+                code = code + (char) ('0' + random.nextInt(10));
+                break;
+            default:
+                break;
+        }
+        StringBuilder mixed = new StringBuilder(code.length());
+        for (char c : code.toCharArray()) {
+            mixed.append(random.nextBoolean() ? Character.toLowerCase(c) : c);
+        }
+        return PADDING[random.nextInt(PADDING.length)] + mixed + PADDING[random.nextInt(PADDING.length)];
+    }
+}
@@ -0,0 +1,56 @@
+package com.courseplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GraphAnalyticsBenchmark: Scaling of the fork/join analytics with the pool size,
+ * on a 500k-course graph of small department tracks (see SyntheticCatalog.clusteredDag).
+ * Scaling only shows with at least as many cores as threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class GraphAnalyticsBenchmark {
+
+    @Param({"500000"})
+    public int courses;
+
+    @Param({"1", "4", "16"})
+    public int threads;
+
+    private CompactPrerequisiteGraph graph;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        graph = SyntheticCatalog.clusteredDag(new CourseCodeInterner(), courses, 64, 5).freeze();
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Direct degree counts and both histograms
+     */
+    @Benchmark
+    public GraphAnalytics degreeCounts() {
+        return new GraphAnalytics(graph, pool);
+    }
+
+    /**
+     * Degree counts plus one dependent search per course
+     */
+    @Benchmark
+    public int[] transitiveDependentCounts() {
+        return new GraphAnalytics(graph, pool).getTransitiveDependentCounts();
+    }
+}
@@ -0,0 +1,49 @@
+package com.courseplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OptimalPlannerBenchmark: generateOptimalPlan with the budget it uses by default
+ * (OptimalPlanner.DEFAULT_BUDGET_MILLIS) against the greedy generatePlan, on a
+ * 60-course layered program under the default limits, with the plan cache disabled.
+ * A score near the budget means the search ran out of time and returned its best plan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OptimalPlannerBenchmark {
+
+    @Param({"60"})
+    public int courses;
+
+    @Param({"4", "8"})
+    public int layers;
+
+    private PlanGenerator generator;
+    private StudentProgress progress;
+
+    @Setup
+    public void setUp() {
+        CourseCodeInterner interner = new CourseCodeInterner();
+        CourseBST tree = new CourseBST(SyntheticCatalog.courses(courses, 1), interner);
+        generator = new PlanGenerator(tree, SyntheticCatalog.layeredGraph(interner, courses, layers, 2));
+        generator.setPlanCache(new PlanCache(0));
+        progress = new StudentProgress(interner);
+    }
+
+    @Benchmark
+    public List<List<Course>> optimal() {
+        return generator.generateOptimalPlan(progress, PlanPolicy.defaults());
+    }
+
+    @Benchmark
+    public List<List<Course>> greedy() {
+        return generator.generatePlan(progress, PlanPolicy.defaults());
+    }
+}
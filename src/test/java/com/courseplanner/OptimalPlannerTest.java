@@ -0,0 +1,145 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimalPlannerTest {
+
+    private static final int COURSES = 9;
+
+    @Test
+    void matchesAnExhaustiveSearchOnSmallRandomDags() {
+        for (long seed = 0; seed < 300; seed++) {
+            Random random = new Random(seed);
+            CourseCodeInterner interner = new CourseCodeInterner();
+            PrerequisiteGraph graph = new PrerequisiteGraph(interner);
+            int[] ids = new int[COURSES];
+            int[] creditsById = new int[COURSES];
+            for (int i = 0; i < COURSES; i++) {
+                ids[i] = interner.intern(SyntheticCatalog.code(i));
+                creditsById[ids[i]] = 3 + random.nextInt(2);
+            }
+            for (int e = random.nextInt(2 * COURSES); e > 0; e--) {
+                int a = random.nextInt(COURSES);
+                int b = random.nextInt(COURSES);
+                if (a != b) {
+                    graph.addPrerequisite(SyntheticCatalog.code(Math.max(a, b)), SyntheticCatalog.code(Math.min(a, b)));
+                }
+            }
+
+            // Caps from tight to loose, sometimes a course cap, and some courses offered in one term only
+            PlanPolicy policy = PlanPolicy.defaults().withCreditRange(0, 4 + random.nextInt(9));
+            if (random.nextBoolean()) {
+                policy = policy.withMaxCoursesPerTerm(1 + random.nextInt(3));
+            }
+            for (int i = 0; i < COURSES; i++) {
+                if (random.nextInt(3) == 0) {
+                    policy = policy.withOfferedTerms(SyntheticCatalog.code(i), random.nextInt(2));
+                }
+            }
+
+            BitSet done = new BitSet();
+            List<int[]> plan = new OptimalPlanner(graph).plan(ids, creditsById, done, null, policy, 10_000);
+            List<int[]> greedy = new SemesterScheduler(graph).schedule(ids, creditsById, done, null, policy);
+
+            String what = "seed " + seed;
+            assertValid(graph, plan, creditsById, policy, what);
+            assertEquals(minimumSemesters(graph, ids, creditsById, policy), plan.size(), what);
+            assertTrue(plan.size() <= greedy.size(), what + ": " + plan.size() + " semesters vs greedy " + greedy.size());
+        }
+    }
+
+    @Test
+    void aPlanOverTheSemesterLimitIsReturnedWhole() {
+        CourseCodeInterner interner = new CourseCodeInterner();
+        PrerequisiteGraph graph = new PrerequisiteGraph(interner);
+        int[] ids = new int[4];
+        int[] creditsById = new int[4];
+        for (int i = 0; i < 4; i++) {
+            ids[i] = interner.intern(SyntheticCatalog.code(i));
+            creditsById[ids[i]] = 3;
+            if (i > 0) {
+                graph.addPrerequisite(SyntheticCatalog.code(i), SyntheticCatalog.code(i - 1));
+            }
+        }
+
+        List<int[]> plan = new OptimalPlanner(graph).plan(ids, creditsById, new BitSet(), null,
+                PlanPolicy.defaults().withMaxSemesters(2), 1_000);
+        assertEquals(4, plan.size());
+        assertEquals(4, plan.stream().mapToInt(semester -> semester.length).sum());
+    }
+
+    /**
+     * Every course exactly once, after its prerequisites, in a term it is offered,
+     * within the credit and course caps
+     */
+    private static void assertValid(PrerequisiteGraph graph, List<int[]> plan, int[] creditsById,
+                                    PlanPolicy policy, String what) {
+        CourseCodeInterner interner = graph.getInterner();
+        BitSet planned = new BitSet();
+        for (int s = 0; s < plan.size(); s++) {
+            int credits = 0;
+            for (int id : plan.get(s)) {
+                String code = interner.codeOf(id);
+                for (String prereq : graph.getPrerequisites(code)) {
+                    assertTrue(planned.get(interner.idOf(prereq)), what + ": " + code + " before " + prereq);
+                }
+                assertTrue(policy.isOffered(code, policy.termOf(s)), what + ": " + code + " in semester " + s);
+                credits += creditsById[id];
+            }
+            assertTrue(credits <= policy.getMaxCredits(), what + ": " + credits + " credits");
+            assertTrue(plan.get(s).length <= policy.getMaxCoursesPerTerm(), what + ": " + plan.get(s).length + " courses");
+            for (int id : plan.get(s)) {
+                assertFalse(planned.get(id), what + ": " + interner.codeOf(id) + " planned twice");
+                planned.set(id);
+            }
+        }
+        assertEquals(COURSES, planned.cardinality(), what + ": courses left out");
+    }
+
+    /**
+     * Breadth-first search over (courses taken, term): every semester tries every
+     * subset of the available courses, the empty one included
+     */
+    private static int minimumSemesters(PrerequisiteGraph graph, int[] ids, int[] creditsById, PlanPolicy policy) {
+        int[] prereqMask = new int[COURSES];
+        for (int i = 0; i < COURSES; i++) {
+            for (String prereq : graph.getPrerequisites(SyntheticCatalog.code(i))) {
+                prereqMask[i] |= 1 << Arrays.binarySearch(ids, graph.getInterner().idOf(prereq));
+            }
+        }
+        int all = (1 << COURSES) - 1;
+        Set<Integer> frontier = Set.of(0);
+        Set<Integer> seen = new HashSet<>();
+        for (int semester = 0; semester < 4 * COURSES; semester++) {
+            Set<Integer> next = new HashSet<>();
+            for (int taken : frontier) {
+                if (taken == all) return semester;
+                int available = 0;
+                for (int i = 0; i < COURSES; i++) {
+                    if ((taken & (1 << i)) == 0 && (prereqMask[i] & ~taken) == 0
+                            && policy.isOffered(SyntheticCatalog.code(i), policy.termOf(semester))) {
+                        available |= 1 << i;
+                    }
+                }
+                for (int subset = available; ; subset = (subset - 1) & available) {
+                    int credits = 0;
+                    for (int i = 0; i < COURSES; i++) {
+                        if ((subset & (1 << i)) != 0) credits += creditsById[ids[i]];
+                    }
+                    int state = taken | subset;
+                    if (credits <= policy.getMaxCredits() && Integer.bitCount(subset) <= policy.getMaxCoursesPerTerm()
+                            && seen.add(state * policy.getTermsPerYear() + policy.termOf(semester + 1))) {
+                        next.add(state);
+                    }
+                    if (subset == 0) break;
+                }
+            }
+            frontier = next;
+        }
+        return -1;
+    }
+}
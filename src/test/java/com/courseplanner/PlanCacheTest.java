@@ -0,0 +1,122 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanCacheTest {
+
+    private static final List<int[]> PLAN = List.of(new int[] {1, 2}, new int[] {3});
+
+    @Test
+    void countsHitsAndMisses() {
+        PlanCache cache = new PlanCache(4);
+        PlanCache.Key key = key(0, 0, 1);
+
+        assertNull(cache.get(key));
+        cache.put(key, PLAN);
+        assertNotNull(cache.get(key));
+        assertNotNull(cache.get(key(0, 0, 1)));   // An equal key built separately
+        assertNull(cache.get(key(0, 0, 2)));
+
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedPlanAtCapacity() {
+        PlanCache cache = new PlanCache(2);
+        cache.put(key(0, 0, 1), PLAN);
+        cache.put(key(0, 0, 2), PLAN);
+        assertNotNull(cache.get(key(0, 0, 1)));   // Now 2 is the eldest
+        cache.put(key(0, 0, 3), PLAN);
+
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictions());
+        assertNotNull(cache.get(key(0, 0, 1)));
+        assertNull(cache.get(key(0, 0, 2)));
+        assertNotNull(cache.get(key(0, 0, 3)));
+    }
+
+    @Test
+    void aCatalogOrGraphChangeDropsEveryPlan() {
+        CourseBST tree = new CourseBST(SyntheticCatalog.courses(100, 1), new CourseCodeInterner());
+        PrerequisiteGraph graph = SyntheticCatalog.layeredGraph(tree.getInterner(), 100, 4, 2);
+        PlanGenerator generator = new PlanGenerator(tree, graph);
+        PlanCache cache = generator.getPlanCache();
+        StudentProgress progress = new StudentProgress(tree.getInterner());
+
+        generator.generatePlan(progress, PlanPolicy.defaults());
+        generator.generatePlan(progress, PlanPolicy.defaults().withMaxCredits(12));
+        generator.generatePlan(progress, PlanPolicy.defaults());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getSize());
+
+        // Inserting a course that is already there changes nothing
+        long version = tree.getVersion();
+        tree.insert(tree.inOrderTraversal().get(0));
+        assertEquals(version, tree.getVersion());
+        generator.generatePlan(progress, PlanPolicy.defaults());
+        assertEquals(2, cache.getHits());
+        assertEquals(0, cache.getInvalidations());
+
+        tree.insert(new Course("ZOO101", "New course", 3));
+        List<List<Course>> plan = generator.generatePlan(progress, PlanPolicy.defaults());
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(1, cache.getSize());
+        assertTrue(plan.stream().flatMap(List::stream).anyMatch(course -> course.getCode().equals("ZOO101")));
+
+        graph.addPrerequisite("ZOO101", SyntheticCatalog.code(0));
+        generator.generatePlan(progress, PlanPolicy.defaults());
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getInvalidations());
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    void aLookupWithAStaleVersionIsNeitherServedNorStored() {
+        PlanCache cache = new PlanCache(4);
+        cache.put(key(1, 1, 1), PLAN);
+
+        // A request that started before the catalog or graph moved on to version 1
+        for (PlanCache.Key stale : List.of(key(0, 1, 1), key(1, 0, 1))) {
+            assertNull(cache.get(stale));
+            cache.put(stale, PLAN);
+            assertNull(cache.get(stale));
+        }
+        assertEquals(1, cache.getSize());
+        assertNotNull(cache.get(key(1, 1, 1)));
+        assertEquals(0, cache.getInvalidations());
+    }
+
+    @Test
+    void gradesOfCompletedCoursesArePartOfTheKey() {
+        BitSet completed = new BitSet();
+        completed.set(3);
+        double[] low = {Double.NaN, Double.NaN, Double.NaN, 55, 90};
+        double[] high = {Double.NaN, Double.NaN, Double.NaN, 75, 90};
+        double[] otherCourse = {Double.NaN, Double.NaN, Double.NaN, 55, 40};
+
+        PlanCache cache = new PlanCache(4);
+        cache.put(PlanCache.keyFor(0, 0, completed, low, PlanPolicy.defaults()), PLAN);
+        assertNotNull(cache.get(PlanCache.keyFor(0, 0, completed, low.clone(), PlanPolicy.defaults())));
+        assertNull(cache.get(PlanCache.keyFor(0, 0, completed, high, PlanPolicy.defaults())));
+        assertNull(cache.get(PlanCache.keyFor(0, 0, completed, null, PlanPolicy.defaults())));
+
+        // Only completed courses' grades count
+        assertNotNull(cache.get(PlanCache.keyFor(0, 0, completed, otherCourse, PlanPolicy.defaults())));
+    }
+
+    /**
+     * Key for a completed set holding just one course ID
+     */
+    private static PlanCache.Key key(long catalogVersion, long graphVersion, int completedId) {
+        BitSet completed = new BitSet();
+        completed.set(completedId);
+        return PlanCache.keyFor(catalogVersion, graphVersion, completed, null, PlanPolicy.defaults());
+    }
+}
@@ -0,0 +1,103 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanGeneratorTest {
+
+    private final CourseCodeInterner interner = new CourseCodeInterner();
+    private final CourseBST tree = new CourseBST(List.of(
+            new Course("MATH101", "Calculus I", 3), new Course("MATH201", "Calculus II", 3),
+            new Course("MATH301", "Analysis", 3), new Course("CS401", "Numerical Methods", 3),
+            new Course("ENG101", "Writing", 3)), interner);
+    private final PrerequisiteGraph graph = new PrerequisiteGraph(interner);
+    private final PlanGenerator generator = new PlanGenerator(tree, graph);
+
+    PlanGeneratorTest() {
+        graph.addPrerequisite("MATH201", "MATH101");
+        graph.addPrerequisiteExpression("MATH301", "MATH201 >= 60");
+        graph.addPrerequisite("CS401", "MATH301");
+    }
+
+    @Test
+    void aGradeBelowTheMinimumBlocksEligibilityAndPlanning() {
+        StudentProgress low = progress(55);
+        assertFalse(generator.canTakeCourse(low, "MATH301"));
+        assertEquals(List.of("ENG101"), codes(generator.getEligibleCourses(low)));
+        List<List<Course>> plan = generator.generatePlan(low, PlanPolicy.defaults());
+        assertEquals(Set.of("ENG101"), planned(plan));
+        assertTrue(generator.checkPlanWarnings(low, plan, PlanPolicy.defaults())
+                .contains("2 courses are not in the plan: CS401, MATH301"));
+        assertEquals(Set.of("ENG101"), planned(generator.generateOptimalPlan(low, PlanPolicy.defaults())));
+
+        // The default progress goes through the cached eligibility engine
+        generator.setProgress(low);
+        assertFalse(generator.canTakeCourse("MATH301"));
+        assertEquals(List.of("ENG101"), codes(generator.getEligibleCourses()));
+
+        // Same completed set, passing grade: not served the cached plan
+        StudentProgress passed = progress(75);
+        assertTrue(generator.canTakeCourse(passed, "MATH301"));
+        assertEquals(List.of("ENG101", "MATH301"), codes(generator.getEligibleCourses(passed)));
+        plan = generator.generatePlan(passed, PlanPolicy.defaults());
+        assertEquals(Set.of("ENG101", "MATH301", "CS401"), planned(plan));
+        assertTrue(generator.checkPlanWarnings(passed, plan, PlanPolicy.defaults()).stream()
+                .noneMatch(warning -> warning.contains("not in the plan")));
+
+        // Raising the grade in place makes the default progress eligible
+        low.setGrade(interner.idOf("MATH201"), 60);
+        assertTrue(generator.canTakeCourse("MATH301"));
+    }
+
+    @Test
+    void aPlannedCourseIsAssumedToMeetTheMinimum() {
+        StudentProgress progress = new StudentProgress(interner, List.of("MATH101"), Map.of());
+        List<List<Course>> plan = generator.generatePlan(progress, PlanPolicy.defaults());
+        assertEquals(List.of(Set.of("ENG101", "MATH201"), Set.of("MATH301"), Set.of("CS401")), semesters(plan));
+
+        // Completed below the minimum: the repair drops the blocked chain, like a full plan
+        StudentProgress after = progress.copy();
+        after.markCompleted("MATH201", 55);
+        List<List<Course>> repaired = generator.repairPlan(after, plan, PlanDelta.completed("MATH201"), PlanPolicy.defaults());
+        assertEquals(semesters(generator.generatePlan(after, PlanPolicy.defaults())), semesters(repaired));
+        assertEquals(Set.of("ENG101"), planned(repaired));
+
+        after.setGrade(interner.idOf("MATH201"), 80);
+        repaired = generator.repairPlan(after, plan, PlanDelta.completed("MATH201"), PlanPolicy.defaults());
+        assertEquals(Set.of("ENG101", "MATH301", "CS401"), planned(repaired));
+    }
+
+    private StudentProgress progress(double math201) {
+        StudentProgress progress = new StudentProgress(interner);
+        progress.markCompleted("MATH101", 70);
+        progress.markCompleted("MATH201", math201);
+        return progress;
+    }
+
+    private static List<String> codes(List<Course> courses) {
+        List<String> codes = new ArrayList<>();
+        for (Course course : courses) {
+            codes.add(course.getCode());
+        }
+        return codes;
+    }
+
+    private static List<Set<String>> semesters(List<List<Course>> plan) {
+        List<Set<String>> semesters = new ArrayList<>();
+        for (List<Course> semester : plan) {
+            semesters.add(new HashSet<>(codes(semester)));
+        }
+        return semesters;
+    }
+
+    private static Set<String> planned(List<List<Course>> plan) {
+        Set<String> planned = new HashSet<>();
+        for (List<Course> semester : plan) {
+            planned.addAll(codes(semester));
+        }
+        return planned;
+    }
+}
@@ -0,0 +1,62 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanPolicyTest {
+
+    @Test
+    void withTermsClipsOfferedTerms() {
+        PlanPolicy policy = PlanPolicy.defaults().withTerms(3, 0)
+                .withOfferedTerms("A1", 2)
+                .withOfferedTerms("B1", 0, 2);
+        assertEquals(0b100, policy.getTermMask("A1"));
+
+        PlanPolicy twoTerms = policy.withTerms(2, 0);
+        assertEquals(0, twoTerms.getTermMask("A1"));
+        assertEquals(0b01, twoTerms.getTermMask("B1"));
+        assertEquals(0b11, twoTerms.getTermMask("C1"));
+    }
+
+    @Test
+    void schedulingStopsAfterAYearWithNothingPlaced() {
+        CourseBST tree = new CourseBST();
+        tree.insert(new Course("A1", "Only in spring", 3));
+        tree.insert(new Course("B1", "Any term", 3));
+        tree.insert(new Course("C1", "Lab", 1));
+        tree.insert(new Course("D1", "Lecture", 3));
+        PrerequisiteGraph graph = new PrerequisiteGraph(tree.getInterner());
+        // Co-requisites offered in different terms can never share a semester
+        graph.addPrerequisiteExpression("C1", "COREQ D1");
+        graph.addPrerequisiteExpression("D1", "COREQ C1");
+        PlanPolicy policy = PlanPolicy.defaults().withTerms(3, 0)
+                .withOfferedTerms("A1", 2)
+                .withOfferedTerms("C1", 0)
+                .withOfferedTerms("D1", 1)
+                .withTerms(2, 0);
+
+        PlanGenerator generator = new PlanGenerator(tree, graph);
+        List<List<Course>> plan = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> generator.generatePlan(policy));
+        assertEquals(1, plan.size());
+        assertEquals(1, plan.get(0).size());
+        assertEquals("B1", plan.get(0).get(0).getCode());
+    }
+
+    @Test
+    void topologicalPlanUsesThePolicyLimits() {
+        CourseBST tree = new CourseBST();
+        for (int i = 1; i <= 6; i++) {
+            tree.insert(new Course("CS10" + i, "Course " + i, 3));
+        }
+        PlanGenerator generator = new PlanGenerator(tree, new PrerequisiteGraph(tree.getInterner()));
+
+        assertEquals(1, generator.generatePlanTopological().size());
+        assertEquals(3, generator.generatePlanTopological(PlanPolicy.defaults().withMaxCredits(6)).size());
+        assertEquals(6, generator.generatePlanTopological(PlanPolicy.defaults().withMaxCoursesPerTerm(1)).size());
+    }
+}
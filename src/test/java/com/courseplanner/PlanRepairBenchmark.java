@@ -0,0 +1,156 @@
+package com.courseplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PlanRepairBenchmark: Repairing a plan after one change (a completion, a failure, a new
+ * prerequisite edge) against planning from scratch, on a layered catalog under the default
+ * limits with the plan cache disabled. Failures and new edges are split by whether the
+ * repair fits in the plan's semesters or makes it longer and so falls back to a full plan.
+ * Each benchmark cycles through a fixed set of changes; a repair never mutates the progress
+ * or the plan, and every new edge has its own graph.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class PlanRepairBenchmark {
+
+    private static final int CHANGES = 16;
+
+    @Param({"1000", "10000"})
+    public int courses;
+
+    private CourseBST tree;
+    private PlanGenerator generator;
+    private StudentProgress progress;
+    private List<List<Course>> plan;
+    private List<int[]> planIds;
+    private int[] creditsById;
+    private final List<PlanDelta> completions = new ArrayList<>();
+    private final List<PlanDelta> failures = new ArrayList<>();
+    private final List<PlanDelta> longerFailures = new ArrayList<>();
+    private final List<PlanGenerator> edgeGenerators = new ArrayList<>();   // One graph per new edge
+    private final List<PlanDelta> edges = new ArrayList<>();
+    private final List<PlanGenerator> longerEdgeGenerators = new ArrayList<>();
+    private final List<PlanDelta> longerEdges = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        CourseCodeInterner interner = new CourseCodeInterner();
+        tree = new CourseBST(SyntheticCatalog.courses(courses, 1), interner);
+        PrerequisiteGraph graph = newGraph(interner);
+        generator = newGenerator(graph);
+        progress = new StudentProgress(interner);
+        plan = generator.generatePlan(progress, PlanPolicy.defaults());
+
+        planIds = new ArrayList<>();
+        creditsById = new int[interner.size()];
+        for (List<Course> semester : plan) {
+            int[] ids = new int[semester.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = interner.idOf(semester.get(i).getCode());
+                creditsById[ids[i]] = semester.get(i).getCredits();
+            }
+            planIds.add(ids);
+        }
+
+        Random random = new Random(3);
+        while (completions.size() < CHANGES) {
+            List<Course> first = plan.get(0);
+            completions.add(PlanDelta.completed(first.get(random.nextInt(first.size())).getCode()));
+        }
+        PlanRepairer repairer = new PlanRepairer(graph);
+        while (failures.size() < CHANGES || longerFailures.size() < CHANGES) {
+            String code = randomCourse(random, random.nextInt(plan.size())).getCode();
+            boolean fits = fits(repairer, PlanDelta.Type.FAILED, interner.idOf(code), -1);
+            List<PlanDelta> into = fits ? failures : longerFailures;
+            if (into.size() < CHANGES) {
+                into.add(PlanDelta.failed(code));
+            }
+        }
+        while (edges.size() < CHANGES || longerEdges.size() < CHANGES) {
+            // A course gets a prerequisite planned in the same or a later semester
+            int at = random.nextInt(plan.size());
+            String course = randomCourse(random, at).getCode();
+            String prereq = randomCourse(random, at + random.nextInt(Math.min(3, plan.size() - at))).getCode();
+            PrerequisiteGraph edgeGraph = newGraph(interner);
+            if (course.equals(prereq) || !edgeGraph.addPrerequisiteChecked(course, prereq)) continue;
+            boolean fits = fits(new PlanRepairer(edgeGraph), PlanDelta.Type.EDGE_ADDED,
+                    interner.idOf(course), interner.idOf(prereq));
+            if ((fits ? edges : longerEdges).size() < CHANGES) {
+                (fits ? edges : longerEdges).add(PlanDelta.edgeAdded(course, prereq));
+                (fits ? edgeGenerators : longerEdgeGenerators).add(newGenerator(edgeGraph));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<List<Course>> repairCompleted() {
+        return generator.repairPlan(progress, plan, completions.get(nextChange()), PlanPolicy.defaults());
+    }
+
+    @Benchmark
+    public List<List<Course>> repairFailed() {
+        return generator.repairPlan(progress, plan, failures.get(nextChange()), PlanPolicy.defaults());
+    }
+
+    @Benchmark
+    public List<List<Course>> repairFailedLonger() {
+        return generator.repairPlan(progress, plan, longerFailures.get(nextChange()), PlanPolicy.defaults());
+    }
+
+    @Benchmark
+    public List<List<Course>> repairEdgeAdded() {
+        int i = nextChange();
+        return edgeGenerators.get(i).repairPlan(progress, plan, edges.get(i), PlanPolicy.defaults());
+    }
+
+    @Benchmark
+    public List<List<Course>> repairEdgeAddedLonger() {
+        int i = nextChange();
+        return longerEdgeGenerators.get(i).repairPlan(progress, plan, longerEdges.get(i), PlanPolicy.defaults());
+    }
+
+    /**
+     * Planning from scratch, which each repair replaces
+     */
+    @Benchmark
+    public List<List<Course>> fullPlan() {
+        return generator.generatePlan(progress, PlanPolicy.defaults());
+    }
+
+    /**
+     * Does the repair fit in the plan's semesters, rather than falling back to a full plan?
+     */
+    private boolean fits(PlanRepairer repairer, PlanDelta.Type type, int courseId, int prereqId) {
+        BitSet done = progress.getCompletedIds();
+        return repairer.repair(planIds, creditsById, done, null, type, courseId, prereqId, PlanPolicy.defaults()) != null;
+    }
+
+    private PrerequisiteGraph newGraph(CourseCodeInterner interner) {
+        return SyntheticCatalog.layeredGraph(interner, courses, 10, 2);
+    }
+
+    private PlanGenerator newGenerator(PrerequisiteGraph graph) {
+        PlanGenerator planGenerator = new PlanGenerator(tree, graph);
+        planGenerator.setPlanCache(new PlanCache(0));
+        return planGenerator;
+    }
+
+    private Course randomCourse(Random random, int semester) {
+        List<Course> courses = plan.get(semester);
+        return courses.get(random.nextInt(courses.size()));
+    }
+
+    private int nextChange() {
+        next = (next + 1) % CHANGES;
+        return next;
+    }
+}
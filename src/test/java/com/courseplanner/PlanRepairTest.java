@@ -0,0 +1,176 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanRepairTest {
+
+    // The default cap, and a loose one with more room to move courses
+    private static final PlanPolicy[] POLICIES = {
+            PlanPolicy.defaults(), PlanPolicy.defaults().withMaxCredits(40)};
+
+    @Test
+    void repairAfterCompletionIsValidAndNeverLonger() {
+        for (long seed = 0; seed < 20; seed++) {
+            for (PlanPolicy policy : POLICIES) {
+                Fixture f = new Fixture(200 + (int) seed * 20, seed);
+                Random random = new Random(seed);
+                StudentProgress progress = new StudentProgress(f.tree.getInterner());
+                for (int step = 0; step < 10; step++) {
+                    List<List<Course>> plan = f.generator.generatePlan(progress, policy);
+                    if (plan.isEmpty()) break;
+                    List<Course> first = plan.get(0);
+                    String code = first.get(random.nextInt(first.size())).getCode();
+                    StudentProgress after = progress.copy();
+                    after.markCompleted(code);
+
+                    List<List<Course>> repaired = f.generator.repairPlan(progress, plan, PlanDelta.completed(code), policy);
+                    String what = "seed " + seed + ", completed " + code;
+                    assertValid(f, after, repaired, f.generator.generatePlan(after, policy), policy, what);
+                    assertTrue(repaired.size() <= plan.size(), what + ": " + repaired.size() + " semesters vs " + plan.size());
+                    progress = after;
+                }
+            }
+        }
+    }
+
+    @Test
+    void repairAfterFailureIsValidOrAFullPlan() {
+        for (long seed = 0; seed < 20; seed++) {
+            for (PlanPolicy policy : POLICIES) {
+                Fixture f = new Fixture(200 + (int) seed * 20, seed);
+                Random random = new Random(seed);
+                StudentProgress progress = new StudentProgress(f.tree.getInterner());
+                List<List<Course>> plan = f.generator.generatePlan(progress, policy);
+                for (int step = 0; step < 10; step++) {
+                    List<Course> semester = plan.get(random.nextInt(plan.size()));
+                    String code = semester.get(random.nextInt(semester.size())).getCode();
+
+                    List<List<Course>> repaired = f.generator.repairPlan(progress, plan, PlanDelta.failed(code), policy);
+                    assertRepaired(f, progress, plan, repaired, policy, "seed " + seed + ", failed " + code);
+                }
+            }
+        }
+    }
+
+    @Test
+    void repairAfterNewEdgeIsValidOrAFullPlan() {
+        for (long seed = 0; seed < 20; seed++) {
+            for (PlanPolicy policy : POLICIES) {
+                Random random = new Random(seed);
+                for (int step = 0; step < 5; step++) {
+                    Fixture f = new Fixture(200 + (int) seed * 20, seed);
+                    StudentProgress progress = new StudentProgress(f.tree.getInterner());
+                    List<List<Course>> plan = f.generator.generatePlan(progress, policy);
+
+                    // A course gets a prerequisite planned in the same or a later semester
+                    int at = random.nextInt(plan.size());
+                    List<Course> from = plan.get(at);
+                    List<Course> to = plan.get(at + random.nextInt(plan.size() - at));
+                    String course = from.get(random.nextInt(from.size())).getCode();
+                    String prereq = to.get(random.nextInt(to.size())).getCode();
+                    if (course.equals(prereq) || !f.graph.addPrerequisiteChecked(course, prereq)) continue;
+
+                    List<List<Course>> repaired = f.generator.repairPlan(progress, plan,
+                            PlanDelta.edgeAdded(course, prereq), policy);
+                    assertRepaired(f, progress, plan, repaired, policy,
+                            "seed " + seed + ", " + prereq + " before " + course);
+                }
+            }
+        }
+    }
+
+    @Test
+    void unknownCodesFallBackToAFullPlanWithoutInterningThem() {
+        Fixture f = new Fixture(200, 1);
+        StudentProgress progress = new StudentProgress(f.tree.getInterner());
+        List<List<Course>> plan = f.generator.generatePlan(progress, PlanPolicy.defaults());
+        List<List<String>> full = codes(plan);
+        int interned = f.tree.getInterner().size();
+
+        assertEquals(full, codes(f.generator.repairPlan(progress, plan, PlanDelta.failed("NOPE101"), PlanPolicy.defaults())));
+        assertEquals(full, codes(f.generator.repairPlan(progress, plan,
+                PlanDelta.edgeAdded(plan.get(0).get(0).getCode(), "NOPE102"), PlanPolicy.defaults())));
+        assertEquals(interned, f.tree.getInterner().size());
+
+        // A plan naming a course that is not in the catalog is planned again
+        List<List<Course>> stale = new ArrayList<>(plan);
+        stale.add(List.of(new Course("NOPE103", "Retired", 3)));
+        String code = plan.get(0).get(0).getCode();
+        StudentProgress after = progress.copy();
+        after.markCompleted(code);
+        assertEquals(codes(f.generator.generatePlan(after, PlanPolicy.defaults())),
+                codes(f.generator.repairPlan(progress, stale, PlanDelta.completed(code), PlanPolicy.defaults())));
+    }
+
+    /**
+     * The repaired plan is valid, and no longer than the plan it repairs unless it is
+     * the full plan the repair fell back to
+     */
+    private static void assertRepaired(Fixture f, StudentProgress progress, List<List<Course>> plan,
+                                       List<List<Course>> repaired, PlanPolicy policy, String what) {
+        List<List<Course>> full = f.generator.generatePlan(progress, policy);
+        assertValid(f, progress, repaired, full, policy, what);
+        assertTrue(repaired.size() <= plan.size() || codes(repaired).equals(codes(full)),
+                what + ": " + repaired.size() + " semesters vs " + plan.size());
+    }
+
+    private static List<List<String>> codes(List<List<Course>> plan) {
+        List<List<String>> codes = new ArrayList<>();
+        for (List<Course> semester : plan) {
+            List<String> semesterCodes = new ArrayList<>();
+            for (Course course : semester) {
+                semesterCodes.add(course.getCode());
+            }
+            codes.add(semesterCodes);
+        }
+        return codes;
+    }
+
+    /**
+     * Every course the full plan has, exactly once, after its prerequisites, under the cap
+     */
+    private static void assertValid(Fixture f, StudentProgress progress, List<List<Course>> plan,
+                                    List<List<Course>> full, PlanPolicy policy, String what) {
+        Set<String> planned = new HashSet<>();
+        for (List<Course> semester : plan) {
+            int credits = 0;
+            for (Course course : semester) {
+                for (String prereq : f.graph.getPrerequisites(course.getCode())) {
+                    assertTrue(progress.isCompleted(prereq) || planned.contains(prereq),
+                            what + ": " + course.getCode() + " before " + prereq);
+                }
+                credits += course.getCredits();
+            }
+            assertTrue(credits <= policy.getMaxCredits(), what + ": " + credits + " credits");
+            for (Course course : semester) {
+                assertFalse(progress.isCompleted(course.getCode()), what + ": " + course.getCode() + " is done");
+                assertTrue(planned.add(course.getCode()), what + ": " + course.getCode() + " planned twice");
+            }
+        }
+        Set<String> expected = new HashSet<>();
+        for (List<Course> semester : full) {
+            for (Course course : semester) {
+                expected.add(course.getCode());
+            }
+        }
+        assertEquals(expected, planned, what);
+    }
+
+    private static class Fixture {
+        final CourseBST tree;
+        final PrerequisiteGraph graph;
+        final PlanGenerator generator;
+
+        Fixture(int n, long seed) {
+            CourseCodeInterner interner = new CourseCodeInterner();
+            tree = new CourseBST(SyntheticCatalog.courses(n, seed), interner);
+            graph = SyntheticCatalog.layeredGraph(interner, n, 8, seed);
+            generator = new PlanGenerator(tree, graph);
+            generator.setPlanCache(new PlanCache(0));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrerequisiteExpressionTest {
+
+    private final CourseCodeInterner interner = new CourseCodeInterner();
+
+    @Test
+    void andBindsTighterThanOr() {
+        PrerequisiteExpression expression = PrerequisiteExpression.parse("A101 AND B101 OR C101", interner);
+        assertEquals(2, expression.getClauseCount());   // (A | C) & (B | C)
+        assertTrue(met(expression, "C101"));
+        assertTrue(met(expression, "A101", "B101"));
+        assertFalse(met(expression, "A101"));
+        assertFalse(met(expression, "B101"));
+        assertFalse(met(expression));
+
+        PrerequisiteExpression grouped = PrerequisiteExpression.parse("A101 and (B101 or C101)", interner);
+        assertTrue(met(grouped, "A101", "C101"));
+        assertTrue(met(grouped, "A101", "B101"));
+        assertFalse(met(grouped, "C101"));
+        assertFalse(met(grouped, "B101", "C101"));
+    }
+
+    @Test
+    void commaListsMeanAnd() {
+        PrerequisiteExpression expression = PrerequisiteExpression.parse("cs101, CS102 ,Cs103", interner);
+        assertTrue(expression.isPlainConjunction());
+        assertEquals(3, expression.getClauseCount());
+        assertEquals(List.of("CS101", "CS102", "CS103"), expression.getRequiredCourses());
+        assertTrue(met(expression, "CS101", "CS102", "CS103"));
+        assertFalse(met(expression, "CS101", "CS103"));
+
+        // A comma binds like AND: (CS101 AND CS102) OR CS104
+        PrerequisiteExpression mixed = PrerequisiteExpression.parse("CS101, CS102 OR CS104", interner);
+        assertFalse(mixed.isPlainConjunction());
+        assertTrue(met(mixed, "CS104"));
+        assertTrue(met(mixed, "CS101", "CS102"));
+        assertFalse(met(mixed, "CS101"));
+    }
+
+    @Test
+    void minimumGradesNeedARecordedGradeAtLeastThatHigh() {
+        PrerequisiteExpression expression = PrerequisiteExpression.parse("MATH201 >= 60", interner);
+        int id = interner.idOf("MATH201");
+        BitSet completed = new BitSet();
+        completed.set(id);
+        double[] grades = new double[interner.size()];
+
+        grades[id] = 60;
+        assertTrue(expression.isSatisfied(completed, grades, null));
+        grades[id] = 59.5;
+        assertFalse(expression.isSatisfied(completed, grades, null));
+        grades[id] = Double.NaN;
+        assertFalse(expression.isSatisfied(completed, grades, null));
+        assertTrue(expression.isSatisfied(completed, null, null));   // Grades ignored
+        grades[id] = 90;
+        assertFalse(expression.isSatisfied(new BitSet(), grades, null));
+
+        // A low grade can be made up for by the other branch
+        PrerequisiteExpression either = PrerequisiteExpression.parse("MATH201 >= 60 OR MATH210", interner);
+        grades = new double[interner.size()];
+        grades[id] = 55;
+        assertFalse(either.isSatisfied(completed, grades, null));
+        completed.set(interner.idOf("MATH210"));
+        assertTrue(either.isSatisfied(completed, grades, null));
+        assertFalse(either.isPlainConjunction());
+    }
+
+    @Test
+    void corequisitesMayBeTakenInTheSameSemester() {
+        PrerequisiteExpression expression = PrerequisiteExpression.parse("CS101 AND COREQ PHY101L", interner);
+        assertEquals(List.of("CS101"), expression.getRequiredCourses());
+        assertEquals(List.of("PHY101L"), expression.getCorequisites());
+
+        BitSet completed = ids("CS101");
+        assertFalse(expression.isSatisfied(completed, null, null));
+        assertTrue(expression.isSatisfied(completed, null, ids("PHY101L")));
+        assertTrue(expression.isSatisfied(ids("CS101", "PHY101L"), null, null));
+        assertFalse(expression.isSatisfied(new BitSet(), null, ids("CS101", "PHY101L")));   // Only COREQ may be concurrent
+
+        // Named both ways, a course is required
+        PrerequisiteExpression both = PrerequisiteExpression.parse("COREQ CS101 AND CS101", interner);
+        assertEquals(List.of("CS101"), both.getRequiredCourses());
+        assertTrue(both.getCorequisites().isEmpty());
+    }
+
+    @Test
+    void blankMeansNoRequirementAndMalformedTextIsRejected() {
+        PrerequisiteExpression blank = PrerequisiteExpression.parse("   ", interner);
+        assertEquals(0, blank.getClauseCount());
+        assertTrue(met(blank));
+
+        for (String text : List.of("CS101 AND", "(CS101 OR CS102", "OR CS101", "CS101 >= ", "COREQ", "CS101 )")) {
+            assertThrows(IllegalArgumentException.class, () -> PrerequisiteExpression.parse(text, interner), text);
+        }
+    }
+
+    private boolean met(PrerequisiteExpression expression, String... completed) {
+        return expression.isSatisfied(ids(completed), null, null);
+    }
+
+    private BitSet ids(String... codes) {
+        BitSet ids = new BitSet();
+        for (String code : codes) {
+            ids.set(interner.intern(code));
+        }
+        return ids;
+    }
+}
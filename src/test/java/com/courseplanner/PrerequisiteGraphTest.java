@@ -0,0 +1,335 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrerequisiteGraphTest {
+
+    @Test
+    void codesAreNormalizedWhereTheyEnterTheGraph() {
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        graph.addPrerequisite("cs201", "cs101");
+        graph.addPrerequisite(" CS301 ", "Cs201");
+
+        assertEquals(List.of("CS101"), graph.getPrerequisites("CS201"));
+        assertEquals(List.of("CS101"), graph.getPrerequisites("cs201"));
+        assertEquals(List.of("CS201"), graph.getDependentCourses("CS101"));
+        assertTrue(graph.hasPrerequisites("cs301"));
+        assertEquals(List.of("CS101", "CS201", "CS301"), graph.topologicalSort());
+
+        graph.removeCourse("cs201");
+        assertTrue(graph.getPrerequisites("CS301").isEmpty());
+        assertTrue(graph.getDependentCourses("CS101").isEmpty());
+    }
+
+    @Test
+    void eachCatalogHasItsOwnInterner() {
+        CourseBST first = new CourseBST();
+        CourseBST second = new CourseBST();
+        assertNotSame(first.getInterner(), second.getInterner());
+
+        first.insert(new Course("CS101", "Intro", 3));
+        assertEquals(1, first.getInterner().size());
+        assertEquals(0, second.getInterner().size());
+    }
+
+    @Test
+    void plannersRejectCatalogAndGraphWithDifferentInterners() {
+        CourseBST tree = new CourseBST();
+        assertThrows(IllegalArgumentException.class, () -> new PlanGenerator(tree, new PrerequisiteGraph()));
+        assertThrows(IllegalArgumentException.class, () -> new AISuggester(tree, new PrerequisiteGraph()));
+        assertDoesNotThrow(() -> new PlanGenerator(tree, new PrerequisiteGraph(tree.getInterner())));
+    }
+
+    @Test
+    void mutualCorequisitesShareASemester() {
+        CourseBST tree = new CourseBST();
+        tree.insert(new Course("PHY101", "Physics", 4));
+        tree.insert(new Course("PHY101L", "Physics Lab", 1));
+        tree.insert(new Course("PHY201", "Physics II", 4));
+        PrerequisiteGraph graph = new PrerequisiteGraph(tree.getInterner());
+        graph.addPrerequisiteExpression("PHY101", "COREQ PHY101L");
+        graph.addPrerequisiteExpression("PHY101L", "COREQ PHY101");
+        graph.addPrerequisite("PHY201", "PHY101");
+
+        assertFalse(graph.hasCycle());
+        assertTrue(graph.getPrerequisites("PHY101").isEmpty());
+        assertEquals(List.of("PHY101L"), graph.getCorequisites("PHY101"));
+
+        List<List<Course>> plan = new PlanGenerator(tree, graph).generatePlan();
+        assertEquals(2, plan.size());
+        assertEquals(Set.of("PHY101", "PHY101L"), codes(plan.get(0)));
+        assertEquals(Set.of("PHY201"), codes(plan.get(1)));
+    }
+
+    @Test
+    void singleCorequisiteMayShareASemester() {
+        CourseBST tree = new CourseBST();
+        tree.insert(new Course("MATH101", "Calculus", 4));
+        tree.insert(new Course("PHYS101", "Mechanics", 4));
+        PrerequisiteGraph graph = new PrerequisiteGraph(tree.getInterner());
+        graph.addPrerequisiteExpression("PHYS101", "COREQ MATH101");
+
+        PlanGenerator generator = new PlanGenerator(tree, graph);
+        List<List<Course>> plan = generator.generatePlan();
+        assertEquals(1, plan.size());
+        assertEquals(Set.of("MATH101", "PHYS101"), codes(plan.get(0)));
+        assertEquals(0, missingWarnings(generator, plan));
+
+        // Separate semesters are flagged only when the co-requisite comes later
+        assertEquals(0, missingWarnings(generator,
+                List.of(List.of(tree.search("MATH101")), List.of(tree.search("PHYS101")))));
+        assertEquals(1, missingWarnings(generator,
+                List.of(List.of(tree.search("PHYS101")), List.of(tree.search("MATH101")))));
+    }
+
+    @Test
+    void codesMayContainSpaces() {
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        graph.addPrerequisiteExpression("CS 201", "cs 101, CS 102");
+        assertEquals(List.of("CS 101", "CS 102"), graph.getPrerequisites("CS 201"));
+
+        graph.addPrerequisiteExpression("CS 301", "CS 201 AND (MATH 110 OR MATH 120) AND COREQ CS 310");
+        assertEquals(List.of("CS 201", "MATH 110", "MATH 120"), graph.getPrerequisites("CS 301"));
+        assertEquals(List.of("CS 310"), graph.getCorequisites("CS 301"));
+    }
+
+    @Test
+    void malformedExpressionLeavesGraphUnchanged() {
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        graph.addPrerequisite("CS201", "CS101");
+        long version = graph.getVersion();
+        int interned = graph.getInterner().size();
+
+        assertThrows(IllegalArgumentException.class, () -> graph.addPrerequisiteExpression("CS301", "CS201 AND (MATH201"));
+        assertThrows(IllegalArgumentException.class, () -> graph.addPrerequisiteExpression("CS201", "OR CS102"));
+        assertThrows(IllegalArgumentException.class, () -> graph.addPrerequisiteExpression("CS201", "CS102 >= high"));
+        assertEquals(version, graph.getVersion());
+        assertEquals(interned, graph.getInterner().size());
+        assertEquals(-1, graph.getInterner().idOf("MATH201"));
+        assertEquals(List.of("CS101"), graph.getPrerequisites("CS201"));
+        assertFalse(graph.hasPrerequisites("CS301"));
+    }
+
+    @Test
+    void renameKeepsEdgesLinksAndExpressions() {
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        graph.addPrerequisite("CS201", "CS101");
+        graph.addPrerequisite("CS301", "CS201");
+        graph.addPrerequisiteExpression("CS310", "CS201 >= 60 OR MATH201");
+        graph.addPrerequisiteExpression("CS201L", "COREQ CS201");
+        graph.addPrerequisiteExpression("CS201", "COREQ CS201L");
+
+        assertTrue(graph.renameCourse("cs201", "CS210"));
+        assertFalse(graph.containsCourse("CS201"));
+        assertEquals(List.of("CS101"), graph.getPrerequisites("CS210"));
+        assertEquals(List.of("CS210"), graph.getPrerequisites("CS301"));
+        assertEquals(List.of("CS201L"), graph.getCorequisites("CS210"));
+        assertEquals(List.of("CS210"), graph.getCorequisites("CS201L"));
+        assertEquals("(CS210 >= 60 OR MATH201)",
+                graph.getPrerequisiteExpression(graph.getInterner().idOf("CS310")).toString());
+
+        // The rewritten expression still evaluates against the new ID
+        CourseCodeInterner interner = graph.getInterner();
+        BitSet completed = new BitSet();
+        completed.set(interner.idOf("CS210"));
+        double[] grades = new double[interner.size()];
+        Arrays.fill(grades, Double.NaN);
+        grades[interner.idOf("CS210")] = 75;
+        assertTrue(graph.isRequirementMet(interner.idOf("CS310"), completed, grades, null));
+        grades[interner.idOf("CS210")] = 50;
+        assertFalse(graph.isRequirementMet(interner.idOf("CS310"), completed, grades, null));
+
+        assertFalse(graph.renameCourse("CS210", "CS301"));
+        assertTrue(graph.containsCourse("CS210"));
+    }
+
+    @Test
+    void appRenameUpdatesCatalogAndGraph() {
+        CoursePlannerApp app = new CoursePlannerApp();
+        assertTrue(app.renameCourse("CS201", new Course("CS210", "Data Structures", 3)));
+        assertNull(app.courseTree.search("CS201"));
+        assertNotNull(app.courseTree.search("CS210"));
+        assertEquals(List.of("CS102"), app.prerequisiteGraph.getPrerequisites("CS210"));
+        assertTrue(app.prerequisiteGraph.getPrerequisites("CS301").contains("CS210"));
+
+        assertFalse(app.renameCourse("CS210", new Course("CS301", "Taken", 3)));
+        assertFalse(app.renameCourse("NOPE101", new Course("NOPE102", "Missing", 3)));
+    }
+
+    private static long missingWarnings(PlanGenerator generator, List<List<Course>> plan) {
+        return generator.checkPlanWarnings(plan).stream().filter(w -> w.contains("missing")).count();
+    }
+
+    private static Set<String> codes(List<Course> semester) {
+        Set<String> codes = new HashSet<>();
+        for (Course course : semester) {
+            codes.add(course.getCode());
+        }
+        return codes;
+    }
+
+    @Test
+    void slackIsZeroWhenTheGraphHasACycle() {
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        graph.addPrerequisite("CS201", "CS101");
+        graph.addPrerequisite("CS301", "CS201");
+        graph.addPrerequisite("MATH201", "MATH101");
+        CriticalPathAnalysis analysis = graph.getCriticalPathAnalysis();
+        assertEquals(1, analysis.getSlack(graph.getInterner().idOf("MATH101")));
+
+        graph.addPrerequisite("CS101", "CS301");
+        analysis = graph.getCriticalPathAnalysis();
+        assertFalse(analysis.isAcyclic());
+        for (String code : List.of("CS101", "CS201", "CS301", "MATH101", "MATH201")) {
+            assertEquals(0, analysis.getSlack(graph.getInterner().idOf(code)), code);
+        }
+    }
+
+    @Test
+    void analyticsCountOnlyGraphMembers() {
+        CourseBST tree = new CourseBST(SyntheticCatalog.courses(100, 1), new CourseCodeInterner());
+        PrerequisiteGraph graph = new PrerequisiteGraph(tree.getInterner());
+        graph.addPrerequisite("CS201", "CS101");
+        assertTrue(graph.getInterner().size() > 100);
+
+        GraphAnalytics analytics = graph.getAnalytics();
+        assertArrayEquals(new int[]{1, 1}, analytics.getPrerequisiteHistogram());
+        assertArrayEquals(new int[]{1, 1}, analytics.getDependentHistogram());
+        assertEquals(1, analytics.getTransitiveDependentCount(graph.getInterner().idOf("CS101")));
+    }
+
+    @Test
+    void checkedInsertRejectsExactlyTheEdgesThatCloseACycle() {
+        for (long seed = 0; seed < 100; seed++) {
+            Random random = new Random(seed);
+            int n = 5 + random.nextInt(60);
+            // Half the runs start from an existing DAG, so the order is first built by a full sort
+            PrerequisiteGraph graph = (seed % 2 == 0) ? new PrerequisiteGraph()
+                    : SyntheticCatalog.randomDag(new CourseCodeInterner(), n, n, seed);
+
+            for (int e = 0; e < 4 * n; e++) {
+                String course = SyntheticCatalog.code(random.nextInt(n));
+                String prereq = SyntheticCatalog.code(random.nextInt(n));
+                String what = "seed " + seed + ", " + prereq + " before " + course;
+                boolean closesCycle = course.equals(prereq) || requires(graph, prereq, course);
+                int[] orderBefore = graph.onlineOrder();
+                Map<String, List<String>> edgesBefore = edges(graph, n);
+                long versionBefore = graph.getVersion();
+
+                boolean added = graph.addPrerequisiteChecked(course, prereq);
+                assertEquals(!closesCycle, added, what);
+                if (added) {
+                    assertTrue(graph.getPrerequisites(course).contains(prereq), what);
+                    assertTopologicalOrder(graph, graph.onlineOrder(), what);
+                } else {
+                    assertEquals(edgesBefore, edges(graph, n), what);
+                    assertEquals(versionBefore, graph.getVersion(), what);
+                    if (orderBefore != null) {
+                        assertArrayEquals(orderBefore, graph.onlineOrder(), what);
+                    } else if (graph.onlineOrder() != null) {
+                        // The first checked insert builds the order, even if it rejects the edge
+                        assertTopologicalOrder(graph, graph.onlineOrder(), what);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reference reachability: depth-first search from course along prerequisite edges
+     */
+    private static boolean requires(PrerequisiteGraph graph, String course, String prerequisite) {
+        Deque<String> stack = new ArrayDeque<>(List.of(course));
+        Set<String> seen = new HashSet<>(stack);
+        while (!stack.isEmpty()) {
+            String next = stack.pop();
+            if (next.equals(prerequisite)) return true;
+            for (String p : graph.getPrerequisites(next)) {
+                if (seen.add(p)) stack.push(p);
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, List<String>> edges(PrerequisiteGraph graph, int n) {
+        Map<String, List<String>> edges = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            edges.put(SyntheticCatalog.code(i), new ArrayList<>(graph.getPrerequisites(SyntheticCatalog.code(i))));
+        }
+        return edges;
+    }
+
+    /**
+     * Every graph member exactly once, each after all of its prerequisites
+     */
+    private static void assertTopologicalOrder(PrerequisiteGraph graph, int[] order, String what) {
+        assertNotNull(order, what + ": no order maintained");
+        CompactPrerequisiteGraph compact = graph.freeze();
+        int[] position = new int[compact.getNodeCount()];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < order.length; i++) {
+            assertEquals(-1, position[order[i]], what + ": repeated course");
+            position[order[i]] = i;
+        }
+        assertEquals(compact.getMemberCount(), order.length, what);
+        for (int id : order) {
+            for (int prereq : compact.getPrerequisites(id)) {
+                assertTrue(position[prereq] >= 0 && position[prereq] < position[id], what);
+            }
+        }
+    }
+
+    @Test
+    void lookupsAllocateNothing() {
+        PrerequisiteGraph graph = SyntheticCatalog.layeredGraph(new CourseCodeInterner(), 2000, 10, 3);
+        String[] codes = new String[512];
+        for (int i = 0; i < codes.length; i++) {
+            // Every fourth code is a miss, to cover the shared empty list
+            codes[i] = (i % 4 == 0) ? "NONE" + i : SyntheticCatalog.code(i * 3);
+        }
+        int[] ids = new int[codes.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = graph.getInterner().idOf(codes[i]);
+        }
+
+        // Warm up so the measured loop runs compiled code
+        long sink = 0;
+        for (int round = 0; round < 200; round++) {
+            sink += lookups(graph, codes, ids);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int rounds = 200;
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int round = 0; round < rounds; round++) {
+            sink += lookups(graph, codes, ids);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        long calls = (long) rounds * codes.length * 4;
+        assertTrue(sink > 0);
+        assertTrue(allocated < calls / 100,
+                allocated + " bytes allocated over " + calls + " lookups");
+    }
+
+    private static long lookups(PrerequisiteGraph graph, String[] codes, int[] ids) {
+        long sum = 0;
+        for (int i = 0; i < codes.length; i++) {
+            sum += graph.getPrerequisites(codes[i]).size();
+            sum += graph.getDependentCourses(codes[i]).size();
+            int id = ids[i];
+            for (int j = 0; j < graph.prerequisiteCount(id); j++) {
+                sum += graph.prerequisiteAt(id, j);
+            }
+            sum += graph.dependentCount(id);
+        }
+        return sum;
+    }
+}
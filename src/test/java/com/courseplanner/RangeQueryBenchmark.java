@@ -0,0 +1,82 @@
+package com.courseplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * RangeQueryBenchmark: CourseBST range and prefix queries against the old approach
+ * of copying the whole catalog with inOrderTraversal() and filtering the list.
+ * Run with: java -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main RangeQueryBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RangeQueryBenchmark {
+
+    @Param({"10000", "100000"})
+    public int courses;
+
+    private CourseBST tree;
+    private String department;      // Prefix matching 1/8 of the catalog
+    private String narrowPrefix;    // Prefix matching about 10 courses
+    private String rangeFrom;
+    private String rangeTo;
+
+    @Setup
+    public void setUp() {
+        tree = new CourseBST(SyntheticCatalog.courses(courses, 1), new CourseCodeInterner());
+        department = "CS";
+        String first = SyntheticCatalog.code(SyntheticCatalog.DEPARTMENTS.length * (courses / 32) + 2);
+        narrowPrefix = first.substring(0, first.length() - 1);
+        rangeFrom = SyntheticCatalog.code(2 + SyntheticCatalog.DEPARTMENTS.length * 100);
+        rangeTo = SyntheticCatalog.code(2 + SyntheticCatalog.DEPARTMENTS.length * 299);
+    }
+
+    @Benchmark
+    public List<Course> departmentCopyThenFilter() {
+        return tree.inOrderTraversal().stream()
+                .filter(course -> course.getCode().startsWith(department))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Course> departmentPrefixQuery() {
+        return tree.prefixQuery(department);
+    }
+
+    @Benchmark
+    public List<Course> narrowCopyThenFilter() {
+        return tree.inOrderTraversal().stream()
+                .filter(course -> course.getCode().startsWith(narrowPrefix))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Course> narrowPrefixQuery() {
+        return tree.prefixQuery(narrowPrefix);
+    }
+
+    @Benchmark
+    public long narrowPrefixStream() {
+        return tree.prefixStream(narrowPrefix).count();
+    }
+
+    @Benchmark
+    public List<Course> rangeCopyThenFilter() {
+        return tree.inOrderTraversal().stream()
+                .filter(course -> course.getCode().compareTo(rangeFrom) >= 0
+                        && course.getCode().compareTo(rangeTo) <= 0)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Course> rangeQuery() {
+        return tree.rangeQuery(rangeFrom, rangeTo);
+    }
+}
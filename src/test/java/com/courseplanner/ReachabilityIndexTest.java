@@ -0,0 +1,94 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReachabilityIndexTest {
+
+    @Test
+    void fullBuildMatchesBreadthFirstSearch() {
+        for (long seed = 0; seed < 50; seed++) {
+            Random random = new Random(seed);
+            int n = 2 + random.nextInt(150);
+            PrerequisiteGraph graph = SyntheticCatalog.randomDag(new CourseCodeInterner(), n, random.nextInt(3 * n), seed);
+            assertMatchesSearch(graph, graph.getReachabilityIndex(), n, "seed " + seed);
+        }
+    }
+
+    @Test
+    void incrementalEdgesMatchBreadthFirstSearch() {
+        for (long seed = 0; seed < 30; seed++) {
+            Random random = new Random(seed);
+            int n = 2 + random.nextInt(80);
+            PrerequisiteGraph graph = SyntheticCatalog.randomDag(new CourseCodeInterner(), n, n, seed);
+            ReachabilityIndex index = graph.getReachabilityIndex();
+
+            // New edges between existing courses and courses the index has not seen yet,
+            // always from a higher to a lower generation index so the graph stays acyclic
+            int total = n + 70;
+            for (int e = 0; e < 40; e++) {
+                int a = random.nextInt(total);
+                int b = random.nextInt(total);
+                if (a == b) continue;
+                graph.addPrerequisite(SyntheticCatalog.code(Math.max(a, b)), SyntheticCatalog.code(Math.min(a, b)));
+
+                String what = "seed " + seed + ", edge " + e;
+                assertSame(index, graph.getReachabilityIndex(), what + ": index was rebuilt");
+                assertMatchesSearch(graph, index, total, what);
+            }
+        }
+    }
+
+    /**
+     * isPrerequisite, getAllPrerequisites and getAllDependents against a breadth-first
+     * search from every course over the first n generated codes
+     */
+    private static void assertMatchesSearch(PrerequisiteGraph graph, ReachabilityIndex index, int n, String what) {
+        CourseCodeInterner interner = graph.getInterner();
+        for (int i = 0; i < n; i++) {
+            String course = SyntheticCatalog.code(i);
+            int courseId = interner.idOf(course);
+            if (courseId < 0) continue;
+
+            Set<String> reachable = search(graph, course);
+            int[] expected = reachable.stream().mapToInt(interner::idOf).sorted().toArray();
+            assertArrayEquals(expected, index.getAllPrerequisites(courseId), what + ", " + course);
+            for (int j = 0; j < n; j++) {
+                String other = SyntheticCatalog.code(j);
+                int otherId = interner.idOf(other);
+                if (otherId < 0) continue;
+                assertEquals(reachable.contains(other), index.isPrerequisite(otherId, courseId),
+                        what + ": " + other + " for " + course);
+                assertEquals(reachable.contains(other), graph.isTransitivePrerequisite(other, course),
+                        what + ": " + other + " for " + course);
+            }
+        }
+
+        // The dependent direction is the same relation transposed
+        for (int i = 0; i < n; i++) {
+            int prereqId = interner.idOf(SyntheticCatalog.code(i));
+            if (prereqId < 0) continue;
+            List<Integer> dependents = new ArrayList<>();
+            for (int j = 0; j < n; j++) {
+                int courseId = interner.idOf(SyntheticCatalog.code(j));
+                if (courseId >= 0 && index.isPrerequisite(prereqId, courseId)) dependents.add(courseId);
+            }
+            int[] expected = dependents.stream().mapToInt(Integer::intValue).sorted().toArray();
+            assertArrayEquals(expected, index.getAllDependents(prereqId), what + ", dependents of " + i);
+        }
+    }
+
+    private static Set<String> search(PrerequisiteGraph graph, String course) {
+        Set<String> seen = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>(List.of(course));
+        while (!queue.isEmpty()) {
+            for (String prereq : graph.getPrerequisites(queue.poll())) {
+                if (seen.add(prereq)) queue.add(prereq);
+            }
+        }
+        return seen;
+    }
+}
@@ -0,0 +1,77 @@
+package com.courseplanner;
+
+import java.util.*;
+
+/**
+ * RescanPlanner: The semester loop PlanGenerator.generatePlan ran before SemesterScheduler,
+ * kept as a reference for tests and benchmarks. Every semester it re-scans all remaining
+ * courses (fewest prerequisites first), checks each one with a catalog search and a scan of
+ * its prerequisite list, takes those that fit under the credit cap, and removes them with
+ * ArrayList.removeAll.
+ * Unlike the original loop, courses scheduled in earlier semesters count as completed,
+ * which is what it intended; without that it stopped after the first semester.
+ */
+final class RescanPlanner {
+
+    private RescanPlanner() {
+    }
+
+    /**
+     * @param completed Codes of completed courses (left out of the plan)
+     * @return Semesters of courses; stops when nothing more can be scheduled
+     */
+    static List<List<Course>> plan(CourseBST courseTree, PrerequisiteGraph graph,
+                                   Set<String> completed, int maxCredits) {
+        List<List<Course>> plan = new ArrayList<>();
+        Set<String> completedCourses = new HashSet<>(completed);
+
+        List<Course> remainingCourses = new ArrayList<>();
+        for (Course course : courseTree.inOrderTraversal()) {
+            if (!completedCourses.contains(course.getCode())) {
+                remainingCourses.add(course);
+            }
+        }
+
+        // Sort by number of prerequisites (courses with fewer prerequisites first)
+        remainingCourses.sort(Comparator.comparingInt(c -> graph.getPrerequisites(c.getCode()).size()));
+
+        while (!remainingCourses.isEmpty()) {
+            List<Course> currentSemester = new ArrayList<>();
+            int currentCredits = 0;
+            List<Course> toRemove = new ArrayList<>();
+
+            for (Course course : remainingCourses) {
+                if (canTakeCourse(courseTree, graph, completedCourses, course.getCode())
+                        && currentCredits + course.getCredits() <= maxCredits) {
+                    currentSemester.add(course);
+                    currentCredits += course.getCredits();
+                    toRemove.add(course);
+                }
+            }
+
+            remainingCourses.removeAll(toRemove);
+            if (currentSemester.isEmpty()) {
+                break;
+            }
+            for (Course course : currentSemester) {
+                completedCourses.add(course.getCode());
+            }
+            plan.add(currentSemester);
+        }
+        return plan;
+    }
+
+    private static boolean canTakeCourse(CourseBST courseTree, PrerequisiteGraph graph,
+                                         Set<String> completedCourses, String courseCode) {
+        Course course = courseTree.search(courseCode);
+        if (course == null || completedCourses.contains(courseCode)) {
+            return false;
+        }
+        for (String prereq : graph.getPrerequisites(courseCode)) {
+            if (!completedCourses.contains(prereq)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,161 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferFileEventSinkTest {
+
+    private static final int CAPACITY = 64;
+    private static final int PRODUCERS = 4;
+    private static final int EVENTS_PER_PRODUCER = 5000;
+
+    @Test
+    void everyEventReachesTheFileInPerProducerOrder() throws Exception {
+        Path file = Files.createTempFile("audit", ".log");
+        try {
+            RingBufferFileEventSink sink = new RingBufferFileEventSink(file.toString(), CAPACITY);
+            runProducers(sink);
+            sink.close();
+
+            List<List<Integer>> seen = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                seen.add(new ArrayList<>());
+            }
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertEquals(PRODUCERS * EVENTS_PER_PRODUCER, lines.size());
+            for (String line : lines) {
+                assertTrue(line.startsWith("[CourseBST-LOG] "), line);
+                int codeAt = line.lastIndexOf(": ");
+                int eventAt = line.lastIndexOf(": ", codeAt - 1);
+                String event = line.substring(eventAt + 2, codeAt);
+                seen.get(Integer.parseInt(event.substring(1))).add(Integer.parseInt(line.substring(codeAt + 2)));
+            }
+            for (int p = 0; p < PRODUCERS; p++) {
+                List<Integer> sequence = seen.get(p);
+                assertEquals(EVENTS_PER_PRODUCER, sequence.size(), "producer " + p);
+                for (int i = 0; i < EVENTS_PER_PRODUCER; i++) {
+                    assertEquals(i, sequence.get(i), "producer " + p);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void closeWritesEventsStillInTheRing() throws IOException {
+        StringBuilder written = new StringBuilder();
+        Writer slow = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                written.append(buffer, offset, length);
+            }
+
+            @Override
+            public void flush() {
+                try {
+                    Thread.sleep(20);   // Keeps the writer busy while the next events queue up
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        RingBufferFileEventSink sink = new RingBufferFileEventSink(slow, CAPACITY);
+        for (int i = 0; i < CAPACITY * 3; i++) {
+            sink.record("P0", Integer.toString(i));
+        }
+        sink.close();
+
+        String[] lines = written.toString().split(System.lineSeparator());
+        assertEquals(CAPACITY * 3, lines.length);
+        assertTrue(lines[lines.length - 1].endsWith(": P0: " + (CAPACITY * 3 - 1)));
+    }
+
+    @Test
+    void aWriteFailureIsRethrownFromClose() throws Exception {
+        IOException diskFull = new IOException("disk full");
+        RingBufferFileEventSink sink = new RingBufferFileEventSink(new FailingWriter(10_000, diskFull), CAPACITY);
+
+        // Producers are not blocked by the failure: the writer keeps draining the ring
+        runProducers(sink);
+        IOException thrown = assertThrows(IOException.class, sink::close);
+        assertSame(diskFull, thrown);
+
+        // Events after close are dropped quietly
+        sink.record("P0", "late");
+    }
+
+    @Test
+    void capacityMustBePositive() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferFileEventSink(new StringWriter(), 0));
+
+        // Rejected before the file is opened
+        Path dir = Files.createTempDirectory("audit");
+        try {
+            Path file = dir.resolve("never.log");
+            assertThrows(IllegalArgumentException.class, () -> new RingBufferFileEventSink(file.toString(), -1));
+            assertFalse(Files.exists(file));
+        } finally {
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static void runProducers(RingBufferFileEventSink sink) throws InterruptedException {
+        Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            String event = "P" + p;
+            producers[p] = new Thread(() -> {
+                for (int i = 0; i < EVENTS_PER_PRODUCER; i++) {
+                    sink.record(event, Integer.toString(i));
+                }
+            });
+            producers[p].start();
+        }
+        for (Thread producer : producers) {
+            producer.join(30_000);
+            assertFalse(producer.isAlive(), "producer stuck");
+        }
+    }
+
+    /**
+     * Accepts a fixed number of characters, then fails every write
+     */
+    private static final class FailingWriter extends Writer {
+        private int room;
+        private final IOException failure;
+
+        FailingWriter(int room, IOException failure) {
+            this.room = room;
+            this.failure = failure;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            if (length > room) {
+                throw failure;
+            }
+            room -= length;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
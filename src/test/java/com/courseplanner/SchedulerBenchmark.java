@@ -0,0 +1,47 @@
+package com.courseplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SchedulerBenchmark: generatePlan (SemesterScheduler, plan cache disabled) against the
+ * rescan loop it replaced (RescanPlanner), on a layered catalog under the default limits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class SchedulerBenchmark {
+
+    @Param({"1000", "10000"})
+    public int courses;
+
+    private CourseBST tree;
+    private PrerequisiteGraph graph;
+    private PlanGenerator generator;
+    private StudentProgress progress;
+
+    @Setup
+    public void setUp() {
+        CourseCodeInterner interner = new CourseCodeInterner();
+        tree = new CourseBST(SyntheticCatalog.courses(courses, 1), interner);
+        graph = SyntheticCatalog.layeredGraph(interner, courses, 10, 2);
+        generator = new PlanGenerator(tree, graph);
+        generator.setPlanCache(new PlanCache(0));
+        progress = new StudentProgress(interner);
+    }
+
+    @Benchmark
+    public List<List<Course>> scheduler() {
+        return generator.generatePlan(progress, PlanPolicy.defaults());
+    }
+
+    @Benchmark
+    public List<List<Course>> rescan() {
+        return RescanPlanner.plan(tree, graph, Set.of(), PlanPolicy.defaults().getMaxCredits());
+    }
+}
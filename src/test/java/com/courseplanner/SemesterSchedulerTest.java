@@ -0,0 +1,161 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SemesterSchedulerTest {
+
+    @Test
+    void matchesTheRescanPlannerWithoutACreditCap() {
+        // With no cap both take every course as soon as its prerequisites are done
+        for (long seed = 0; seed < 30; seed++) {
+            Fixture f = new Fixture(300 + (int) seed * 20, seed);
+            PlanPolicy policy = PlanPolicy.defaults().withCreditRange(0, Integer.MAX_VALUE / 2);
+            List<List<Course>> plan = f.generator.generatePlan(f.progress, policy);
+            List<List<Course>> reference = RescanPlanner.plan(f.tree, f.graph, f.completed, policy.getMaxCredits());
+
+            assertEquals(reference.size(), plan.size(), "seed " + seed);
+            for (int s = 0; s < plan.size(); s++) {
+                assertEquals(codes(reference.get(s)), codes(plan.get(s)), "seed " + seed + ", semester " + s);
+            }
+        }
+    }
+
+    @Test
+    void plansAreValidAndAsLongAsTheRescanPlanners() {
+        for (long seed = 0; seed < 30; seed++) {
+            Fixture f = new Fixture(300 + (int) seed * 20, seed);
+            PlanPolicy policy = PlanPolicy.defaults();
+            List<List<Course>> plan = f.generator.generatePlan(f.progress, policy);
+            List<List<Course>> reference = RescanPlanner.plan(f.tree, f.graph, f.completed, policy.getMaxCredits());
+
+            assertValid(f, plan, policy.getMaxCredits(), "seed " + seed);
+            assertValid(f, reference, policy.getMaxCredits(), "seed " + seed + " (reference)");
+            // Both fill semesters greedily, so neither is optimal; the order of ready courses
+            // differs (longest chain first vs fewest prerequisites first) but not by much
+            assertTrue(Math.abs(plan.size() - reference.size()) <= 1,
+                    "seed " + seed + ": " + plan.size() + " semesters vs " + reference.size());
+        }
+    }
+
+    @Test
+    void orCourseReleasedAtTheStartIsPlannedOnce() {
+        CourseCodeInterner interner = new CourseCodeInterner();
+        CourseBST tree = new CourseBST(List.of(new Course("AA101", "A", 3), new Course("BB101", "B", 3),
+                new Course("XX201", "X", 3)), interner);
+        PrerequisiteGraph graph = new PrerequisiteGraph(interner);
+        graph.addPrerequisiteExpression("XX201", "AA101 OR BB101");
+        PlanGenerator generator = new PlanGenerator(tree, graph);
+
+        StudentProgress progress = new StudentProgress(interner, List.of("AA101"), Map.of());
+        List<List<Course>> plan = generator.generatePlan(progress, PlanPolicy.defaults());
+        assertEquals(1, plan.size());
+        assertEquals(Set.of("BB101", "XX201"), codes(plan.get(0)));
+    }
+
+    @Test
+    void expressionPlansAreValidWithPartlyCompletedSets() {
+        for (long seed = 0; seed < 30; seed++) {
+            Random random = new Random(seed);
+            int n = 50 + random.nextInt(250);
+            CourseCodeInterner interner = new CourseCodeInterner();
+            CourseBST tree = new CourseBST(SyntheticCatalog.courses(n, seed), interner);
+            PrerequisiteGraph graph = SyntheticCatalog.randomDag(interner, n, 2 * n, seed);
+
+            // A third of the courses take an OR of two earlier courses, sometimes AND-ed with a third
+            for (int i = 3; i < n; i++) {
+                if (random.nextInt(3) != 0) continue;
+                String expression = "(" + SyntheticCatalog.code(random.nextInt(i)) + " OR "
+                        + SyntheticCatalog.code(random.nextInt(i)) + ")";
+                if (random.nextBoolean()) {
+                    expression += " AND " + SyntheticCatalog.code(random.nextInt(i));
+                }
+                graph.addPrerequisiteExpression(SyntheticCatalog.code(i), expression);
+            }
+
+            // Any random subset counts as completed, consistent or not
+            Set<String> completed = new HashSet<>();
+            for (int i = 0; i < n; i++) {
+                if (random.nextInt(4) == 0) completed.add(SyntheticCatalog.code(i));
+            }
+            StudentProgress progress = new StudentProgress(interner, completed, Map.of());
+            PlanGenerator generator = new PlanGenerator(tree, graph);
+            generator.setPlanCache(new PlanCache(0));
+            List<List<Course>> plan = generator.generatePlan(progress, PlanPolicy.defaults());
+
+            String what = "seed " + seed;
+            BitSet done = progress.getCompletedIds();
+            for (List<Course> semester : plan) {
+                int credits = 0;
+                for (Course course : semester) {
+                    int id = interner.idOf(course.getCode());
+                    assertTrue(graph.isRequirementMet(id, done, null, null), what + ": " + course.getCode() + " too early");
+                    credits += course.getCredits();
+                }
+                assertTrue(credits <= PlanPolicy.DEFAULT_MAX_CREDITS, what + ": " + credits + " credits");
+                for (Course course : semester) {
+                    assertFalse(done.get(interner.idOf(course.getCode())), what + ": " + course.getCode() + " planned twice");
+                    done.set(interner.idOf(course.getCode()));
+                }
+            }
+            assertEquals(n, done.cardinality(), what + ": courses left out");
+        }
+    }
+
+    /**
+     * Every remaining course exactly once, after all of its prerequisites, under the cap
+     */
+    private static void assertValid(Fixture f, List<List<Course>> plan, int maxCredits, String what) {
+        Set<String> done = new HashSet<>(f.completed);
+        for (List<Course> semester : plan) {
+            int credits = 0;
+            for (Course course : semester) {
+                for (String prereq : f.graph.getPrerequisites(course.getCode())) {
+                    assertTrue(done.contains(prereq), what + ": " + course.getCode() + " before " + prereq);
+                }
+                credits += course.getCredits();
+            }
+            assertTrue(credits <= maxCredits, what + ": " + credits + " credits");
+            for (Course course : semester) {
+                assertTrue(done.add(course.getCode()), what + ": " + course.getCode() + " planned twice");
+            }
+        }
+        assertEquals(f.tree.getCourseCount(), done.size(), what + ": courses left out");
+    }
+
+    private static Set<String> codes(List<Course> semester) {
+        Set<String> codes = new HashSet<>();
+        for (Course course : semester) {
+            codes.add(course.getCode());
+        }
+        return codes;
+    }
+
+    /**
+     * Layered catalog with every tenth course completed (and, so the completed set is
+     * consistent, its prerequisite chain too)
+     */
+    private static class Fixture {
+        final CourseBST tree;
+        final PrerequisiteGraph graph;
+        final Set<String> completed = new HashSet<>();
+        final StudentProgress progress;
+        final PlanGenerator generator;
+
+        Fixture(int n, long seed) {
+            CourseCodeInterner interner = new CourseCodeInterner();
+            tree = new CourseBST(SyntheticCatalog.courses(n, seed), interner);
+            graph = SyntheticCatalog.layeredGraph(interner, n, 6, seed);
+            for (int i = 0; i < n; i += 10) {
+                String code = SyntheticCatalog.code(i);
+                completed.add(code);
+                completed.addAll(graph.getAllPrerequisites(code));
+            }
+            progress = new StudentProgress(interner, completed, Map.of());
+            generator = new PlanGenerator(tree, graph);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.courseplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentProgressTest {
+
+    private final CourseCodeInterner interner = new CourseCodeInterner();
+
+    @Test
+    void removeCompletedClearsTheGrade() {
+        StudentProgress progress = new StudentProgress(interner);
+        progress.markCompleted("CS101", 82.5);
+        assertTrue(progress.hasGrade("CS101"));
+
+        progress.removeCompleted("cs101");
+        assertFalse(progress.isCompleted("CS101"));
+        assertFalse(progress.hasGrade("CS101"));
+        assertTrue(Double.isNaN(progress.getGradesById()[interner.idOf("CS101")]));
+        assertTrue(progress.getGrades().isEmpty());
+
+        // Completed again without a grade, it stays ungraded
+        progress.markCompleted("CS101");
+        assertFalse(progress.hasGrade("CS101"));
+    }
+
+    @Test
+    void everyChangeBumpsTheVersion() {
+        StudentProgress progress = new StudentProgress(interner);
+        long version = progress.getVersion();
+
+        progress.markCompleted("CS101");
+        version = assertBumped(progress, version);
+        progress.markCompleted("CS101");
+        assertEquals(version, progress.getVersion());   // Already completed
+
+        progress.setGrade(interner.idOf("CS101"), 70);
+        version = assertBumped(progress, version);
+        progress.setGrade(interner.idOf("CS101"), 70);
+        assertEquals(version, progress.getVersion());   // Same grade
+        progress.setGrade(interner.idOf("CS101"), 75);
+        version = assertBumped(progress, version);
+
+        progress.markCompleted("CS102", 60);
+        version = assertBumped(progress, version);
+        progress.removeCompleted("CS102");
+        version = assertBumped(progress, version);
+        progress.removeCompleted("NOPE101");
+        assertEquals(version, progress.getVersion());
+
+        progress.clear();
+        assertBumped(progress, version);
+        assertEquals(0, progress.getCompletedCount());
+        assertFalse(progress.hasGrade("CS101"));
+    }
+
+    @Test
+    void copyIsIndependentOfTheOriginal() {
+        StudentProgress original = new StudentProgress(interner);
+        original.markCompleted("CS101", 90);
+        StudentProgress copy = original.copy();
+        assertEquals(original.getVersion(), copy.getVersion());
+
+        copy.markCompleted("CS102", 65);
+        copy.setGrade(interner.idOf("CS101"), 50);
+        original.markCompleted("MATH101");
+
+        assertEquals(List.of("CS101", "MATH101"), original.getCompletedCourses());
+        assertEquals(90, original.getGrade("CS101"));
+        assertFalse(original.isCompleted("CS102"));
+        assertEquals(List.of("CS101", "CS102"), copy.getCompletedCourses());
+        assertEquals(50, copy.getGrade("CS101"));
+        assertFalse(copy.isCompleted("MATH101"));
+
+        original.clear();
+        assertEquals(2, copy.getCompletedCount());
+    }
+
+    @Test
+    void gradeSurvivesAnAppRename() {
+        CoursePlannerApp app = new CoursePlannerApp();
+        app.progress.clear();
+        app.progress.markCompleted("CS201", 82.5);
+        app.progress.markCompleted("CS102");
+
+        assertTrue(app.renameCourse("CS201", new Course("CS210", "Data Structures", 3)));
+        assertTrue(app.renameCourse("CS102", new Course("CS120", "Object-Oriented Programming", 3)));
+
+        assertFalse(app.progress.isCompleted("CS201"));
+        assertFalse(app.progress.hasGrade("CS201"));
+        assertTrue(app.progress.isCompleted("CS210"));
+        assertEquals(82.5, app.progress.getGrade("CS210"));
+        assertTrue(app.progress.isCompleted("CS120"));
+        assertFalse(app.progress.hasGrade("CS120"));
+        assertEquals(2, app.progress.getCompletedCount());
+
+        // The planner sees the renamed completions
+        assertTrue(app.planGenerator.canTakeCourse("CS302"));
+    }
+
+    @Test
+    void progressFileRoundTrip() throws IOException {
+        StudentProgress saved = new StudentProgress(interner);
+        saved.markCompleted("CS101", 91.5);
+        saved.markCompleted("CS102", 60);
+        saved.markCompleted("MATH101");
+        List<String> interests = List.of("Machine Learning", "Databases");
+
+        Path file = Files.createTempFile("progress", ".txt");
+        try {
+            PlanExporter.saveProgress(saved, interests, file.toString());
+
+            // Loading replaces what the progress held, into a catalog with its own interner
+            StudentProgress loaded = new StudentProgress(new CourseCodeInterner());
+            loaded.markCompleted("ENG101", 70);
+            List<String> loadedInterests = new ArrayList<>(List.of("History"));
+            PlanExporter.loadProgress(file.toString(), loaded, loadedInterests);
+
+            assertEquals(new HashSet<>(saved.getCompletedCourses()), new HashSet<>(loaded.getCompletedCourses()));
+            assertEquals(saved.getGrades(), loaded.getGrades());
+            assertFalse(loaded.isCompleted("ENG101"));
+            assertFalse(loaded.hasGrade("MATH101"));
+            assertEquals(interests, loadedInterests);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static long assertBumped(StudentProgress progress, long before) {
+        assertTrue(progress.getVersion() > before, "version not bumped");
+        return progress.getVersion();
+    }
+}
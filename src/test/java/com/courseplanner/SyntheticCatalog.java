@@ -0,0 +1,102 @@
+package com.courseplanner;
+
+import java.util.*;
+
+/**
+ * SyntheticCatalog: Generated catalogs and prerequisite graphs for tests and benchmarks.
+ * Codes are a department prefix plus a zero-padded number ("CS00042"), so prefix and
+ * range queries have realistic department-sized answers. Everything is seeded, so a
+ * given size always produces the same data.
+ */
+final class SyntheticCatalog {
+
+    static final String[] DEPARTMENTS = {"BIO", "CHEM", "CS", "ECON", "ENG", "HIST", "MATH", "PHYS"};
+
+    private SyntheticCatalog() {
+    }
+
+    /**
+     * Code of the i-th generated course (departments round-robin)
+     */
+    static String code(int i) {
+        return DEPARTMENTS[i % DEPARTMENTS.length] + String.format("%06d", i / DEPARTMENTS.length);
+    }
+
+    /**
+     * n courses of 3 or 4 credits, in generation (not code) order
+     */
+    static List<Course> courses(int n, long seed) {
+        Random random = new Random(seed);
+        List<Course> courses = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            courses.add(new Course(code(i), "Course " + i, 3 + random.nextInt(2)));
+        }
+        return courses;
+    }
+
+    /**
+     * Same courses shuffled, to load catalogs in an unsorted order
+     */
+    static List<Course> shuffledCourses(int n, long seed) {
+        List<Course> courses = courses(n, seed);
+        Collections.shuffle(courses, new Random(seed));
+        return courses;
+    }
+
+    /**
+     * Layered DAG over courses 0..n-1: course i sits in layer i * layers / n and takes
+     * 1-3 prerequisites from the layer before it, so the longest chain is layers courses.
+     * Only courses with an edge become graph members.
+     */
+    static PrerequisiteGraph layeredGraph(CourseCodeInterner interner, int n, int layers, long seed) {
+        Random random = new Random(seed);
+        PrerequisiteGraph graph = new PrerequisiteGraph(interner);
+        for (int i = 0; i < n; i++) {
+            int layer = (int) ((long) i * layers / n);
+            if (layer == 0) continue;
+            int lo = (int) ((long) (layer - 1) * n / layers);
+            int hi = (int) ((long) layer * n / layers);
+            int count = 1 + random.nextInt(3);
+            for (int j = 0; j < count; j++) {
+                graph.addPrerequisite(code(i), code(lo + random.nextInt(hi - lo)));
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Many small DAGs, like separate department tracks: courses are grouped in blocks
+     * of clusterSize consecutive indexes, and each course takes 1-3 prerequisites from
+     * earlier courses of its own block, so no course has more than clusterSize - 1
+     * transitive dependents.
+     */
+    static PrerequisiteGraph clusteredDag(CourseCodeInterner interner, int n, int clusterSize, long seed) {
+        Random random = new Random(seed);
+        PrerequisiteGraph graph = new PrerequisiteGraph(interner);
+        for (int i = 0; i < n; i++) {
+            int start = i / clusterSize * clusterSize;
+            if (i == start) continue;
+            int count = 1 + random.nextInt(3);
+            for (int j = 0; j < count; j++) {
+                graph.addPrerequisite(code(i), code(start + random.nextInt(i - start)));
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Random DAG: every edge points from a higher to a lower generation index
+     */
+    static PrerequisiteGraph randomDag(CourseCodeInterner interner, int n, int edges, long seed) {
+        Random random = new Random(seed);
+        PrerequisiteGraph graph = new PrerequisiteGraph(interner);
+        for (int e = 0; e < edges && n > 1; e++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            if (a != b) {
+                graph.addPrerequisite(code(Math.max(a, b)), code(Math.min(a, b)));
+            }
+        }
+        return graph;
+    }
+}